@@ -0,0 +1,104 @@
+package com.attus.sgpj.benchmark;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Caminho de toda leitura de processo: regras do agregado, montagem do DTO e serialização da página que o
+// GET /processo devolve (10 processos, o tamanho padrão). acoes cobre processos pequenos, típicos e grandes.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcessoBenchmark {
+
+    private static final int PROCESSOS_POR_PAGINA = 10;
+    private static final TipoAcaoEnum[] TIPOS = TipoAcaoEnum.values();
+
+    @Param({"5", "50", "500"})
+    private int acoes;
+
+    private Processo processo;
+    private List<Processo> processos;
+    private Page<ProcessoResponseDTO> pagina;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Pessoa autor = Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999");
+        Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
+        Pessoa advogado = Pessoa.create("Carlos Lima", "11122233396", "carlos.lima@email.com", "1133334444");
+
+        processos = new ArrayList<>();
+        for (int i = 0; i < PROCESSOS_POR_PAGINA; i++) {
+            Processo p = Processo.create(String.format("%020d", i), "Processo " + i, LocalDate.of(2024, 1, 1).plusDays(i));
+            p.addParte(ParteEnvolvida.create(autor, p, TipoParteEnvolvidaEnum.AUTOR));
+            p.addParte(ParteEnvolvida.create(reu, p, TipoParteEnvolvidaEnum.REU));
+            p.addParte(ParteEnvolvida.create(advogado, p, TipoParteEnvolvidaEnum.ADVOGADO));
+            for (int a = 0; a < acoes; a++) {
+                p.adicionarAcao(Acao.create(TIPOS[a % TIPOS.length], "Ação " + a, p));
+            }
+            processos.add(p);
+        }
+        processo = processos.get(0);
+
+        List<ProcessoResponseDTO> dtos = processos.stream().map(ProcessoResponseDTO::fromDomain).toList();
+        pagina = new PageImpl<>(dtos, PageRequest.of(0, PROCESSOS_POR_PAGINA), 1_000);
+        // Mesma base do ObjectMapper do Spring Boot (módulos de java.time, datas como texto)
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public boolean podeArquivar() {
+        return processo.podeArquivar();
+    }
+
+    @Benchmark
+    public Processo atualizarState() {
+        processo.atualizarState();
+        return processo;
+    }
+
+    @Benchmark
+    public ProcessoResponseDTO fromDomain() {
+        return ProcessoResponseDTO.fromDomain(processo);
+    }
+
+    @Benchmark
+    public List<ProcessoResponseDTO> fromDomainPagina() {
+        return processos.stream().map(ProcessoResponseDTO::fromDomain).toList();
+    }
+
+    @Benchmark
+    public byte[] serializarPagina() throws Exception {
+        return objectMapper.writeValueAsBytes(pagina);
+    }
+}
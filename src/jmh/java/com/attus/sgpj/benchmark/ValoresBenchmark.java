@@ -0,0 +1,114 @@
+package com.attus.sgpj.benchmark;
+
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.Email;
+import com.attus.sgpj.shared.vo.Telefone;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+// Objetos de valor criados a cada pessoa lida do banco, importada ou recebida na API. Entradas com e sem máscara,
+// como chegam dos clientes.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValoresBenchmark {
+
+    private static final Pattern EMAIL_REGEX = Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$");
+
+    private String cpf = "123.456.789-09";
+    private String cnpj = "12.345.678/0001-95";
+    private String cpfSemMascara = "12345678909";
+    private String email = "Joao.Silva@Email.com";
+    private String emailMinusculo = "joao.silva@email.com";
+    private String telefone = "(11) 99999-9999";
+    private Telefone telefoneCriado = new Telefone("11999999999");
+
+    @Benchmark
+    public CpfCnpj cpfCnpjComMascara() {
+        return new CpfCnpj(cpf);
+    }
+
+    // Implementação anterior do CpfCnpj (replaceAll e só o tamanho), mantida como base de comparação
+    @Benchmark
+    public String cpfCnpjRegex() {
+        String digitos = cpf.replaceAll("\\D", "");
+        if (digitos.length() != 11 && digitos.length() != 14) {
+            throw new IllegalArgumentException(cpf);
+        }
+        return digitos;
+    }
+
+    @Benchmark
+    public String cpfCnpjValor() {
+        return new CpfCnpj(cpf).getValue();
+    }
+
+    @Benchmark
+    public CpfCnpj cpfCnpjSemMascara() {
+        return new CpfCnpj(cpfSemMascara);
+    }
+
+    @Benchmark
+    public CpfCnpj cnpjComMascara() {
+        return new CpfCnpj(cnpj);
+    }
+
+    @Benchmark
+    public Email email() {
+        return new Email(email);
+    }
+
+    @Benchmark
+    public Email emailMinusculo() {
+        return new Email(emailMinusculo);
+    }
+
+    // Implementação anterior do Email (regex com backtracking + toLowerCase)
+    @Benchmark
+    public String emailRegex() {
+        if (!EMAIL_REGEX.matcher(email).matches()) {
+            throw new IllegalArgumentException(email);
+        }
+        return email.toLowerCase();
+    }
+
+    @Benchmark
+    public Telefone telefone() {
+        return new Telefone(telefone);
+    }
+
+    // Implementação anterior do Telefone (replaceAll e String.matches, que compila a regex a cada chamada)
+    @Benchmark
+    public String telefoneRegex() {
+        String numero = telefone.replaceAll("\\D", "");
+        if (!numero.matches("^\\d{10,11}$")) {
+            throw new IllegalArgumentException(telefone);
+        }
+        return numero;
+    }
+
+    @Benchmark
+    public String telefoneFormatado() {
+        return telefoneCriado.formatado();
+    }
+
+    // Formatação anterior (String.format)
+    @Benchmark
+    public String telefoneFormatadoFormat() {
+        String numero = telefoneCriado.getNumero();
+        return String.format("(%s) %s-%s", numero.substring(0, 2), numero.substring(2, 7), numero.substring(7));
+    }
+}
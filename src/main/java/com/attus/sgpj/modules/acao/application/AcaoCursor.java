@@ -0,0 +1,27 @@
+package com.attus.sgpj.modules.acao.application;
+
+import com.attus.sgpj.shared.pagination.CursorCodec;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Posição na listagem de ações de um processo: chave (dataRegistro, id) da última ação retornada
+public record AcaoCursor(
+        LocalDate dataRegistro,
+        UUID id
+) {
+    public static AcaoCursor decode(String cursor) {
+        List<String> partes = CursorCodec.decode(cursor, 2);
+        try {
+            return new AcaoCursor(LocalDate.parse(partes.get(0)), UUID.fromString(partes.get(1)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+    }
+
+    public String encode() {
+        return CursorCodec.encode(List.of(dataRegistro.toString(), id.toString()));
+    }
+}
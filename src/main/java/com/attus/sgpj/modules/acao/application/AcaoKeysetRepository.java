@@ -0,0 +1,19 @@
+package com.attus.sgpj.modules.acao.application;
+
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface AcaoKeysetRepository {
+
+    // Busca até "limite" ações do processo após o cursor (null = início), em ordem de (dataRegistro, id)
+    List<AcaoResponseDTO> findAfter(UUID processoId,
+                                    TipoAcaoEnum tipo,
+                                    LocalDate dataInicial,
+                                    LocalDate dataFinal,
+                                    AcaoCursor cursor,
+                                    int limite);
+}
@@ -0,0 +1,68 @@
+package com.attus.sgpj.modules.acao.application;
+
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class AcaoKeysetRepositoryImpl implements AcaoKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Projeção direto da tabela acao: a.processo.id é a própria FK, o processo não é carregado
+    @Override
+    public List<AcaoResponseDTO> findAfter(UUID processoId,
+                                           TipoAcaoEnum tipo,
+                                           LocalDate dataInicial,
+                                           LocalDate dataFinal,
+                                           AcaoCursor cursor,
+                                           int limite) {
+        List<String> condicoes = new ArrayList<>();
+        condicoes.add("a.processo.id = :processoId");
+        if (tipo != null) {
+            condicoes.add("a.tipo = :tipo");
+        }
+        if (dataInicial != null) {
+            condicoes.add("a.dataRegistro >= :dataInicial");
+        }
+        if (dataFinal != null) {
+            condicoes.add("a.dataRegistro <= :dataFinal");
+        }
+        if (cursor != null) {
+            // Seek nos índices (processo_id, data_registro, id) / (processo_id, tipo, data_registro, id)
+            condicoes.add("(a.dataRegistro, a.id) > (:dataRegistro, :id)");
+        }
+
+        String jpql = """
+                select new com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO(a.id, a.processo.id, a.tipo, a.descricao, a.dataRegistro)
+                from Acao a
+                where %s
+                order by a.dataRegistro, a.id
+                """.formatted(String.join(" and ", condicoes));
+
+        TypedQuery<AcaoResponseDTO> query = entityManager.createQuery(jpql, AcaoResponseDTO.class)
+                .setParameter("processoId", processoId)
+                .setMaxResults(limite);
+        if (tipo != null) {
+            query.setParameter("tipo", tipo);
+        }
+        if (dataInicial != null) {
+            query.setParameter("dataInicial", dataInicial);
+        }
+        if (dataFinal != null) {
+            query.setParameter("dataFinal", dataFinal);
+        }
+        if (cursor != null) {
+            query.setParameter("dataRegistro", cursor.dataRegistro());
+            query.setParameter("id", cursor.id());
+        }
+        return query.getResultList();
+    }
+}
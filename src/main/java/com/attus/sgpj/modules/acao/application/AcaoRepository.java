@@ -0,0 +1,33 @@
+package com.attus.sgpj.modules.acao.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface AcaoRepository extends JpaRepository<Acao, UUID>, AcaoKeysetRepository {
+
+    // Só o tipo, para ajustar a composição do processo na remoção sem carregar a ação
+    @Query("select a.tipo from Acao a where a.id = :id and a.processo.id = :processoId")
+    Optional<TipoAcaoEnum> findTipoByIdAndProcessoId(@Param("id") UUID id, @Param("processoId") UUID processoId);
+
+    // Ação avulsa do processo, destino do Location devolvido na inclusão
+    Optional<Acao> findByIdAndProcessoId(UUID id, UUID processoId);
+
+    // Ações ativas por tipo, para a reconciliação das estatísticas de processo
+    @Query("select a.tipo, count(a) from Acao a group by a.tipo")
+    List<Object[]> countPorTipo();
+
+    // Exclusão lógica direto na linha; retorna 0 se a ação já tinha sido removida
+    @Modifying
+    @Query("update Acao a set a.deleted = true where a.id = :id and a.deleted = false")
+    int inativar(@Param("id") UUID id);
+}
@@ -34,7 +34,7 @@ public class Acao {
     @NotNull
     private LocalDate dataRegistro;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "processo_id")
     private Processo processo;
 
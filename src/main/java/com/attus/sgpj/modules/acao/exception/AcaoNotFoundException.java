@@ -0,0 +1,7 @@
+package com.attus.sgpj.modules.acao.exception;
+
+public class AcaoNotFoundException extends RuntimeException {
+    public AcaoNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,13 @@
+package com.attus.sgpj.modules.parteenvolvida.application;
+
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface ParteEnvolvidaKeysetRepository {
+
+    // Busca até "limite" partes do processo (com a pessoa) com id maior que "aposId" (null = início), em ordem de id
+    List<ParteEnvolvida> findAfter(UUID processoId, TipoParteEnvolvidaEnum tipo, UUID aposId, int limite);
+}
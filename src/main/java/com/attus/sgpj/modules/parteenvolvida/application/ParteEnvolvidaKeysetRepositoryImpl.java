@@ -0,0 +1,48 @@
+package com.attus.sgpj.modules.parteenvolvida.application;
+
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ParteEnvolvidaKeysetRepositoryImpl implements ParteEnvolvidaKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A pessoa vem no mesmo select; o processo fica como proxy (só o id da FK é lido)
+    @Override
+    public List<ParteEnvolvida> findAfter(UUID processoId, TipoParteEnvolvidaEnum tipo, UUID aposId, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        condicoes.add("pe.processo.id = :processoId");
+        if (tipo != null) {
+            condicoes.add("pe.tipo = :tipo");
+        }
+        if (aposId != null) {
+            condicoes.add("pe.id > :aposId");
+        }
+
+        String jpql = """
+                select pe from ParteEnvolvida pe
+                join fetch pe.pessoa
+                where %s
+                order by pe.id
+                """.formatted(String.join(" and ", condicoes));
+
+        TypedQuery<ParteEnvolvida> query = entityManager.createQuery(jpql, ParteEnvolvida.class)
+                .setParameter("processoId", processoId)
+                .setMaxResults(limite);
+        if (tipo != null) {
+            query.setParameter("tipo", tipo);
+        }
+        if (aposId != null) {
+            query.setParameter("aposId", aposId);
+        }
+        return query.getResultList();
+    }
+}
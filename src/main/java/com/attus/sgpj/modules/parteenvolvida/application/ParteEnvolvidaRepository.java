@@ -0,0 +1,30 @@
+package com.attus.sgpj.modules.parteenvolvida.application;
+
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface ParteEnvolvidaRepository extends JpaRepository<ParteEnvolvida, UUID>, ParteEnvolvidaKeysetRepository {
+
+    // Só o tipo, para ajustar a composição do processo na remoção sem carregar a parte
+    @Query("select pe.tipo from ParteEnvolvida pe where pe.id = :id and pe.processo.id = :processoId")
+    Optional<TipoParteEnvolvidaEnum> findTipoByIdAndProcessoId(@Param("id") UUID id, @Param("processoId") UUID processoId);
+
+    // Parte avulsa do processo (com a pessoa), destino do Location devolvido na inclusão
+    @EntityGraph(attributePaths = "pessoa")
+    Optional<ParteEnvolvida> findByIdAndProcessoId(UUID id, UUID processoId);
+
+    // Exclusão lógica direto na linha; retorna 0 se a parte já tinha sido removida
+    @Modifying
+    @Query("update ParteEnvolvida pe set pe.deleted = true where pe.id = :id and pe.deleted = false")
+    int inativar(@Param("id") UUID id);
+}
@@ -15,7 +15,7 @@ import java.util.UUID;
 @Getter
 @Setter
 @Entity
-@SQLDelete(sql = "UPDATE acao SET deleted = true WHERE id = ?")
+@SQLDelete(sql = "UPDATE parte_envolvida SET deleted = true WHERE id = ?")
 @Where(clause = "deleted = false")
 public class ParteEnvolvida {
 
@@ -24,10 +24,10 @@ public class ParteEnvolvida {
     @EqualsAndHashCode.Include
     private UUID id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     private Pessoa pessoa;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "processo_id")
     private Processo processo;
 
@@ -4,7 +4,13 @@ import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
 
 import java.util.UUID;
 
+// A pessoa é identificada pelo id ou pelo CPF/CNPJ (exatamente um dos dois)
 public record ParteEnvolvidaRequestDTO(
         UUID pessoaId,
+        String cpfCnpj,
         TipoParteEnvolvidaEnum tipo
-) {}
+) {
+    public ParteEnvolvidaRequestDTO(UUID pessoaId, TipoParteEnvolvidaEnum tipo) {
+        this(pessoaId, null, tipo);
+    }
+}
@@ -0,0 +1,7 @@
+package com.attus.sgpj.modules.parteenvolvida.exception;
+
+public class ParteEnvolvidaNotFoundException extends RuntimeException {
+    public ParteEnvolvidaNotFoundException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,151 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import lombok.AllArgsConstructor;
+import org.postgresql.PGConnection;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+// Gravação em massa de pessoas já validadas e sem CPF/CNPJ repetido no lote. Deve ser chamado uma vez por transação.
+// No PostgreSQL usa COPY para uma tabela temporária e um único INSERT ... ON CONFLICT; nos demais bancos, JDBC batch.
+@Repository
+@AllArgsConstructor
+class PessoaCargaRepository {
+
+    // Descartada pelo próprio banco no commit ou rollback da transação
+    private static final String CRIAR_STAGING = """
+            CREATE TEMP TABLE pessoa_carga (
+                id uuid, nome_completo varchar(255), cpf_cnpj bigint, email varchar(255), telefone varchar(255)
+            ) ON COMMIT DROP
+            """;
+
+    private static final String COPY_STAGING = "COPY pessoa_carga (id, nome_completo, cpf_cnpj, email, telefone) FROM STDIN WITH (FORMAT csv)";
+
+    // xmax = 0 identifica as linhas inseridas; as demais foram atualizadas pelo ON CONFLICT
+    private static final String MESCLAR_STAGING = """
+            WITH gravadas AS (
+                INSERT INTO pessoa (id, nome_completo, cpf_cnpj, email, telefone)
+                SELECT id, nome_completo, cpf_cnpj, email, telefone FROM pessoa_carga
+                ON CONFLICT (cpf_cnpj) DO UPDATE
+                    SET nome_completo = EXCLUDED.nome_completo, email = EXCLUDED.email, telefone = EXCLUDED.telefone,
+                        versao = pessoa.versao + 1
+                RETURNING (xmax = 0) AS inserida
+            )
+            SELECT count(*) FILTER (WHERE inserida) FROM gravadas
+            """;
+
+    // Os processos embutem os dados das partes: invalida o ETag dos processos das pessoas atualizadas
+    private static final String VERSIONAR_PROCESSOS_STAGING = """
+            UPDATE processo SET versao = versao + 1
+            WHERE id IN (
+                SELECT pe.processo_id FROM parte_envolvida pe
+                JOIN pessoa p ON p.id = pe.pessoa_id
+                JOIN pessoa_carga c ON c.cpf_cnpj = p.cpf_cnpj
+            )
+            """;
+
+    private static final String VERSIONAR_PROCESSOS = """
+            UPDATE processo SET versao = versao + 1
+            WHERE id IN (
+                SELECT pe.processo_id FROM parte_envolvida pe
+                JOIN pessoa p ON p.id = pe.pessoa_id
+                WHERE p.cpf_cnpj IN (:cpfCnpjs)
+            )
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // cpfCnpj: valor gravado na coluna (CpfCnpj.getCodigo)
+    record PessoaCarga(UUID id, String nomeCompleto, long cpfCnpj, String email, String telefone) {}
+
+    // Retorna quantas pessoas foram inseridas; as restantes do lote atualizaram cadastros existentes
+    long gravar(List<PessoaCarga> pessoas) {
+        if (pessoas.isEmpty()) {
+            return 0;
+        }
+        Long inseridas = jdbcTemplate.execute((ConnectionCallback<Long>) connection ->
+                connection.isWrapperFor(PGConnection.class) ? gravarComCopy(connection, pessoas) : gravarComBatch(pessoas));
+        return inseridas == null ? 0 : inseridas;
+    }
+
+    private long gravarComCopy(Connection connection, List<PessoaCarga> pessoas) throws SQLException {
+        jdbcTemplate.execute(CRIAR_STAGING);
+        try {
+            connection.unwrap(PGConnection.class).getCopyAPI().copyIn(COPY_STAGING, new StringReader(paraCsv(pessoas)));
+        } catch (IOException e) {
+            throw new SQLException("Falha ao enviar o lote via COPY", e);
+        }
+        Long inseridas = jdbcTemplate.queryForObject(MESCLAR_STAGING, Long.class);
+        if (inseridas == null || inseridas < pessoas.size()) {
+            jdbcTemplate.update(VERSIONAR_PROCESSOS_STAGING);
+        }
+        return inseridas == null ? 0 : inseridas;
+    }
+
+    private long gravarComBatch(List<PessoaCarga> pessoas) {
+        Set<Long> existentes = new HashSet<>(namedParameterJdbcTemplate.queryForList(
+                "SELECT cpf_cnpj FROM pessoa WHERE cpf_cnpj IN (:cpfCnpjs)",
+                new MapSqlParameterSource("cpfCnpjs", pessoas.stream().map(PessoaCarga::cpfCnpj).toList()),
+                Long.class));
+
+        List<PessoaCarga> novas = pessoas.stream().filter(p -> !existentes.contains(p.cpfCnpj())).toList();
+        List<PessoaCarga> atualizadas = pessoas.stream().filter(p -> existentes.contains(p.cpfCnpj())).toList();
+
+        jdbcTemplate.batchUpdate("INSERT INTO pessoa (id, nome_completo, cpf_cnpj, email, telefone) VALUES (?, ?, ?, ?, ?)",
+                novas, novas.size(), (ps, p) -> {
+                    ps.setObject(1, p.id());
+                    ps.setString(2, p.nomeCompleto());
+                    ps.setLong(3, p.cpfCnpj());
+                    ps.setString(4, p.email());
+                    ps.setString(5, p.telefone());
+                });
+        jdbcTemplate.batchUpdate("UPDATE pessoa SET nome_completo = ?, email = ?, telefone = ?, versao = versao + 1 WHERE cpf_cnpj = ?",
+                atualizadas, atualizadas.size(), (ps, p) -> {
+                    ps.setString(1, p.nomeCompleto());
+                    ps.setString(2, p.email());
+                    ps.setString(3, p.telefone());
+                    ps.setLong(4, p.cpfCnpj());
+                });
+        if (!atualizadas.isEmpty()) {
+            namedParameterJdbcTemplate.update(VERSIONAR_PROCESSOS,
+                    new MapSqlParameterSource("cpfCnpjs", atualizadas.stream().map(PessoaCarga::cpfCnpj).toList()));
+        }
+        return novas.size();
+    }
+
+    static String paraCsv(List<PessoaCarga> pessoas) {
+        StringBuilder csv = new StringBuilder(pessoas.size() * 128);
+        for (PessoaCarga pessoa : pessoas) {
+            csv.append(pessoa.id()).append(',');
+            campoCsv(csv, pessoa.nomeCompleto()).append(',');
+            csv.append(pessoa.cpfCnpj()).append(',');
+            campoCsv(csv, pessoa.email()).append(',');
+            campoCsv(csv, pessoa.telefone()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    private static StringBuilder campoCsv(StringBuilder csv, String valor) {
+        csv.append('"');
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            if (c == '"') {
+                csv.append('"');
+            }
+            csv.append(c);
+        }
+        return csv.append('"');
+    }
+}
@@ -1,16 +1,22 @@
 package com.attus.sgpj.modules.pessoa.application;
 
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO;
 import com.attus.sgpj.modules.pessoa.domain.dto.PessoaRequestDTO;
 import com.attus.sgpj.modules.pessoa.domain.dto.PessoaResponseDTO;
+import com.attus.sgpj.shared.http.VersaoETag;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.UUID;
 
 @AllArgsConstructor
@@ -20,6 +26,7 @@ import java.util.UUID;
 public class PessoaController {
 
     private final PessoaService pessoaService;
+    private final PessoaImportacaoService pessoaImportacaoService;
 
     @PostMapping
     @Operation(summary = "Criar pessoa", description = "Cria uma nova pessoa no sistema")
@@ -28,11 +35,32 @@ public class PessoaController {
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Importar pessoas", description = "Carga em massa de pessoas a partir de NDJSON (uma pessoa por linha): CPFs/CNPJs já cadastrados são atualizados e repetições no arquivo são descartadas")
+    public ResponseEntity<PessoaImportacaoResultadoDTO> importar(InputStream inputStream) throws IOException {
+        PessoaImportacaoResultadoDTO response = pessoaImportacaoService.importar(inputStream);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar por ID", description = "Retorna os dados de uma pessoa pelo ID")
-    public ResponseEntity<PessoaResponseDTO> findById(@PathVariable UUID id) {
+    @Operation(summary = "Buscar por ID", description = "Retorna os dados de uma pessoa pelo ID, com ETag; responde 304 a um If-None-Match ainda válido")
+    public ResponseEntity<PessoaResponseDTO> findById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            long versao = pessoaService.findVersaoById(id);
+            if (VersaoETag.corresponde(ifNoneMatch, versao)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(VersaoETag.de(versao))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
         PessoaResponseDTO response = pessoaService.findById(id);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok()
+                .eTag(VersaoETag.de(response.versao()))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response);
     }
 
     @PutMapping("/{id}")
@@ -0,0 +1,57 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaResponseDTO;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.UUID;
+
+// Caches de consulta por CPF/CNPJ, sempre chaveados pelo valor normalizado (somente dígitos)
+@Component
+public class PessoaCpfCnpjCache {
+
+    private final Cache pessoas;
+    private final Cache ids;
+    private final Cache naoEncontrados;
+
+    public PessoaCpfCnpjCache(CacheManager cacheManager) {
+        this.pessoas = cacheManager.getCache(CacheConfig.PESSOA_POR_CPF_CNPJ);
+        this.ids = cacheManager.getCache(CacheConfig.PESSOA_ID_POR_CPF_CNPJ);
+        this.naoEncontrados = cacheManager.getCache(CacheConfig.CPF_CNPJ_NAO_ENCONTRADO);
+    }
+
+    public Optional<PessoaResponseDTO> getPessoa(CpfCnpj cpfCnpj) {
+        return Optional.ofNullable(pessoas.get(cpfCnpj.getValue(), PessoaResponseDTO.class));
+    }
+
+    public Optional<UUID> getId(CpfCnpj cpfCnpj) {
+        return Optional.ofNullable(ids.get(cpfCnpj.getValue(), UUID.class));
+    }
+
+    public boolean isNaoEncontrado(CpfCnpj cpfCnpj) {
+        return naoEncontrados.get(cpfCnpj.getValue()) != null;
+    }
+
+    public void putPessoa(PessoaResponseDTO pessoa) {
+        pessoas.put(pessoa.cpfCnpj(), pessoa);
+        ids.put(pessoa.cpfCnpj(), pessoa.id());
+    }
+
+    public void putId(CpfCnpj cpfCnpj, UUID id) {
+        ids.put(cpfCnpj.getValue(), id);
+    }
+
+    public void putNaoEncontrado(CpfCnpj cpfCnpj) {
+        naoEncontrados.put(cpfCnpj.getValue(), Boolean.TRUE);
+    }
+
+    public void evict(CpfCnpj cpfCnpj) {
+        pessoas.evict(cpfCnpj.getValue());
+        ids.evict(cpfCnpj.getValue());
+        naoEncontrados.evict(cpfCnpj.getValue());
+    }
+}
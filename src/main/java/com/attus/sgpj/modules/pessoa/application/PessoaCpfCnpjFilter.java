@@ -0,0 +1,17 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import com.attus.sgpj.shared.filter.ChaveExistenteFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Chaveado pelo CPF/CNPJ normalizado (somente dígitos)
+@Component
+public class PessoaCpfCnpjFilter extends ChaveExistenteFilter {
+
+    public PessoaCpfCnpjFilter(MeterRegistry meterRegistry,
+                               @Value("${sgpj.filtro.capacidade-minima:100000}") long capacidadeMinima,
+                               @Value("${sgpj.filtro.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        super("pessoa.cpfCnpj", capacidadeMinima, taxaFalsosPositivos, meterRegistry);
+    }
+}
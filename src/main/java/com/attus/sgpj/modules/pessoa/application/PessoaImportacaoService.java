@@ -0,0 +1,190 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import com.attus.sgpj.modules.pessoa.application.PessoaCargaRepository.PessoaCarga;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO.ErroLinha;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaRequestDTO;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.importacao.FalhaGravacao;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.Email;
+import com.attus.sgpj.shared.vo.Telefone;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+@Slf4j
+@Service
+@Timed(value = "sgpj.servico", histogram = true)
+@AllArgsConstructor
+public class PessoaImportacaoService {
+
+    static final int TAMANHO_LOTE = 5000;
+    private static final int LIMITE_ERROS = 1000;
+
+    private final PessoaCargaRepository pessoaCargaRepository;
+    private final PessoaCpfCnpjFilter cpfCnpjFilter;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+
+    // Caches afetados pela carga: os processos em cache embutem dados das pessoas, e o cache negativo continuaria
+    // respondendo "não encontrada" para as pessoas recém-inseridas
+    private static final List<String> CACHES_AFETADOS = List.of(CacheConfig.PROCESSO, CacheConfig.PESSOA_POR_CPF_CNPJ,
+            CacheConfig.PESSOA_ID_POR_CPF_CNPJ, CacheConfig.CPF_CNPJ_NAO_ENCONTRADO);
+
+    // Carga em massa: valida os VOs em paralelo, descarta CPFs/CNPJs repetidos no arquivo e mescla cada lote com o
+    // cadastro existente (insere os novos, atualiza os já cadastrados)
+    public PessoaImportacaoResultadoDTO importar(InputStream inputStream) throws IOException {
+        Relatorio relatorio = new Relatorio();
+        Set<Long> cpfCnpjsNoArquivo = new HashSet<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        List<Linha> lote = new ArrayList<>(TAMANHO_LOTE);
+        long numeroLinha = 0;
+        String conteudo;
+        while ((conteudo = reader.readLine()) != null) {
+            numeroLinha++;
+            if (conteudo.isBlank()) {
+                continue;
+            }
+            relatorio.totalLinhas++;
+            lote.add(new Linha(numeroLinha, conteudo));
+            if (lote.size() == TAMANHO_LOTE) {
+                importarLote(lote, cpfCnpjsNoArquivo, relatorio);
+                lote.clear();
+            }
+        }
+        importarLote(lote, cpfCnpjsNoArquivo, relatorio);
+        return relatorio.toDTO();
+    }
+
+    private void importarLote(List<Linha> lote, Set<Long> cpfCnpjsNoArquivo, Relatorio relatorio) {
+        // Parse do JSON e construção dos VOs é o trecho CPU-bound; a ordem do lote é preservada
+        List<Validacao> validacoes = lote.parallelStream().map(this::validar).toList();
+
+        List<PessoaCarga> pessoas = new ArrayList<>(validacoes.size());
+        List<Long> linhas = new ArrayList<>(validacoes.size());
+        for (Validacao validacao : validacoes) {
+            if (validacao.erro() != null) {
+                relatorio.invalidos++;
+                relatorio.erro(validacao.linha(), validacao.cpfCnpjInformado(), validacao.erro());
+            } else if (!cpfCnpjsNoArquivo.add(validacao.pessoa().cpfCnpj())) {
+                relatorio.duplicados++;
+            } else {
+                pessoas.add(validacao.pessoa());
+                linhas.add(validacao.linha());
+            }
+        }
+        if (pessoas.isEmpty()) {
+            return;
+        }
+
+        try {
+            long inseridas = gravar(pessoas);
+            relatorio.inseridos += inseridas;
+            relatorio.atualizados += pessoas.size() - inseridas;
+        } catch (RuntimeException e) {
+            // Lote rejeitado pelo banco: regrava linha a linha para isolar a(s) linha(s) culpada(s)
+            for (int i = 0; i < pessoas.size(); i++) {
+                PessoaCarga pessoa = pessoas.get(i);
+                try {
+                    long inserida = gravar(List.of(pessoa));
+                    relatorio.inseridos += inserida;
+                    relatorio.atualizados += 1 - inserida;
+                } catch (RuntimeException erroLinha) {
+                    // O detalhe (SQL, valores, mensagem do driver) fica só no log
+                    log.warn("Importação de pessoas: linha {} rejeitada pelo banco", linhas.get(i), erroLinha);
+                    relatorio.invalidos++;
+                    relatorio.erro(linhas.get(i), CpfCnpj.canonico(pessoa.cpfCnpj()), FalhaGravacao.mensagem(erroLinha));
+                }
+            }
+        }
+    }
+
+    private long gravar(List<PessoaCarga> pessoas) {
+        Long inseridas = transactionTemplate.execute(status -> {
+            long resultado = pessoaCargaRepository.gravar(pessoas);
+            pessoas.forEach(pessoa -> cpfCnpjFilter.registrar(CpfCnpj.canonico(pessoa.cpfCnpj())));
+            // Por lote, e não ao fim da importação: o cache é transacional (a limpeza vale após o commit) e uma falha
+            // num lote posterior não deixa os lotes já confirmados com caches desatualizados
+            for (String nome : CACHES_AFETADOS) {
+                Cache cache = cacheManager.getCache(nome);
+                if (cache != null) {
+                    cache.clear();
+                }
+            }
+            return resultado;
+        });
+        return inseridas == null ? 0 : inseridas;
+    }
+
+    private Validacao validar(Linha linha) {
+        PessoaRequestDTO dto;
+        try {
+            dto = objectMapper.readValue(linha.conteudo(), PessoaRequestDTO.class);
+        } catch (JsonProcessingException e) {
+            return Validacao.erro(linha.numero(), null, "JSON inválido: " + e.getOriginalMessage());
+        }
+        if (dto.nomeCompleto() == null || dto.nomeCompleto().isBlank()) {
+            return Validacao.erro(linha.numero(), dto.cpfCnpj(), "Nome completo é obrigatório");
+        }
+        try {
+            PessoaCarga pessoa = new PessoaCarga(
+                    UUID.randomUUID(),
+                    dto.nomeCompleto(),
+                    new CpfCnpj(dto.cpfCnpj()).getCodigo(),
+                    new Email(dto.email()).getValue(),
+                    new Telefone(dto.telefone()).getNumero());
+            return new Validacao(linha.numero(), dto.cpfCnpj(), pessoa, null);
+        } catch (InvalidFieldException e) {
+            return Validacao.erro(linha.numero(), dto.cpfCnpj(), e.getMessage());
+        }
+    }
+
+    private record Linha(long numero, String conteudo) {}
+
+    private record Validacao(long linha, String cpfCnpjInformado, PessoaCarga pessoa, String erro) {
+        static Validacao erro(long linha, String cpfCnpjInformado, String erro) {
+            return new Validacao(linha, cpfCnpjInformado, null, erro);
+        }
+    }
+
+    private static class Relatorio {
+        private long totalLinhas;
+        private long inseridos;
+        private long atualizados;
+        private long duplicados;
+        private long invalidos;
+        private final List<ErroLinha> erros = new ArrayList<>();
+
+        private void erro(long linha, String cpfCnpj, String mensagem) {
+            if (erros.size() < LIMITE_ERROS) {
+                erros.add(new ErroLinha(linha, cpfCnpj, mensagem));
+            }
+        }
+
+        private PessoaImportacaoResultadoDTO toDTO() {
+            erros.sort((a, b) -> Long.compare(a.linha(), b.linha()));
+            return new PessoaImportacaoResultadoDTO(totalLinhas, inseridos, atualizados, duplicados, invalidos, erros);
+        }
+    }
+}
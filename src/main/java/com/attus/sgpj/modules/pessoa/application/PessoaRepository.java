@@ -2,20 +2,53 @@ package com.attus.sgpj.modules.pessoa.application;
 
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
 import com.attus.sgpj.shared.vo.CpfCnpj;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface PessoaRepository extends JpaRepository<Pessoa, UUID> {
 
     Optional<Pessoa> findByCpfCnpj(CpfCnpj cpfCnpj);
 
+    @Query("select p.id from Pessoa p where p.cpfCnpj = :cpfCnpj")
+    Optional<UUID> findIdByCpfCnpj(@Param("cpfCnpj") CpfCnpj cpfCnpj);
+
+    @Query("select p from Pessoa p where p.cpfCnpj.codigo in :codigos")
+    List<Pessoa> findByCpfCnpjCodigoIn(@Param("codigos") Collection<Long> codigos);
+
     boolean existsByCpfCnpj(CpfCnpj cpfCnpj);
 
+    @Query("select p.cpfCnpj.codigo from Pessoa p")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Long> streamCpfCnpjs();
+
     Page<Pessoa> findByNomeCompletoContainingIgnoreCase(String nomeCompleto, Pageable pageable);
+
+    @Query("select p.versao from Pessoa p where p.id = :id")
+    Optional<Long> findVersaoById(@Param("id") UUID id);
+
+    // Os processos embutem os dados das partes: invalida o ETag de todos em que a pessoa participa
+    @Modifying
+    @Query("""
+            update Processo p set p.versao = p.versao + 1
+            where p.id in (select pe.processo.id from ParteEnvolvida pe where pe.pessoa.id = :pessoaId)
+            """)
+    int incrementarVersaoProcessos(@Param("pessoaId") UUID pessoaId);
 }
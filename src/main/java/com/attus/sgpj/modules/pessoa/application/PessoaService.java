@@ -5,8 +5,13 @@ import com.attus.sgpj.modules.pessoa.domain.dto.PessoaResponseDTO;
 import com.attus.sgpj.modules.pessoa.exception.PessoaAlreadyExistsException;
 import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.shared.config.CacheConfig;
 import com.attus.sgpj.shared.vo.CpfCnpj;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -14,17 +19,33 @@ import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "sgpj.servico", histogram = true)
 @Transactional
 @AllArgsConstructor
 public class PessoaService {
 
     private final PessoaRepository pessoaRepository;
+    private final PessoaCpfCnpjCache cpfCnpjCache;
+    private final PessoaCpfCnpjFilter cpfCnpjFilter;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarFiltroCpfCnpj() {
+        try (Stream<Long> codigos = pessoaRepository.streamCpfCnpjs()) {
+            cpfCnpjFilter.recarregar(pessoaRepository.count(), codigos.map(CpfCnpj::canonico));
+        }
+    }
 
     public PessoaResponseDTO create(PessoaRequestDTO requestDTO) {
-        if (pessoaRepository.existsByCpfCnpj(new CpfCnpj(requestDTO.cpfCnpj()))) {
+        CpfCnpj cpfCnpj = new CpfCnpj(requestDTO.cpfCnpj());
+        if (existsByCpfCnpj(cpfCnpj)) {
             throw new PessoaAlreadyExistsException("CPF/CNPJ já está cadastrado: " + requestDTO.cpfCnpj());
         }
 
@@ -36,19 +57,33 @@ public class PessoaService {
         );
 
         Pessoa savedPessoa = pessoaRepository.save(pessoa);
+        cpfCnpjFilter.registrar(cpfCnpj.getValue());
+        cpfCnpjCache.evict(cpfCnpj);
         return PessoaResponseDTO.fromDomain(savedPessoa);
     }
 
+    // Os processos em cache embutem os dados das partes, então qualquer alteração de pessoa invalida o cache de processos
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, allEntries = true)
     public PessoaResponseDTO update(UUID id, PessoaRequestDTO requestDTO) {
         Pessoa pessoa = findPessoaById(id);
-
-        if (!pessoa.getCpfCnpj().getValue().equals(requestDTO.cpfCnpj()) &&
-                pessoaRepository.existsByCpfCnpj(new CpfCnpj(requestDTO.cpfCnpj()))) {
-            throw new PessoaAlreadyExistsException("CPF/CNPJ já está cadastrado: " + requestDTO.cpfCnpj());
+        CpfCnpj cpfCnpjAnterior = pessoa.getCpfCnpj();
+        CpfCnpj cpfCnpjNovo = CpfCnpj.chave(requestDTO.cpfCnpj());
+
+        // Dígitos verificadores só são exigidos quando o documento muda
+        if (!cpfCnpjAnterior.equals(cpfCnpjNovo)) {
+            cpfCnpjNovo = new CpfCnpj(requestDTO.cpfCnpj());
+            if (existsByCpfCnpj(cpfCnpjNovo)) {
+                throw new PessoaAlreadyExistsException("CPF/CNPJ já está cadastrado: " + requestDTO.cpfCnpj());
+            }
         }
 
         pessoa.update(requestDTO);
         Pessoa updatedPessoa = pessoaRepository.save(pessoa);
+        pessoaRepository.incrementarVersaoProcessos(id);
+        cpfCnpjFilter.registrar(cpfCnpjNovo.getValue());
+        // Invalida a chave antiga e a nova (inclusive um eventual registro negativo)
+        cpfCnpjCache.evict(cpfCnpjAnterior);
+        cpfCnpjCache.evict(cpfCnpjNovo);
         return PessoaResponseDTO.fromDomain(updatedPessoa);
     }
 
@@ -58,11 +93,35 @@ public class PessoaService {
         return PessoaResponseDTO.fromDomain(pessoa);
     }
 
+    @Transactional(readOnly = true)
+    public long findVersaoById(UUID id) {
+        return pessoaRepository.findVersaoById(id)
+                .orElseThrow(() -> new PessoaNotFoundException("Pessoa não encontrada com ID: " + id));
+    }
+
     @Transactional(readOnly = true)
     public Pessoa findDomainById(UUID id) {
         return findPessoaById(id);
     }
 
+    @Transactional(readOnly = true)
+    public Pessoa findDomainByCpfCnpj(String cpfCnpj) {
+        return pessoaRepository.findByCpfCnpj(CpfCnpj.chave(cpfCnpj))
+                .orElseThrow(() -> new PessoaNotFoundException("Pessoa não encontrada com CPF/CNPJ: " + cpfCnpj));
+    }
+
+    @Transactional(readOnly = true)
+    public List<Pessoa> findDomainsByIds(Collection<UUID> ids) {
+        return ids.isEmpty() ? List.of() : pessoaRepository.findAllById(ids);
+    }
+
+    // Recebe os CPFs/CNPJs já normalizados (somente dígitos)
+    @Transactional(readOnly = true)
+    public List<Pessoa> findDomainsByCpfCnpjs(Collection<String> cpfCnpjs) {
+        return cpfCnpjs.isEmpty() ? List.of() : pessoaRepository.findByCpfCnpjCodigoIn(
+                cpfCnpjs.stream().map(cpfCnpj -> CpfCnpj.chave(cpfCnpj).getCodigo()).toList());
+    }
+
     @Transactional(readOnly = true)
     public Page<PessoaResponseDTO> findPaged(int page, int size, String sortBy, String sortDirection) {
         Pageable pageable;
@@ -83,11 +142,45 @@ public class PessoaService {
         return pessoasPage.map(PessoaResponseDTO::fromDomain);
     }
 
-    @Transactional(readOnly = true)
+    // Sem rollback no "não encontrado" para que o registro negativo seja gravado no commit
+    @Transactional(readOnly = true, noRollbackFor = PessoaNotFoundException.class)
     public PessoaResponseDTO findByCpfCnpj(String cpfCnpj) {
-        Pessoa pessoa = pessoaRepository.findByCpfCnpj(new CpfCnpj(cpfCnpj))
-                .orElseThrow(() -> new PessoaNotFoundException("Pessoa não encontrada com CPF/CNPJ: " + cpfCnpj));
-        return PessoaResponseDTO.fromDomain(pessoa);
+        CpfCnpj chave = CpfCnpj.chave(cpfCnpj);
+        Optional<PessoaResponseDTO> cached = cpfCnpjCache.getPessoa(chave);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        if (cpfCnpjCache.isNaoEncontrado(chave)) {
+            throw new PessoaNotFoundException("Pessoa não encontrada com CPF/CNPJ: " + cpfCnpj);
+        }
+
+        Optional<Pessoa> pessoa = pessoaRepository.findByCpfCnpj(chave);
+        if (pessoa.isEmpty()) {
+            cpfCnpjCache.putNaoEncontrado(chave);
+            throw new PessoaNotFoundException("Pessoa não encontrada com CPF/CNPJ: " + cpfCnpj);
+        }
+
+        PessoaResponseDTO response = PessoaResponseDTO.fromDomain(pessoa.get());
+        cpfCnpjCache.putPessoa(response);
+        return response;
+    }
+
+    // Resolve apenas o id, sem carregar a entidade; usado pelas consultas de processos por CPF/CNPJ
+    @Transactional(readOnly = true)
+    public Optional<UUID> findIdByCpfCnpj(String cpfCnpj) {
+        CpfCnpj chave = CpfCnpj.chave(cpfCnpj);
+        Optional<UUID> cached = cpfCnpjCache.getId(chave);
+        if (cached.isPresent() || cpfCnpjCache.isNaoEncontrado(chave)) {
+            return cached;
+        }
+
+        Optional<UUID> id = pessoaRepository.findIdByCpfCnpj(chave);
+        id.ifPresentOrElse(value -> cpfCnpjCache.putId(chave, value), () -> cpfCnpjCache.putNaoEncontrado(chave));
+        return id;
+    }
+
+    private boolean existsByCpfCnpj(CpfCnpj cpfCnpj) {
+        return cpfCnpjFilter.existe(cpfCnpj.getValue(), valor -> pessoaRepository.existsByCpfCnpj(cpfCnpj));
     }
 
     private Pessoa findPessoaById(UUID id) {
@@ -11,6 +11,7 @@ import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.UUID;
 
@@ -40,6 +41,11 @@ public class Pessoa {
     @NotNull(message = "Telefone é obrigatório")
     private Telefone telefone;
 
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
     private Pessoa(String nomeCompleto, CpfCnpj cpfCnpj, Email email, Telefone telefone) {
         this.nomeCompleto = nomeCompleto;
         this.cpfCnpj = cpfCnpj;
@@ -53,7 +59,10 @@ public class Pessoa {
 
     public Pessoa update(PessoaRequestDTO dto) {
         this.nomeCompleto = dto.nomeCompleto();
-        this.cpfCnpj = new CpfCnpj(dto.cpfCnpj());
+        // Mantido se não mudou: registros legados com dígitos verificadores inválidos continuam editáveis
+        if (!cpfCnpj.equals(CpfCnpj.chave(dto.cpfCnpj()))) {
+            this.cpfCnpj = new CpfCnpj(dto.cpfCnpj());
+        }
         this.email = new Email(dto.email());
         this.telefone = new Telefone(dto.telefone());
         return this;
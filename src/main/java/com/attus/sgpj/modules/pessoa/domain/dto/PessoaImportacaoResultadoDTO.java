@@ -0,0 +1,20 @@
+package com.attus.sgpj.modules.pessoa.domain.dto;
+
+import java.util.List;
+
+// "duplicados" são repetições de CPF/CNPJ dentro do arquivo (vale a primeira ocorrência);
+// CPFs/CNPJs já cadastrados são atualizados e contam em "atualizados". "erros" traz no máximo as primeiras ocorrências.
+public record PessoaImportacaoResultadoDTO(
+        long totalLinhas,
+        long inseridos,
+        long atualizados,
+        long duplicados,
+        long invalidos,
+        List<ErroLinha> erros
+) {
+    public record ErroLinha(
+            long linha,
+            String cpfCnpj,
+            String mensagem
+    ) {}
+}
@@ -1,6 +1,7 @@
 package com.attus.sgpj.modules.pessoa.domain.dto;
 
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.util.UUID;
 
@@ -9,7 +10,9 @@ public record PessoaResponseDTO(
         String nomeCompleto,
         String cpfCnpj,
         String email,
-        String telefone
+        String telefone,
+        // Vai no ETag, não no corpo: nas respostas de escrita o valor ainda não reflete o incremento do commit
+        @JsonIgnore long versao
 ) {
     public static PessoaResponseDTO fromDomain(Pessoa pessoa) {
         return new PessoaResponseDTO(
@@ -17,7 +20,8 @@ public record PessoaResponseDTO(
                 pessoa.getNomeCompleto(),
                 pessoa.getCpfCnpj().getValue(),
                 pessoa.getEmail().getValue(),
-                pessoa.getTelefone().getNumero()
+                pessoa.getTelefone().getNumero(),
+                pessoa.getVersao()
         );
     }
 }
@@ -0,0 +1,34 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.Processo;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Atualiza a composição do processo sem carregá-lo: a inclusão/remoção de partes e ações grava direto na tabela
+// filha e soma a variação aos contadores aqui, num único UPDATE que também confere o status
+@Repository
+class ProcessoComposicaoRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // A soma é feita no banco, então escritas concorrentes no mesmo processo não perdem incrementos. Retorna false
+    // quando nenhuma linha foi alterada: o processo não existe ou o status não permite alteração.
+    boolean alterar(UUID processoId, Map<String, Integer> variacoes) {
+        StringBuilder jpql = new StringBuilder("update Processo p set p.versao = p.versao + 1");
+        variacoes.keySet().forEach(campo -> jpql.append(", p.composicao.").append(campo)
+                .append(" = p.composicao.").append(campo).append(" + :").append(campo));
+        jpql.append(" where p.id = :id and p.statusProcesso in :alteraveis");
+
+        Query query = entityManager.createQuery(jpql.toString())
+                .setParameter("id", processoId)
+                .setParameter("alteraveis", Processo.STATUS_ALTERAVEIS);
+        variacoes.forEach(query::setParameter);
+        return query.executeUpdate() == 1;
+    }
+}
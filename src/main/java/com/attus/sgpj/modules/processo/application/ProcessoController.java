@@ -1,20 +1,43 @@
 package com.attus.sgpj.modules.processo.application;
 
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
 import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
 import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoEstatisticasDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteRequestDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
+import com.attus.sgpj.shared.http.VersaoETag;
+import com.attus.sgpj.shared.pagination.CursorPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.UUID;
@@ -25,7 +48,17 @@ import java.util.UUID;
 @Tag(name = "Processos", description = "Gerenciamento de processos jurídicos")
 public class ProcessoController {
 
+    private static final String PREFER = "Prefer";
+    private static final String PREFERENCE_APPLIED = "Preference-Applied";
+    private static final String RETORNO_MINIMO = "return=minimal";
+    // Revalidado em todo status: o processo embute os dados das pessoas envolvidas, que mudam mesmo num arquivado
+    private static final CacheControl CACHE_REVALIDAR = CacheControl.noCache().cachePrivate();
+
     private final ProcessoService processoService;
+    private final ProcessoExportService processoExportService;
+    private final ProcessoImportacaoService processoImportacaoService;
+    private final ProcessoTransicaoLoteService processoTransicaoLoteService;
+    private final ProcessoEstatisticasService processoEstatisticasService;
 
     @PostMapping
     @Operation(summary = "Criar processo", description = "Cria um novo processo a partir dos dados informados")
@@ -36,18 +69,38 @@ public class ProcessoController {
 
     @PutMapping("/{id}")
     @Operation(summary = "Atualizar processo", description = "Atualiza os dados de um processo existente")
-    public ResponseEntity<ProcessoResponseDTO> update(
+    public ResponseEntity<?> update(
             @PathVariable UUID id,
-            @Valid @RequestBody ProcessoRequestDTO requestDTO) {
+            @Valid @RequestBody ProcessoRequestDTO requestDTO,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.updateSemAgregado(id, requestDTO);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.update(id, requestDTO);
         return ResponseEntity.ok(responseDTO);
     }
 
     @GetMapping("/{id}")
-    @Operation(summary = "Buscar por ID", description = "Retorna os dados de um processo pelo ID")
-    public ResponseEntity<ProcessoResponseDTO> findById(@PathVariable UUID id) {
+    @Operation(summary = "Buscar por ID", description = "Retorna os dados de um processo pelo ID, com ETag; responde 304 a um If-None-Match ainda válido")
+    public ResponseEntity<ProcessoResponseDTO> findById(
+            @PathVariable UUID id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        // Revalidação consulta apenas a versão; o agregado só é montado (ou lido do cache) quando mudou
+        if (ifNoneMatch != null) {
+            ProcessoVersaoDTO versao = processoService.findVersaoById(id);
+            if (VersaoETag.corresponde(ifNoneMatch, versao.versao())) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(VersaoETag.de(versao.versao()))
+                        .cacheControl(CACHE_REVALIDAR)
+                        .build();
+            }
+        }
         ProcessoResponseDTO responseDTO = processoService.findById(id);
-        return ResponseEntity.ok(responseDTO);
+        return ResponseEntity.ok()
+                .eTag(VersaoETag.de(responseDTO.versao()))
+                .cacheControl(CACHE_REVALIDAR)
+                .body(responseDTO);
     }
 
     @GetMapping
@@ -102,80 +155,352 @@ public class ProcessoController {
         return ResponseEntity.ok(processosPage);
     }
 
+    // Cursor
+    @GetMapping("/cursor")
+    @Operation(summary = "Listar processos por cursor", description = "Lista processos com paginação por keyset (dataAbertura, numero ou id), sem contagem total")
+    public ResponseEntity<CursorPage<ProcessoResponseDTO>> findByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) @Pattern(regexp = CursorPage.DIRECAO, message = CursorPage.DIRECAO_INVALIDA) String sortDirection) {
+        CursorPage<ProcessoResponseDTO> processosPage = processoService.findByCursor(cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(processosPage);
+    }
+
+    @GetMapping("/cursor/status/{status}")
+    @Operation(summary = "Buscar por status com cursor", description = "Lista processos filtrados pelo status com paginação por keyset")
+    public ResponseEntity<CursorPage<ProcessoResponseDTO>> findByStatusCursor(
+            @PathVariable StatusProcessoEnum status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) @Pattern(regexp = CursorPage.DIRECAO, message = CursorPage.DIRECAO_INVALIDA) String sortDirection) {
+        CursorPage<ProcessoResponseDTO> processosPage = processoService.findByStatusCursor(status, cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(processosPage);
+    }
+
+    @GetMapping("/cursor/data-abertura")
+    @Operation(summary = "Buscar por data de abertura com cursor", description = "Lista processos entre duas datas de abertura com paginação por keyset")
+    public ResponseEntity<CursorPage<ProcessoResponseDTO>> findByDataAberturaCursor(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) @Pattern(regexp = CursorPage.DIRECAO, message = CursorPage.DIRECAO_INVALIDA) String sortDirection) {
+        CursorPage<ProcessoResponseDTO> processosPage = processoService.findByDataAberturaCursor(dataInicial, dataFinal, cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(processosPage);
+    }
+
+    @GetMapping("/cursor/pessoa/id/{pessoaId}")
+    @Operation(summary = "Buscar por pessoa (ID) com cursor", description = "Lista processos relacionados a uma pessoa via ID com paginação por keyset, sem contagem total")
+    public ResponseEntity<CursorPage<ProcessoResponseDTO>> findByPessoaIdCursor(
+            @PathVariable UUID pessoaId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) @Pattern(regexp = CursorPage.DIRECAO, message = CursorPage.DIRECAO_INVALIDA) String sortDirection) {
+        CursorPage<ProcessoResponseDTO> processosPage = processoService.findByPessoaIdCursor(pessoaId, cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(processosPage);
+    }
+
+    @GetMapping("/cursor/pessoa/cpf-cnpj/{cpfCnpj}")
+    @Operation(summary = "Buscar por parte envolvida (CPF/CNPJ) com cursor", description = "Lista processos relacionados a uma parte envolvida via CPF/CNPJ com paginação por keyset, sem contagem total")
+    public ResponseEntity<CursorPage<ProcessoResponseDTO>> findByCpfCnpjParteEnvolvidaCursor(
+            @PathVariable String cpfCnpj,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) @Pattern(regexp = CursorPage.DIRECAO, message = CursorPage.DIRECAO_INVALIDA) String sortDirection) {
+        CursorPage<ProcessoResponseDTO> processosPage = processoService.findByCpfCnpjParteEnvolvidaCursor(cpfCnpj, cursor, size, sortBy, sortDirection);
+        return ResponseEntity.ok(processosPage);
+    }
+
+    // Exportação
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    @Operation(summary = "Exportar processos", description = "Exporta os processos em NDJSON (um processo completo por linha), opcionalmente filtrados por status e/ou intervalo de data de abertura")
+    public ResponseEntity<StreamingResponseBody> exportar(
+            @RequestParam(required = false) StatusProcessoEnum status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal) {
+        StreamingResponseBody body = outputStream -> processoExportService.exportar(status, dataInicial, dataFinal, outputStream);
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
+    // Importação
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    @Operation(summary = "Importar processos", description = "Importa processos completos (partes por pessoaId ou CPF/CNPJ e ações) a partir de NDJSON, um processo por linha, gravando em lotes e retornando os erros por linha sem interromper o arquivo")
+    public ResponseEntity<ProcessoImportacaoResultadoDTO> importar(InputStream inputStream) throws IOException {
+        ProcessoImportacaoResultadoDTO resultado = processoImportacaoService.importar(inputStream);
+        return ResponseEntity.ok(resultado);
+    }
+
+    // Estatísticas
+    @GetMapping("/stats")
+    @Operation(summary = "Estatísticas de processos", description = "Quantidade de processos por status e por mês de abertura e de ações por tipo, servida de contadores em memória atualizados a cada escrita e reconciliados periodicamente com o banco")
+    public ResponseEntity<ProcessoEstatisticasDTO> findEstatisticas() {
+        return ResponseEntity.ok(processoEstatisticasService.findEstatisticas());
+    }
+
+    // Resumo
+    @GetMapping("/resumo")
+    @Operation(summary = "Listar resumos paginados", description = "Lista número, status e data de abertura dos processos, sem partes e ações")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoPaged(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String sortBy,
+            @RequestParam(required = false) String sortDirection) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoPaged(page, size, sortBy, sortDirection);
+        return ResponseEntity.ok(resumosPage);
+    }
+
+    @GetMapping("/resumo/status/{status}")
+    @Operation(summary = "Buscar resumos por status", description = "Lista resumos de processos filtrados pelo status")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoByStatus(
+            @PathVariable StatusProcessoEnum status,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoByStatus(status, page, size);
+        return ResponseEntity.ok(resumosPage);
+    }
+
+    @GetMapping("/resumo/data-abertura")
+    @Operation(summary = "Buscar resumos por data de abertura", description = "Lista resumos de processos entre duas datas de abertura")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoByDataAbertura(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoByDataAbertura(dataInicial, dataFinal, page, size);
+        return ResponseEntity.ok(resumosPage);
+    }
+
+    @GetMapping("/resumo/pessoa/id/{pessoaId}")
+    @Operation(summary = "Buscar resumos por pessoa (ID)", description = "Lista resumos de processos relacionados a uma pessoa via ID")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoByPessoaId(
+            @PathVariable UUID pessoaId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoByPessoaId(pessoaId, page, size);
+        return ResponseEntity.ok(resumosPage);
+    }
+
+    @GetMapping("/resumo/prontos-para-arquivar")
+    @Operation(summary = "Buscar resumos de processos prontos para arquivar", description = "Lista resumos de processos ativos ou suspensos que já possuem todas as partes e ações obrigatórias para o arquivamento")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoProntosParaArquivar(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoProntosParaArquivar(page, size);
+        return ResponseEntity.ok(resumosPage);
+    }
+
+    @GetMapping("/resumo/pessoa/cpf-cnpj/{cpfCnpj}")
+    @Operation(summary = "Buscar resumos por parte envolvida (CPF/CNPJ)", description = "Lista resumos de processos relacionados a uma parte envolvida via CPF/CNPJ")
+    public ResponseEntity<Page<ProcessoResumoDTO>> findResumoByCpfCnpjParteEnvolvida(
+            @PathVariable String cpfCnpj,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        Page<ProcessoResumoDTO> resumosPage = processoService.findResumoByCpfCnpjParteEnvolvida(cpfCnpj, page, size);
+        return ResponseEntity.ok(resumosPage);
+    }
+
     @PutMapping("/{id}/ativar")
     @Operation(summary = "Ativar processo", description = "Ativa um processo inativo")
-    public ResponseEntity<ProcessoResponseDTO> ativar(@PathVariable UUID id) {
+    public ResponseEntity<?> ativar(
+            @PathVariable UUID id,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.ativarSemAgregado(id);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.ativar(id);
         return ResponseEntity.ok(responseDTO);
     }
 
     @PutMapping("/{id}/suspender")
     @Operation(summary = "Suspender processo", description = "Suspende temporariamente um processo")
-    public ResponseEntity<ProcessoResponseDTO> suspender(@PathVariable UUID id) {
+    public ResponseEntity<?> suspender(
+            @PathVariable UUID id,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.suspenderSemAgregado(id);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.suspender(id);
         return ResponseEntity.ok(responseDTO);
     }
 
     @PutMapping("/{id}/arquivar")
     @Operation(summary = "Arquivar processo", description = "Arquiva permanentemente um processo")
-    public ResponseEntity<ProcessoResponseDTO> arquivar(@PathVariable UUID id) {
+    public ResponseEntity<?> arquivar(
+            @PathVariable UUID id,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.arquivarSemAgregado(id);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.arquivar(id);
         return ResponseEntity.ok(responseDTO);
     }
 
+    @PostMapping("/transicoes")
+    @Operation(summary = "Transição de status em lote", description = "Ativa, suspende ou arquiva de uma vez os processos de uma lista de ids ou de um filtro (status, intervalo de data de abertura e/ou pessoa), com as mesmas regras das transições individuais, e retorna o resultado por processo")
+    public ResponseEntity<ProcessoTransicaoLoteResultadoDTO> transicionarEmLote(
+            @Valid @RequestBody ProcessoTransicaoLoteRequestDTO requestDTO) {
+        ProcessoTransicaoLoteResultadoDTO resultado = processoTransicaoLoteService.transicionar(requestDTO);
+        return ResponseEntity.ok(resultado);
+    }
+
     // Parte Envolvida
+    @GetMapping("/{id}/partes-envolvidas")
+    @Operation(summary = "Listar partes envolvidas do processo", description = "Lista as partes envolvidas do processo com paginação por keyset, opcionalmente filtradas por tipo, sem carregar o processo")
+    public ResponseEntity<CursorPage<ParteEnvolvidaResponseDTO>> findPartesEnvolvidas(
+            @PathVariable UUID id,
+            @RequestParam(required = false) TipoParteEnvolvidaEnum tipo,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size) {
+        CursorPage<ParteEnvolvidaResponseDTO> partesPage = processoService.findPartesEnvolvidas(id, tipo, cursor, size);
+        return ResponseEntity.ok(partesPage);
+    }
+
+    @GetMapping("/{id}/partes-envolvidas/{parteId}")
+    @Operation(summary = "Buscar parte envolvida", description = "Retorna uma parte envolvida do processo, sem carregar o processo")
+    public ResponseEntity<ParteEnvolvidaResponseDTO> findParteEnvolvida(@PathVariable UUID id, @PathVariable UUID parteId) {
+        return ResponseEntity.ok(processoService.findParteEnvolvida(id, parteId));
+    }
+
     @PostMapping("/{id}/partes-envolvidas")
-    @Operation(summary = "Adicionar parte envolvida", description = "Adiciona uma parte envolvida ao processo")
-    public ResponseEntity<ProcessoResponseDTO> addParteEnvolvida(
+    @Operation(summary = "Adicionar parte envolvida", description = "Adiciona uma parte envolvida ao processo. Com Prefer: return=minimal, retorna apenas a parte criada (201 + Location)")
+    public ResponseEntity<?> addParteEnvolvida(
             @PathVariable UUID id,
-            @Valid @RequestBody ParteEnvolvidaRequestDTO requestDTO) {
+            @Valid @RequestBody ParteEnvolvidaRequestDTO requestDTO,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            ParteEnvolvidaResponseDTO parte = processoService.addParteEnvolvidaSemAgregado(id, requestDTO);
+            return criado(parte.id(), parte);
+        }
         ProcessoResponseDTO responseDTO = processoService.addParteEnvolvida(id, requestDTO);
         return ResponseEntity.ok(responseDTO);
     }
 
     @PostMapping("/{id}/partes-envolvidas/batch")
     @Operation(summary = "Adicionar partes envolvidas em lote", description = "Adiciona múltiplas partes envolvidas de uma vez")
-    public ResponseEntity<ProcessoResponseDTO> addPartesEnvolvidas(
+    public ResponseEntity<?> addPartesEnvolvidas(
             @PathVariable UUID id,
-            @Valid @RequestBody List<ParteEnvolvidaRequestDTO> requestDTOs) {
+            @Valid @RequestBody List<ParteEnvolvidaRequestDTO> requestDTOs,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.addPartesEnvolvidasSemAgregado(id, requestDTOs);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.addPartesEnvolvidas(id, requestDTOs);
         return ResponseEntity.ok(responseDTO);
     }
 
     @DeleteMapping("/{id}/partes-envolvidas/{parteId}")
     @Operation(summary = "Remover parte envolvida", description = "Remove uma parte envolvida do processo")
-    public ResponseEntity<ProcessoResponseDTO> removeParteEnvolvida(
+    public ResponseEntity<?> removeParteEnvolvida(
             @PathVariable UUID id,
-            @PathVariable UUID parteId) {
+            @PathVariable UUID parteId,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.removeParteEnvolvidaSemAgregado(id, parteId);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.removeParteEnvolvida(id, parteId);
         return ResponseEntity.ok(responseDTO);
     }
 
     // Ações
+    @GetMapping("/{id}/acoes")
+    @Operation(summary = "Listar ações do processo", description = "Lista as ações do processo em ordem de data de registro com paginação por keyset, opcionalmente filtradas por tipo e intervalo de data de registro, sem carregar o processo")
+    public ResponseEntity<CursorPage<AcaoResponseDTO>> findAcoes(
+            @PathVariable UUID id,
+            @RequestParam(required = false) TipoAcaoEnum tipo,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicial,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFinal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") @Min(value = 1, message = CursorPage.TAMANHO_INVALIDO)
+            @Max(value = CursorPage.TAMANHO_MAXIMO, message = CursorPage.TAMANHO_INVALIDO) int size) {
+        CursorPage<AcaoResponseDTO> acoesPage = processoService.findAcoes(id, tipo, dataInicial, dataFinal, cursor, size);
+        return ResponseEntity.ok(acoesPage);
+    }
+
+    @GetMapping("/{id}/acoes/{acaoId}")
+    @Operation(summary = "Buscar ação", description = "Retorna uma ação do processo, sem carregar o processo")
+    public ResponseEntity<AcaoResponseDTO> findAcao(@PathVariable UUID id, @PathVariable UUID acaoId) {
+        return ResponseEntity.ok(processoService.findAcao(id, acaoId));
+    }
+
     @PostMapping("/{id}/acoes")
-    @Operation(summary = "Adicionar ação", description = "Adiciona uma ação ao processo")
-    public ResponseEntity<ProcessoResponseDTO> addAcaoProcesso(
+    @Operation(summary = "Adicionar ação", description = "Adiciona uma ação ao processo. Com Prefer: return=minimal, retorna apenas a ação criada (201 + Location)")
+    public ResponseEntity<?> addAcaoProcesso(
             @PathVariable UUID id,
-            @Valid @RequestBody AcaoRequestDTO requestDTO) {
+            @Valid @RequestBody AcaoRequestDTO requestDTO,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            AcaoResponseDTO acao = processoService.addAcaoProcessoSemAgregado(id, requestDTO);
+            return criado(acao.id(), acao);
+        }
         ProcessoResponseDTO responseDTO = processoService.addAcaoProcesso(id, requestDTO);
         return ResponseEntity.ok(responseDTO);
     }
 
     @PostMapping("/{id}/acoes/batch")
     @Operation(summary = "Adicionar ações em lote", description = "Adiciona múltiplas ações ao processo de uma vez")
-    public ResponseEntity<ProcessoResponseDTO> addAcoesProcesso(
+    public ResponseEntity<?> addAcoesProcesso(
             @PathVariable UUID id,
-            @Valid @RequestBody List<AcaoRequestDTO> requestDTOs) {
+            @Valid @RequestBody List<AcaoRequestDTO> requestDTOs,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.addAcoesProcessoSemAgregado(id, requestDTOs);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.addAcoesProcesso(id, requestDTOs);
         return ResponseEntity.ok(responseDTO);
     }
 
     @DeleteMapping("/{id}/acoes/{acaoId}")
     @Operation(summary = "Remover ação", description = "Remove uma ação do processo")
-    public ResponseEntity<ProcessoResponseDTO> removeAcaoProcesso(
+    public ResponseEntity<?> removeAcaoProcesso(
             @PathVariable UUID id,
-            @PathVariable UUID acaoId) {
+            @PathVariable UUID acaoId,
+            @RequestHeader(value = PREFER, required = false) String prefer) {
+        if (isRetornoMinimo(prefer)) {
+            processoService.removeAcaoProcessoSemAgregado(id, acaoId);
+            return semConteudo();
+        }
         ProcessoResponseDTO responseDTO = processoService.removeAcaoProcesso(id, acaoId);
         return ResponseEntity.ok(responseDTO);
     }
+
+    // Prefer: return=minimal (RFC 7240): a mutação responde sem reserializar o processo inteiro
+    private static boolean isRetornoMinimo(String prefer) {
+        if (prefer == null) {
+            return false;
+        }
+        for (String preferencia : prefer.split(",")) {
+            if (RETORNO_MINIMO.equalsIgnoreCase(preferencia.split(";")[0].replace(" ", ""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<Void> semConteudo() {
+        return ResponseEntity.noContent().header(PREFERENCE_APPLIED, RETORNO_MINIMO).build();
+    }
+
+    private static <T> ResponseEntity<T> criado(UUID id, T body) {
+        URI location = ServletUriComponentsBuilder.fromCurrentRequestUri().path("/{id}").buildAndExpand(id).toUri();
+        return ResponseEntity.created(location).header(PREFERENCE_APPLIED, RETORNO_MINIMO).body(body);
+    }
 }
@@ -0,0 +1,81 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.shared.pagination.CursorCodec;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+// Posição de uma paginação por keyset: campo/direção de ordenação e a chave (campo, id) do último processo retornado
+public record ProcessoCursor(
+        Campo campo,
+        Sort.Direction direcao,
+        Object chave,
+        UUID id
+) {
+    public enum Campo {
+        DATA_ABERTURA("dataAbertura", Processo::getDataAbertura, LocalDate::parse),
+        NUMERO("numero", Processo::getNumero, valor -> valor),
+        ID("id", Processo::getId, UUID::fromString);
+
+        private final String propriedade;
+        private final Function<Processo, Object> extrator;
+        private final Function<String, Object> conversor;
+
+        Campo(String propriedade, Function<Processo, Object> extrator, Function<String, Object> conversor) {
+            this.propriedade = propriedade;
+            this.extrator = extrator;
+            this.conversor = conversor;
+        }
+
+        public String getPropriedade() {
+            return propriedade;
+        }
+
+        public static Campo fromPropriedade(String propriedade) {
+            if (propriedade == null) {
+                return ID;
+            }
+            return Arrays.stream(values())
+                    .filter(campo -> campo.propriedade.equalsIgnoreCase(propriedade))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidCursorException("Ordenação por cursor não suportada para o campo: " + propriedade));
+        }
+    }
+
+    public static ProcessoCursor inicio(String sortBy, String sortDirection) {
+        Sort.Direction direcao = sortDirection == null
+                ? Sort.Direction.ASC
+                : Sort.Direction.fromOptionalString(sortDirection)
+                        .orElseThrow(() -> new InvalidCursorException("Direção de ordenação não suportada: " + sortDirection));
+        return new ProcessoCursor(Campo.fromPropriedade(sortBy), direcao, null, null);
+    }
+
+    public static ProcessoCursor apos(Processo processo, Campo campo, Sort.Direction direcao) {
+        return new ProcessoCursor(campo, direcao, campo.extrator.apply(processo), processo.getId());
+    }
+
+    public static ProcessoCursor decode(String cursor) {
+        List<String> partes = CursorCodec.decode(cursor, 4);
+        try {
+            Campo campo = Campo.valueOf(partes.get(0));
+            Sort.Direction direcao = Sort.Direction.valueOf(partes.get(1));
+            return new ProcessoCursor(campo, direcao, campo.conversor.apply(partes.get(2)), UUID.fromString(partes.get(3)));
+        } catch (RuntimeException ex) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+    }
+
+    public boolean isInicio() {
+        return id == null;
+    }
+
+    public String encode() {
+        return CursorCodec.encode(List.of(campo.name(), direcao.name(), chave.toString(), id.toString()));
+    }
+}
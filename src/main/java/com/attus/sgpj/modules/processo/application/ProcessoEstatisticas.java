@@ -0,0 +1,155 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoEstatisticasDTO;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+// Contagens de processos por status e por mês de abertura e de ações por tipo, atualizadas a cada escrita em vez de
+// recalculadas a cada leitura. As variações só entram após o commit; o que escapar delas (rollback entre instâncias,
+// escritas fora da aplicação, variações concorrentes com a recarga) é corrigido pela reconciliação periódica.
+@Component
+public class ProcessoEstatisticas {
+
+    private volatile Contadores contadores = new Contadores();
+    private volatile Instant reconciliadoEm;
+
+    // Transições por origem e destino, pré-registradas para não buscar o contador no registry a cada transição
+    private final Map<StatusProcessoEnum, Map<StatusProcessoEnum, Counter>> transicoes = new EnumMap<>(StatusProcessoEnum.class);
+
+    public ProcessoEstatisticas(MeterRegistry meterRegistry) {
+        for (StatusProcessoEnum origem : StatusProcessoEnum.values()) {
+            Map<StatusProcessoEnum, Counter> porDestino = new EnumMap<>(StatusProcessoEnum.class);
+            for (StatusProcessoEnum destino : StatusProcessoEnum.values()) {
+                porDestino.put(destino, Counter.builder("sgpj.processo.transicoes")
+                        .tag("origem", origem.name())
+                        .tag("destino", destino.name())
+                        .register(meterRegistry));
+            }
+            transicoes.put(origem, porDestino);
+            Gauge.builder("sgpj.processos", this, estatisticas -> estatisticas.contadores.porStatus.get(origem).sum())
+                    .tag("status", origem.name())
+                    .register(meterRegistry);
+        }
+    }
+
+    public void processoCriado(LocalDate dataAbertura) {
+        aposCommit(atual -> {
+            atual.porStatus.get(StatusProcessoEnum.ATIVO).increment();
+            atual.porMes(dataAbertura).increment();
+        });
+    }
+
+    public void dataAberturaAlterada(LocalDate anterior, LocalDate atual) {
+        if (YearMonth.from(anterior).equals(YearMonth.from(atual))) {
+            return;
+        }
+        aposCommit(contadores -> {
+            contadores.porMes(anterior).decrement();
+            contadores.porMes(atual).increment();
+        });
+    }
+
+    public void statusAlterado(StatusProcessoEnum anterior, StatusProcessoEnum atual, long quantidade) {
+        if (anterior == atual || quantidade == 0) {
+            return;
+        }
+        aposCommit(contadores -> {
+            contadores.porStatus.get(anterior).add(-quantidade);
+            contadores.porStatus.get(atual).add(quantidade);
+            transicoes.get(anterior).get(atual).increment(quantidade);
+        });
+    }
+
+    public void acoesAlteradas(TipoAcaoEnum tipo, long variacao) {
+        if (tipo == null || variacao == 0) {
+            return;
+        }
+        aposCommit(contadores -> contadores.acoesPorTipo.get(tipo).add(variacao));
+    }
+
+    // Troca todos os contadores de uma vez pelos valores lidos do banco
+    public void recarregar(Map<StatusProcessoEnum, Long> porStatus,
+                           Map<YearMonth, Long> porMesAbertura,
+                           Map<TipoAcaoEnum, Long> acoesPorTipo) {
+        Contadores novos = new Contadores();
+        porStatus.forEach((status, quantidade) -> novos.porStatus.get(status).add(quantidade));
+        porMesAbertura.forEach((mes, quantidade) -> novos.porMesAbertura.computeIfAbsent(mes, m -> new LongAdder()).add(quantidade));
+        acoesPorTipo.forEach((tipo, quantidade) -> novos.acoesPorTipo.get(tipo).add(quantidade));
+        contadores = novos;
+        reconciliadoEm = Instant.now();
+    }
+
+    public boolean isPronto() {
+        return reconciliadoEm != null;
+    }
+
+    public ProcessoEstatisticasDTO snapshot() {
+        Contadores atual = contadores;
+        Map<StatusProcessoEnum, Long> porStatus = new EnumMap<>(StatusProcessoEnum.class);
+        atual.porStatus.forEach((status, quantidade) -> porStatus.put(status, quantidade.sum()));
+        Map<YearMonth, Long> porMesAbertura = new TreeMap<>();
+        atual.porMesAbertura.forEach((mes, quantidade) -> {
+            long soma = quantidade.sum();
+            if (soma != 0) {
+                porMesAbertura.put(mes, soma);
+            }
+        });
+        Map<TipoAcaoEnum, Long> acoesPorTipo = new EnumMap<>(TipoAcaoEnum.class);
+        atual.acoesPorTipo.forEach((tipo, quantidade) -> acoesPorTipo.put(tipo, quantidade.sum()));
+
+        long total = porStatus.values().stream().mapToLong(Long::longValue).sum();
+        return new ProcessoEstatisticasDTO(total, Collections.unmodifiableMap(porStatus),
+                Collections.unmodifiableMap(porMesAbertura), Collections.unmodifiableMap(acoesPorTipo), reconciliadoEm);
+    }
+
+    // Fora de transação (ou sem sincronização) a variação é aplicada na hora
+    private void aposCommit(Consumer<Contadores> variacao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            variacao.accept(contadores);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                variacao.accept(contadores);
+            }
+        });
+    }
+
+    private static final class Contadores {
+        private final Map<StatusProcessoEnum, LongAdder> porStatus = new EnumMap<>(StatusProcessoEnum.class);
+        private final Map<YearMonth, LongAdder> porMesAbertura = new ConcurrentHashMap<>();
+        private final Map<TipoAcaoEnum, LongAdder> acoesPorTipo = new EnumMap<>(TipoAcaoEnum.class);
+
+        // Os mapas por enum são preenchidos aqui e não mudam depois, então podem ser lidos sem sincronização
+        private Contadores() {
+            for (StatusProcessoEnum status : StatusProcessoEnum.values()) {
+                porStatus.put(status, new LongAdder());
+            }
+            for (TipoAcaoEnum tipo : TipoAcaoEnum.values()) {
+                acoesPorTipo.put(tipo, new LongAdder());
+            }
+        }
+
+        private LongAdder porMes(LocalDate data) {
+            return porMesAbertura.computeIfAbsent(YearMonth.from(data), mes -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoEstatisticasDTO;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+@Service
+@Timed(value = "sgpj.servico", histogram = true)
+public class ProcessoEstatisticasService {
+
+    private final ProcessoRepository processoRepository;
+    private final AcaoRepository acaoRepository;
+    private final ProcessoEstatisticas estatisticas;
+    private final TransactionTemplate leituraConsistente;
+
+    public ProcessoEstatisticasService(ProcessoRepository processoRepository, AcaoRepository acaoRepository,
+                                       ProcessoEstatisticas estatisticas, PlatformTransactionManager transactionManager) {
+        this.processoRepository = processoRepository;
+        this.acaoRepository = acaoRepository;
+        this.estatisticas = estatisticas;
+        // As três agregações leem o mesmo snapshot (em READ COMMITTED cada uma veria os commits feitos entre elas).
+        // Programática, e não @Transactional: reconciliar também é chamado de dentro da classe, sem passar pelo proxy.
+        this.leituraConsistente = new TransactionTemplate(transactionManager);
+        this.leituraConsistente.setReadOnly(true);
+        this.leituraConsistente.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    // Lido da memória, sem abrir transação; só vai ao banco se a primeira reconciliação ainda não terminou
+    public ProcessoEstatisticasDTO findEstatisticas() {
+        if (!estatisticas.isPronto()) {
+            reconciliar();
+        }
+        return estatisticas.snapshot();
+    }
+
+    // Recalcula tudo com três agregações (status e mês sobre processo, tipo sobre acao) e substitui os contadores
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${sgpj.estatisticas.reconciliacao:10m}", initialDelayString = "${sgpj.estatisticas.reconciliacao:10m}")
+    public void reconciliar() {
+        leituraConsistente.executeWithoutResult(status -> {
+            Map<StatusProcessoEnum, Long> porStatus = new EnumMap<>(StatusProcessoEnum.class);
+            for (Object[] linha : processoRepository.countPorStatus()) {
+                porStatus.put((StatusProcessoEnum) linha[0], (Long) linha[1]);
+            }
+            Map<YearMonth, Long> porMesAbertura = new HashMap<>();
+            for (Object[] linha : processoRepository.countPorMesAbertura()) {
+                porMesAbertura.put(YearMonth.of(((Number) linha[0]).intValue(), ((Number) linha[1]).intValue()), (Long) linha[2]);
+            }
+            Map<TipoAcaoEnum, Long> acoesPorTipo = new EnumMap<>(TipoAcaoEnum.class);
+            for (Object[] linha : acaoRepository.countPorTipo()) {
+                acoesPorTipo.put((TipoAcaoEnum) linha[0], (Long) linha[1]);
+            }
+            estatisticas.recarregar(porStatus, porMesAbertura, acoesPorTipo);
+        });
+    }
+}
@@ -0,0 +1,90 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Service
+@Timed(value = "sgpj.servico", histogram = true)
+@AllArgsConstructor
+public class ProcessoExportService {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private final ProcessoRepository processoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    // Percorre os processos com um único cursor e escreve um JSON por linha. A cada lote as coleções são carregadas
+    // em duas consultas e o contexto de persistência é limpo, mantendo o uso de memória constante.
+    @Transactional(readOnly = true)
+    public long exportar(StatusProcessoEnum status, LocalDate dataInicial, LocalDate dataFinal, OutputStream outputStream) throws IOException {
+        ObjectWriter writer = objectMapper.writerFor(ProcessoResponseDTO.class)
+                .withRootValueSeparator("\n")
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+        long total = 0;
+        try (Stream<Processo> processos = abrirStream(status, dataInicial, dataFinal);
+             SequenceWriter sequenceWriter = writer.writeValues(outputStream)) {
+            List<Processo> lote = new ArrayList<>(TAMANHO_LOTE);
+            Iterator<Processo> iterator = processos.iterator();
+            while (iterator.hasNext()) {
+                lote.add(iterator.next());
+                if (lote.size() == TAMANHO_LOTE) {
+                    total += escreverLote(lote, sequenceWriter, outputStream);
+                }
+            }
+            total += escreverLote(lote, sequenceWriter, outputStream);
+        }
+        if (total > 0) {
+            outputStream.write('\n');
+        }
+        outputStream.flush();
+        return total;
+    }
+
+    private int escreverLote(List<Processo> lote, SequenceWriter sequenceWriter, OutputStream outputStream) throws IOException {
+        int quantidade = lote.size();
+        processoRepository.carregarColecoes(lote);
+        for (Processo processo : lote) {
+            sequenceWriter.write(ProcessoResponseDTO.fromDomain(processo));
+        }
+        sequenceWriter.flush();
+        outputStream.flush();
+
+        lote.clear();
+        entityManager.clear();
+        return quantidade;
+    }
+
+    private Stream<Processo> abrirStream(StatusProcessoEnum status, LocalDate dataInicial, LocalDate dataFinal) {
+        boolean filtrarPorData = dataInicial != null && dataFinal != null;
+        if (status != null && filtrarPorData) {
+            return processoRepository.streamByStatusProcessoAndDataAberturaBetween(status, dataInicial, dataFinal);
+        }
+        if (status != null) {
+            return processoRepository.streamByStatusProcesso(status);
+        }
+        if (filtrarPorData) {
+            return processoRepository.streamByDataAberturaBetween(dataInicial, dataFinal);
+        }
+        return processoRepository.streamAllBy();
+    }
+}
@@ -0,0 +1,279 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+import com.attus.sgpj.modules.pessoa.application.PessoaService;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO.ErroLinha;
+import com.attus.sgpj.shared.importacao.FalhaGravacao;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Slf4j
+@Service
+@Timed(value = "sgpj.servico", histogram = true)
+@AllArgsConstructor
+public class ProcessoImportacaoService {
+
+    static final int TAMANHO_LOTE = 500;
+    private static final int LIMITE_ERROS = 1000;
+
+    private final ProcessoRepository processoRepository;
+    private final PessoaService pessoaService;
+    private final ProcessoNumeroFilter numeroFilter;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final ProcessoEstatisticas estatisticas;
+
+    // Lê o NDJSON linha a linha e grava em lotes, cada um na sua transação, com inserts agrupados pelo JDBC batching.
+    // Linhas inválidas entram no relatório sem interromper o arquivo; lotes já gravados não são desfeitos.
+    public ProcessoImportacaoResultadoDTO importar(InputStream inputStream) throws IOException {
+        Relatorio relatorio = new Relatorio();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream, StandardCharsets.UTF_8));
+
+        List<Linha> lote = new ArrayList<>(TAMANHO_LOTE);
+        long numeroLinha = 0;
+        String conteudo;
+        while ((conteudo = reader.readLine()) != null) {
+            numeroLinha++;
+            if (conteudo.isBlank()) {
+                continue;
+            }
+            relatorio.totalLinhas++;
+            try {
+                lote.add(new Linha(numeroLinha, objectMapper.readValue(conteudo, ProcessoImportacaoDTO.class)));
+            } catch (JsonProcessingException e) {
+                relatorio.erro(numeroLinha, null, "JSON inválido: " + e.getOriginalMessage());
+            }
+            if (lote.size() == TAMANHO_LOTE) {
+                importarLote(lote, relatorio);
+                lote.clear();
+            }
+        }
+        importarLote(lote, relatorio);
+        return relatorio.toDTO();
+    }
+
+    private void importarLote(List<Linha> lote, Relatorio relatorio) {
+        List<Linha> validas = validar(lote, relatorio);
+        if (validas.isEmpty()) {
+            return;
+        }
+
+        ResultadoLote resultado;
+        try {
+            resultado = transactionTemplate.execute(status -> gravar(validas));
+        } catch (RuntimeException e) {
+            // Uma falha no flush derruba o lote inteiro; regrava linha a linha para isolar a(s) linha(s) culpada(s)
+            gravarLinhaALinha(validas, relatorio);
+            return;
+        }
+        relatorio.aplicar(resultado);
+    }
+
+    private void gravarLinhaALinha(List<Linha> linhas, Relatorio relatorio) {
+        for (Linha linha : linhas) {
+            try {
+                relatorio.aplicar(transactionTemplate.execute(status -> gravar(List.of(linha))));
+            } catch (RuntimeException e) {
+                // O flush do EntityManager lança a exceção do Hibernate, sem a tradução do Spring: FalhaGravacao
+                // classifica pela causa e o detalhe fica só no log
+                log.warn("Importação de processos: linha {} rejeitada pelo banco", linha.numero(), e);
+                relatorio.erro(linha.numero(), linha.dto().numero(), FalhaGravacao.mensagem(e));
+            }
+        }
+    }
+
+    // Três consultas por lote (números existentes, pessoas por id e por CPF/CNPJ) seguidas dos inserts em batch
+    private ResultadoLote gravar(List<Linha> linhas) {
+        ResultadoLote resultado = new ResultadoLote();
+
+        Set<String> existentes = new HashSet<>(processoRepository.findNumerosExistentes(
+                linhas.stream().map(linha -> linha.dto().numero()).toList()));
+        Map<UUID, Pessoa> pessoasPorId = pessoaService.findDomainsByIds(idsPessoas(linhas)).stream()
+                .collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+        Map<String, Pessoa> pessoasPorCpfCnpj = pessoaService.findDomainsByCpfCnpjs(cpfCnpjsPessoas(linhas)).stream()
+                .collect(Collectors.toMap(pessoa -> pessoa.getCpfCnpj().getValue(), Function.identity()));
+
+        for (Linha linha : linhas) {
+            ProcessoImportacaoDTO dto = linha.dto();
+            if (existentes.contains(dto.numero())) {
+                resultado.erros.add(new ErroLinha(linha.numero(), dto.numero(),
+                        String.format("Um processo com número '%s' já está cadastrado", dto.numero())));
+                continue;
+            }
+            try {
+                entityManager.persist(montar(dto, pessoasPorId, pessoasPorCpfCnpj));
+                numeroFilter.registrar(dto.numero());
+                // Registradas após o commit: um lote desfeito não altera as estatísticas
+                estatisticas.processoCriado(dto.dataAbertura());
+                acoes(dto).forEach(acao -> estatisticas.acoesAlteradas(acao.tipo(), 1));
+                resultado.importados++;
+            } catch (PessoaNotFoundException e) {
+                resultado.erros.add(new ErroLinha(linha.numero(), dto.numero(), e.getMessage()));
+            }
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+        return resultado;
+    }
+
+    private Processo montar(ProcessoImportacaoDTO dto, Map<UUID, Pessoa> pessoasPorId, Map<String, Pessoa> pessoasPorCpfCnpj) {
+        Processo processo = Processo.create(dto.numero(), dto.descricao(), dto.dataAbertura());
+        for (ParteEnvolvidaRequestDTO parte : partes(dto)) {
+            Pessoa pessoa = parte.pessoaId() != null
+                    ? pessoasPorId.get(parte.pessoaId())
+                    : pessoasPorCpfCnpj.get(CpfCnpj.chave(parte.cpfCnpj()).getValue());
+            if (pessoa == null) {
+                throw new PessoaNotFoundException(parte.pessoaId() != null
+                        ? "Pessoa não encontrada com ID: " + parte.pessoaId()
+                        : "Pessoa não encontrada com CPF/CNPJ: " + parte.cpfCnpj());
+            }
+            processo.addParte(ParteEnvolvida.create(pessoa, processo, parte.tipo()));
+        }
+        for (AcaoRequestDTO acao : acoes(dto)) {
+            processo.adicionarAcao(Acao.create(acao.tipo(), acao.descricao(), processo));
+        }
+        return processo;
+    }
+
+    private List<Linha> validar(List<Linha> lote, Relatorio relatorio) {
+        List<Linha> validas = new ArrayList<>(lote.size());
+        Map<String, Long> numerosNoLote = new HashMap<>();
+        for (Linha linha : lote) {
+            ProcessoImportacaoDTO dto = linha.dto();
+            String mensagem = validar(dto);
+            if (mensagem == null && numerosNoLote.containsKey(dto.numero())) {
+                mensagem = String.format("Número '%s' repetido no arquivo (linha %d)", dto.numero(), numerosNoLote.get(dto.numero()));
+            }
+            if (mensagem != null) {
+                relatorio.erro(linha.numero(), dto.numero(), mensagem);
+                continue;
+            }
+            numerosNoLote.put(dto.numero(), linha.numero());
+            validas.add(linha);
+        }
+        return validas;
+    }
+
+    private String validar(ProcessoImportacaoDTO dto) {
+        if (dto.numero() == null || dto.numero().isBlank()) {
+            return "Número é obrigatório";
+        }
+        if (dto.descricao() == null || dto.descricao().isBlank()) {
+            return "Descrição é obrigatória";
+        }
+        if (dto.dataAbertura() == null) {
+            return "Data de abertura é obrigatória";
+        }
+        for (ParteEnvolvidaRequestDTO parte : partes(dto)) {
+            if (parte == null || parte.tipo() == null) {
+                return "Tipo da parte envolvida é obrigatório";
+            }
+            if ((parte.pessoaId() == null) == (parte.cpfCnpj() == null)) {
+                return "Parte envolvida deve informar pessoaId ou cpfCnpj (apenas um)";
+            }
+            if (parte.cpfCnpj() != null) {
+                try {
+                    CpfCnpj.chave(parte.cpfCnpj());
+                } catch (InvalidFieldException e) {
+                    return e.getMessage();
+                }
+            }
+        }
+        for (AcaoRequestDTO acao : acoes(dto)) {
+            if (acao == null || acao.tipo() == null) {
+                return "Tipo Acao é obrigatório";
+            }
+        }
+        return null;
+    }
+
+    private static Set<UUID> idsPessoas(List<Linha> linhas) {
+        return linhas.stream()
+                .flatMap(linha -> partes(linha.dto()).stream())
+                .map(ParteEnvolvidaRequestDTO::pessoaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private static Set<String> cpfCnpjsPessoas(List<Linha> linhas) {
+        return linhas.stream()
+                .flatMap(linha -> partes(linha.dto()).stream())
+                .map(ParteEnvolvidaRequestDTO::cpfCnpj)
+                .filter(Objects::nonNull)
+                .map(cpfCnpj -> CpfCnpj.chave(cpfCnpj).getValue())
+                .collect(Collectors.toSet());
+    }
+
+    private static List<ParteEnvolvidaRequestDTO> partes(ProcessoImportacaoDTO dto) {
+        return dto.partesEnvolvidas() == null ? List.of() : dto.partesEnvolvidas();
+    }
+
+    private static List<AcaoRequestDTO> acoes(ProcessoImportacaoDTO dto) {
+        return dto.acoes() == null ? List.of() : dto.acoes();
+    }
+
+    private record Linha(long numero, ProcessoImportacaoDTO dto) {}
+
+    private static class ResultadoLote {
+        private long importados;
+        private final List<ErroLinha> erros = new ArrayList<>();
+    }
+
+    private static class Relatorio {
+        private long totalLinhas;
+        private long importados;
+        private long totalErros;
+        private final List<ErroLinha> erros = new ArrayList<>();
+
+        private void erro(long linha, String numero, String mensagem) {
+            totalErros++;
+            if (erros.size() < LIMITE_ERROS) {
+                erros.add(new ErroLinha(linha, numero, mensagem));
+            }
+        }
+
+        private void aplicar(ResultadoLote resultado) {
+            importados += resultado.importados;
+            resultado.erros.forEach(erro -> erro(erro.linha(), erro.numero(), erro.mensagem()));
+        }
+
+        private ProcessoImportacaoResultadoDTO toDTO() {
+            erros.sort((a, b) -> Long.compare(a.linha(), b.linha()));
+            return new ProcessoImportacaoResultadoDTO(totalLinhas, importados, totalErros, erros);
+        }
+    }
+}
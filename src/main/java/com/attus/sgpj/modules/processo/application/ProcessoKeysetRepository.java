@@ -0,0 +1,19 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface ProcessoKeysetRepository {
+
+    // Busca até "limite" processos após a posição do cursor, sem OFFSET e sem count
+    List<Processo> findAfter(ProcessoCursor cursor,
+                             StatusProcessoEnum status,
+                             LocalDate dataInicial,
+                             LocalDate dataFinal,
+                             UUID pessoaId,
+                             int limite);
+}
@@ -0,0 +1,78 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+class ProcessoKeysetRepositoryImpl implements ProcessoKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<Processo> findAfter(ProcessoCursor cursor,
+                                    StatusProcessoEnum status,
+                                    LocalDate dataInicial,
+                                    LocalDate dataFinal,
+                                    UUID pessoaId,
+                                    int limite) {
+        String campo = "p." + cursor.campo().getPropriedade();
+        String operador = cursor.direcao().isAscending() ? ">" : "<";
+        String direcao = cursor.direcao().isAscending() ? "asc" : "desc";
+        boolean ordenadoPorId = cursor.campo() == ProcessoCursor.Campo.ID;
+
+        List<String> condicoes = new ArrayList<>();
+        if (status != null) {
+            condicoes.add("p.statusProcesso = :status");
+        }
+        if (dataInicial != null && dataFinal != null) {
+            condicoes.add("p.dataAbertura between :dataInicial and :dataFinal");
+        }
+        if (pessoaId != null) {
+            condicoes.add(ProcessoRepository.PARTE_DA_PESSOA);
+        }
+        if (!cursor.isInicio()) {
+            // Comparação de row value, atendida por um seek no índice (campo, id)
+            condicoes.add(ordenadoPorId
+                    ? "p.id " + operador + " :id"
+                    : "(" + campo + ", p.id) " + operador + " (:chave, :id)");
+        }
+
+        StringBuilder jpql = new StringBuilder("select p from Processo p");
+        if (!condicoes.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", condicoes));
+        }
+        jpql.append(" order by ");
+        if (!ordenadoPorId) {
+            jpql.append(campo).append(' ').append(direcao).append(", ");
+        }
+        jpql.append("p.id ").append(direcao);
+
+        TypedQuery<Processo> query = entityManager.createQuery(jpql.toString(), Processo.class)
+                .setMaxResults(limite);
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+        if (dataInicial != null && dataFinal != null) {
+            query.setParameter("dataInicial", dataInicial);
+            query.setParameter("dataFinal", dataFinal);
+        }
+        if (pessoaId != null) {
+            query.setParameter("pessoaId", pessoaId);
+        }
+        if (!cursor.isInicio()) {
+            query.setParameter("id", cursor.id());
+            if (!ordenadoPorId) {
+                query.setParameter("chave", cursor.chave());
+            }
+        }
+        return query.getResultList();
+    }
+}
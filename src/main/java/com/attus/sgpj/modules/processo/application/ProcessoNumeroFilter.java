@@ -0,0 +1,16 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.shared.filter.ChaveExistenteFilter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ProcessoNumeroFilter extends ChaveExistenteFilter {
+
+    public ProcessoNumeroFilter(MeterRegistry meterRegistry,
+                                @Value("${sgpj.filtro.capacidade-minima:100000}") long capacidadeMinima,
+                                @Value("${sgpj.filtro.taxa-falsos-positivos:0.01}") double taxaFalsosPositivos) {
+        super("processo.numero", capacidadeMinima, taxaFalsosPositivos, meterRegistry);
+    }
+}
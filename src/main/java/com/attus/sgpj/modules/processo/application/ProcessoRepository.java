@@ -2,35 +2,166 @@ package com.attus.sgpj.modules.processo.application;
 
 import com.attus.sgpj.modules.processo.domain.Processo;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProcessoRepository extends JpaRepository<Processo, UUID> {
+public interface ProcessoRepository extends JpaRepository<Processo, UUID>, ProcessoKeysetRepository {
     boolean existsByNumero(String numero);
 
-    Page<Processo> findByStatusProcesso(StatusProcessoEnum status, Pageable pageable);
+    @Query("select p.numero from Processo p where p.numero in :numeros")
+    List<String> findNumerosExistentes(@Param("numeros") Collection<String> numeros);
 
-    Page<Processo> findByDataAberturaBetween(LocalDate periodoInicio, LocalDate periodoFim, Pageable pageable);
+    @Query("select p.numero from Processo p")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<String> streamNumeros();
 
-    @Query("""
-            select p from Processo p
-            join p.parteEnvolvidas pe
-            where pe.pessoa.cpfCnpj.value = :cpfCnpj
-            """)
-    Page<Processo> findByParteEnvolvidaCpfCnpj(@Param("cpfCnpj") String cpfCnpj, Pageable pageable);
+    // Mesmos requisitos de Processo.podeArquivar, sobre os contadores de ComposicaoProcesso (alias p)
+    String PODE_ARQUIVAR = """
+            p.composicao.autores > 0 and p.composicao.reus > 0 and p.composicao.advogados > 0
+            and p.composicao.peticoes > 0 and p.composicao.audiencias > 0
+            and (p.composicao.sentencas > 0 or p.composicao.desistencias > 0)
+            """;
+
+    // Só a linha do processo: usada para responder If-None-Match sem montar o agregado
+    @Query("select new com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO(p.versao, p.statusProcesso) from Processo p where p.id = :id")
+    Optional<ProcessoVersaoDTO> findVersaoById(@Param("id") UUID id);
+
+    // Ordem dos índices processo(status_processo, data_abertura, id) e processo(data_abertura, id): sem ela o banco
+    // lê a tabela em sequência até o OFFSET pedido e as páginas não têm ordem estável
+    @Query("select p from Processo p where p.statusProcesso = :status order by p.dataAbertura, p.id")
+    Page<Processo> findByStatusProcesso(@Param("status") StatusProcessoEnum status, Pageable pageable);
+
+    @Query("select p from Processo p where p.dataAbertura between :periodoInicio and :periodoFim order by p.dataAbertura, p.id")
+    Page<Processo> findByDataAberturaBetween(@Param("periodoInicio") LocalDate periodoInicio,
+                                             @Param("periodoFim") LocalDate periodoFim,
+                                             Pageable pageable);
+
+    // Semi-join em vez de join: a pessoa com mais de um papel no mesmo processo não duplica a linha, e o count lê só
+    // o índice parte_envolvida(pessoa_id, processo_id). A ordem por id acompanha esse índice, então o banco para
+    // na página pedida mesmo para pessoas com milhares de processos.
+    String PARTE_DA_PESSOA = "exists (select 1 from ParteEnvolvida pe where pe.processo = p and pe.deleted = false and pe.pessoa.id = :pessoaId)";
+
+    @Query(value = "select p from Processo p where " + PARTE_DA_PESSOA + " order by p.id",
+            countQuery = "select count(p) from Processo p where " + PARTE_DA_PESSOA)
+    Page<Processo> findByPessoaId(@Param("pessoaId") UUID pessoaId, Pageable pageable);
+
+    // Inicializa partes (com pessoas) e ações dos processos já carregados com duas consultas, independente da quantidade
+    default void carregarColecoes(List<Processo> processos) {
+        if (processos.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = processos.stream().map(Processo::getId).toList();
+        findWithParteEnvolvidasByIdIn(ids);
+        findWithAcoesByIdIn(ids);
+    }
+
+    // Partes e ações são carregadas em consultas separadas para evitar o produto cartesiano entre as coleções
+    @EntityGraph(attributePaths = {"parteEnvolvidas", "parteEnvolvidas.pessoa"})
+    List<Processo> findWithParteEnvolvidasByIdIn(Collection<UUID> ids);
+
+    @EntityGraph(attributePaths = "acoes")
+    List<Processo> findWithAcoesByIdIn(Collection<UUID> ids);
+
+    /// BEGIN EXPORTACAO ///
+    // Cursores somente leitura para exportação: o driver busca as linhas em blocos em vez de materializar o resultado
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Processo> streamAllBy();
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Processo> streamByStatusProcesso(StatusProcessoEnum status);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Processo> streamByDataAberturaBetween(LocalDate periodoInicio, LocalDate periodoFim);
+
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Processo> streamByStatusProcessoAndDataAberturaBetween(StatusProcessoEnum status, LocalDate periodoInicio, LocalDate periodoFim);
+    /// END EXPORTACAO ///
+
+    /// BEGIN ESTATISTICAS ///
+    // Contagens completas, usadas só na reconciliação de ProcessoEstatisticas
+    @Query("select p.statusProcesso, count(p) from Processo p group by p.statusProcesso")
+    List<Object[]> countPorStatus();
 
     @Query("""
-            select p from Processo p
-            join p.parteEnvolvidas pe
-            where pe.pessoa.id = :pessoaId
+            select year(p.dataAbertura), month(p.dataAbertura), count(p) from Processo p
+            group by year(p.dataAbertura), month(p.dataAbertura)
             """)
-    Page<Processo> findByPessoaId(@Param("pessoaId") UUID pessoaId, Pageable pageable);
+    List<Object[]> countPorMesAbertura();
+    /// END ESTATISTICAS ///
+
+    /// BEGIN RESUMO ///
+    // Projeções que leem apenas a tabela processo, sem tocar em partes, pessoas ou ações
+    @Query(value = """
+            select new com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO(p.id, p.numero, p.statusProcesso, p.dataAbertura)
+            from Processo p
+            """,
+            countQuery = "select count(p) from Processo p")
+    Page<ProcessoResumoDTO> findResumos(Pageable pageable);
+
+    @Query(value = """
+            select new com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO(p.id, p.numero, p.statusProcesso, p.dataAbertura)
+            from Processo p
+            where p.statusProcesso = :status
+            order by p.dataAbertura, p.id
+            """,
+            countQuery = "select count(p) from Processo p where p.statusProcesso = :status")
+    Page<ProcessoResumoDTO> findResumosByStatusProcesso(@Param("status") StatusProcessoEnum status, Pageable pageable);
+
+    @Query(value = """
+            select new com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO(p.id, p.numero, p.statusProcesso, p.dataAbertura)
+            from Processo p
+            where p.dataAbertura between :periodoInicio and :periodoFim
+            order by p.dataAbertura, p.id
+            """,
+            countQuery = "select count(p) from Processo p where p.dataAbertura between :periodoInicio and :periodoFim")
+    Page<ProcessoResumoDTO> findResumosByDataAberturaBetween(@Param("periodoInicio") LocalDate periodoInicio,
+                                                             @Param("periodoFim") LocalDate periodoFim,
+                                                             Pageable pageable);
+
+    @Query(value = """
+            select new com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO(p.id, p.numero, p.statusProcesso, p.dataAbertura)
+            from Processo p""" + " where " + PARTE_DA_PESSOA + " order by p.id",
+            countQuery = "select count(p) from Processo p where " + PARTE_DA_PESSOA)
+    Page<ProcessoResumoDTO> findResumosByPessoaId(@Param("pessoaId") UUID pessoaId, Pageable pageable);
+
+    @Query(value = """
+            select new com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO(p.id, p.numero, p.statusProcesso, p.dataAbertura)
+            from Processo p
+            where p.statusProcesso <> com.attus.sgpj.modules.processo.domain.StatusProcessoEnum.ARQUIVADO""" + " and " + PODE_ARQUIVAR,
+            countQuery = "select count(p) from Processo p where p.statusProcesso <> com.attus.sgpj.modules.processo.domain.StatusProcessoEnum.ARQUIVADO and " + PODE_ARQUIVAR)
+    Page<ProcessoResumoDTO> findResumosProntosParaArquivar(Pageable pageable);
+    /// END RESUMO ///
 }
@@ -1,19 +1,44 @@
 package com.attus.sgpj.modules.processo.application;
 
 import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.application.AcaoCursor;
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
 import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import com.attus.sgpj.modules.acao.exception.AcaoNotFoundException;
+import com.attus.sgpj.modules.parteenvolvida.application.ParteEnvolvidaRepository;
 import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
 import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
+import com.attus.sgpj.modules.parteenvolvida.exception.ParteEnvolvidaNotFoundException;
 import com.attus.sgpj.modules.pessoa.application.PessoaService;
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
+import com.attus.sgpj.modules.processo.domain.ComposicaoProcesso;
 import com.attus.sgpj.modules.processo.domain.Processo;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
 import com.attus.sgpj.modules.processo.exception.ProcessoAlreadyExistsException;
 import com.attus.sgpj.modules.processo.exception.ProcessoCannotBeArchivedException;
+import com.attus.sgpj.modules.processo.exception.ProcessoInvalidStateTransitionException;
 import com.attus.sgpj.modules.processo.exception.ProcessoNotFoundException;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.pagination.CursorCodec;
+import com.attus.sgpj.shared.pagination.CursorPage;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import io.micrometer.core.annotation.Timed;
 import lombok.AllArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -22,169 +47,532 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
+@Timed(value = "sgpj.servico", histogram = true)
 @Transactional
 @AllArgsConstructor
 public class ProcessoService {
 
     private final ProcessoRepository processoRepository;
     private final PessoaService pessoaService;
+    private final ProcessoNumeroFilter numeroFilter;
+    private final AcaoRepository acaoRepository;
+    private final ParteEnvolvidaRepository parteEnvolvidaRepository;
+    private final ProcessoComposicaoRepository processoComposicaoRepository;
+    private final ProcessoEstatisticas estatisticas;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void carregarFiltroNumeros() {
+        try (Stream<String> numeros = processoRepository.streamNumeros()) {
+            numeroFilter.recarregar(processoRepository.count(), numeros);
+        }
+    }
 
     public ProcessoResponseDTO create(ProcessoRequestDTO requestDTO) {
-        if (processoRepository.existsByNumero(requestDTO.numero())) {
+        if (numeroFilter.existe(requestDTO.numero(), processoRepository::existsByNumero)) {
             throw new ProcessoAlreadyExistsException(String.format("Um processo com número '%s' já está cadastrado", requestDTO.numero()));
         }
 
         Processo processo = Processo.create(requestDTO.numero(), requestDTO.descricao(), requestDTO.dataAbertura());
         Processo savedProcesso = processoRepository.save(processo);
+        numeroFilter.registrar(savedProcesso.getNumero());
+        estatisticas.processoCriado(savedProcesso.getDataAbertura());
         return ProcessoResponseDTO.fromDomain(savedProcesso);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#id")
     public ProcessoResponseDTO update(UUID id, ProcessoRequestDTO requestDTO) {
+        return ProcessoResponseDTO.fromDomain(atualizar(id, requestDTO));
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#id")
+    public void updateSemAgregado(UUID id, ProcessoRequestDTO requestDTO) {
+        atualizar(id, requestDTO);
+    }
+
+    private Processo atualizar(UUID id, ProcessoRequestDTO requestDTO) {
         Processo processo = findProcessoById(id);
 
         if (!processo.getNumero().equals(requestDTO.numero()) &&
-                processoRepository.existsByNumero(requestDTO.numero())) {
+                numeroFilter.existe(requestDTO.numero(), processoRepository::existsByNumero)) {
             throw new ProcessoAlreadyExistsException(String.format("Um processo com número '%s' já está cadastrado", requestDTO.numero()));
         }
 
+        LocalDate dataAberturaAnterior = processo.getDataAbertura();
         processo.update(requestDTO.numero(), requestDTO.descricao(), requestDTO.dataAbertura());
         Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        estatisticas.dataAberturaAlterada(dataAberturaAnterior, updatedProcesso.getDataAbertura());
+        // O número antigo permanece no filtro (não há remoção) e passa a custar apenas um falso positivo
+        numeroFilter.registrar(updatedProcesso.getNumero());
+        return updatedProcesso;
     }
 
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROCESSO, key = "#id")
     public ProcessoResponseDTO findById(UUID id) {
         Processo processo = findProcessoById(id);
+        processoRepository.carregarColecoes(List.of(processo));
         return ProcessoResponseDTO.fromDomain(processo);
     }
 
+    @Transactional(readOnly = true)
+    public ProcessoVersaoDTO findVersaoById(UUID id) {
+        return processoRepository.findVersaoById(id)
+                .orElseThrow(() -> new ProcessoNotFoundException("Processo não encontrado com ID: " + id));
+    }
+
     @Transactional(readOnly = true)
     public Page<ProcessoResponseDTO> findPaged(int page, int size, String sortBy, String sortDirection) {
-        Pageable pageable;
-        if (sortBy == null || sortDirection == null) {
-            pageable = PageRequest.of(page, size);
-        } else {
-            Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
-            pageable = PageRequest.of(page, size, Sort.by(direction, sortBy));
-        }
-        return processoRepository.findAll(pageable).map(ProcessoResponseDTO::fromDomain);
+        Pageable pageable = toPageable(page, size, sortBy, sortDirection);
+        return toResponsePage(processoRepository.findAll(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<ProcessoResponseDTO> findByStatus(StatusProcessoEnum status, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Processo> processosPage = processoRepository.findByStatusProcesso(status, pageable);
-        return processosPage.map(ProcessoResponseDTO::fromDomain);
+        return toResponsePage(processosPage);
     }
 
     @Transactional(readOnly = true)
     public Page<ProcessoResponseDTO> findByDataAbertura(LocalDate dataInicial, LocalDate dataFinal, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Processo> processosPage = processoRepository.findByDataAberturaBetween(dataInicial, dataFinal, pageable);
-        return processosPage.map(ProcessoResponseDTO::fromDomain);
+        return toResponsePage(processosPage);
     }
 
     @Transactional(readOnly = true)
     public Page<ProcessoResponseDTO> findByCpfCnpjParteEnvolvida(String cpfCnpj, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<Processo> processosPage = processoRepository.findByParteEnvolvidaCpfCnpj(cpfCnpj, pageable);
-        return processosPage.map(ProcessoResponseDTO::fromDomain);
+        // CPF/CNPJ -> id da pessoa vem do cache; a listagem usa o mesmo caminho da busca por pessoa
+        return pessoaService.findIdByCpfCnpj(cpfCnpj)
+                .map(pessoaId -> toResponsePage(processoRepository.findByPessoaId(pessoaId, pageable)))
+                .orElseGet(() -> Page.empty(pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<ProcessoResponseDTO> findByPessoaId(UUID pessoaId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
         Page<Processo> processosPage = processoRepository.findByPessoaId(pessoaId, pageable);
-        return processosPage.map(ProcessoResponseDTO::fromDomain);
+        return toResponsePage(processosPage);
+    }
+
+    // Cursor
+    @Transactional(readOnly = true)
+    public CursorPage<ProcessoResponseDTO> findByCursor(String cursor, int size, String sortBy, String sortDirection) {
+        return findAfterCursor(cursor, size, sortBy, sortDirection, null, null, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProcessoResponseDTO> findByStatusCursor(StatusProcessoEnum status, String cursor, int size, String sortBy, String sortDirection) {
+        return findAfterCursor(cursor, size, sortBy, sortDirection, status, null, null, null);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProcessoResponseDTO> findByDataAberturaCursor(LocalDate dataInicial, LocalDate dataFinal, String cursor, int size, String sortBy, String sortDirection) {
+        return findAfterCursor(cursor, size, sortBy, sortDirection, null, dataInicial, dataFinal, null);
+    }
+
+    // Sem count: o custo de cada página não depende de quantos processos a pessoa tem
+    @Transactional(readOnly = true)
+    public CursorPage<ProcessoResponseDTO> findByPessoaIdCursor(UUID pessoaId, String cursor, int size, String sortBy, String sortDirection) {
+        return findAfterCursor(cursor, size, sortBy, sortDirection, null, null, null, pessoaId);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ProcessoResponseDTO> findByCpfCnpjParteEnvolvidaCursor(String cpfCnpj, String cursor, int size, String sortBy, String sortDirection) {
+        return pessoaService.findIdByCpfCnpj(cpfCnpj)
+                .map(pessoaId -> findAfterCursor(cursor, size, sortBy, sortDirection, null, null, null, pessoaId))
+                .orElseGet(() -> new CursorPage<>(List.of(), null, false));
+    }
+
+    // Resumo
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoPaged(int page, int size, String sortBy, String sortDirection) {
+        Pageable pageable = toPageable(page, size, sortBy, sortDirection);
+        return processoRepository.findResumos(pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoByStatus(StatusProcessoEnum status, int page, int size) {
+        return processoRepository.findResumosByStatusProcesso(status, PageRequest.of(page, size));
     }
 
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoByDataAbertura(LocalDate dataInicial, LocalDate dataFinal, int page, int size) {
+        return processoRepository.findResumosByDataAberturaBetween(dataInicial, dataFinal, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoByCpfCnpjParteEnvolvida(String cpfCnpj, int page, int size) {
+        Pageable pageable = PageRequest.of(page, size);
+        return pessoaService.findIdByCpfCnpj(cpfCnpj)
+                .map(pessoaId -> processoRepository.findResumosByPessoaId(pessoaId, pageable))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoByPessoaId(UUID pessoaId, int page, int size) {
+        return processoRepository.findResumosByPessoaId(pessoaId, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<ProcessoResumoDTO> findResumoProntosParaArquivar(int page, int size) {
+        return processoRepository.findResumosProntosParaArquivar(PageRequest.of(page, size));
+    }
+
+    // Sub-recursos: páginas lidas direto de acao/parte_envolvida por keyset, sem carregar o processo nem as
+    // demais partes/ações. A existência do processo só é conferida quando a primeira página vem vazia.
+    @Transactional(readOnly = true)
+    public CursorPage<AcaoResponseDTO> findAcoes(UUID processoId, TipoAcaoEnum tipo, LocalDate dataInicial,
+                                                 LocalDate dataFinal, String cursor, int size) {
+        AcaoCursor posicao = cursor == null || cursor.isBlank() ? null : AcaoCursor.decode(cursor);
+        List<AcaoResponseDTO> acoes = acaoRepository.findAfter(processoId, tipo, dataInicial, dataFinal, posicao, size + 1);
+        if (acoes.isEmpty() && posicao == null) {
+            validarProcessoExistente(processoId);
+        }
+        return paginar(acoes, size, acao -> new AcaoCursor(acao.dataRegistro(), acao.id()).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPage<ParteEnvolvidaResponseDTO> findPartesEnvolvidas(UUID processoId, TipoParteEnvolvidaEnum tipo,
+                                                                      String cursor, int size) {
+        UUID aposId = cursor == null || cursor.isBlank() ? null : decodeCursorId(cursor);
+        List<ParteEnvolvidaResponseDTO> partes = parteEnvolvidaRepository.findAfter(processoId, tipo, aposId, size + 1).stream()
+                .map(ParteEnvolvidaResponseDTO::fromDomain)
+                .toList();
+        if (partes.isEmpty() && aposId == null) {
+            validarProcessoExistente(processoId);
+        }
+        return paginar(partes, size, parte -> CursorCodec.encode(List.of(parte.id().toString())));
+    }
+
+    @Transactional(readOnly = true)
+    public AcaoResponseDTO findAcao(UUID processoId, UUID acaoId) {
+        return acaoRepository.findByIdAndProcessoId(acaoId, processoId)
+                .map(AcaoResponseDTO::fromDomain)
+                .orElseThrow(() -> {
+                    validarProcessoExistente(processoId);
+                    return new AcaoNotFoundException("Ação não encontrada com ID: " + acaoId);
+                });
+    }
+
+    @Transactional(readOnly = true)
+    public ParteEnvolvidaResponseDTO findParteEnvolvida(UUID processoId, UUID parteEnvolvidaId) {
+        return parteEnvolvidaRepository.findByIdAndProcessoId(parteEnvolvidaId, processoId)
+                .map(ParteEnvolvidaResponseDTO::fromDomain)
+                .orElseThrow(() -> {
+                    validarProcessoExistente(processoId);
+                    return new ParteEnvolvidaNotFoundException("Parte envolvida não encontrada com ID: " + parteEnvolvidaId);
+                });
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO ativar(UUID processoId) {
-        Processo processo = findProcessoById(processoId);
-        processo.ativar();
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        return ProcessoResponseDTO.fromDomain(transicionar(processoId, Processo::ativar));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO suspender(UUID processoId) {
-        Processo processo = findProcessoById(processoId);
-        processo.suspender();
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        return ProcessoResponseDTO.fromDomain(transicionar(processoId, Processo::suspender));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO arquivar(UUID processoId) {
-        Processo processo = findProcessoById(processoId);
+        return ProcessoResponseDTO.fromDomain(transicionar(processoId, this::arquivar));
+    }
 
-        if (!processo.podeArquivar()) {
-            throw new ProcessoCannotBeArchivedException("Processo não pode ser arquivado. Verifique se possui todas as partes obrigatórias (AUTOR, RÉU, ADVOGADO) e ações obrigatórias (PETIÇÃO, AUDIÊNCIA, SENTENÇA).");
-        }
+    // Variantes "SemAgregado": usadas no modo de resposta mínima (Prefer: return=minimal). Não montam o
+    // ProcessoResponseDTO, então partes, pessoas e ações não são carregadas depois da escrita.
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void ativarSemAgregado(UUID processoId) {
+        transicionar(processoId, Processo::ativar);
+    }
 
-        processo.arquivar();
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void suspenderSemAgregado(UUID processoId) {
+        transicionar(processoId, Processo::suspender);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void arquivarSemAgregado(UUID processoId) {
+        transicionar(processoId, this::arquivar);
     }
 
     // Parte Envolvida
+    // Inclusões e remoções de partes e ações gravam direto na tabela filha e somam a variação à composição do processo
+    // num UPDATE condicionado ao status: o processo não é carregado nem bloqueado para leitura, e o custo não depende de
+    // quantas partes ou ações ele já possui. As variantes que devolvem o processo só o carregam para montar a resposta.
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO addParteEnvolvida(UUID processoId, ParteEnvolvidaRequestDTO requestDTO) {
-        Processo processo = findProcessoById(processoId);
-        Pessoa pessoa = pessoaService.findDomainById(requestDTO.pessoaId());
-        ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, requestDTO.tipo());
+        incluirPartes(processoId, List.of(resolverPessoa(requestDTO)), List.of(requestDTO));
+        return carregarResposta(processoId);
+    }
 
-        processo.addParte(parte);
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public ParteEnvolvidaResponseDTO addParteEnvolvidaSemAgregado(UUID processoId, ParteEnvolvidaRequestDTO requestDTO) {
+        List<ParteEnvolvida> partes = incluirPartes(processoId, List.of(resolverPessoa(requestDTO)), List.of(requestDTO));
+        return ParteEnvolvidaResponseDTO.fromDomain(partes.get(0));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO addPartesEnvolvidas(UUID processoId, List<ParteEnvolvidaRequestDTO> requestDTOs) {
-        Processo processo = findProcessoById(processoId);
-
-        for (ParteEnvolvidaRequestDTO requestDTO : requestDTOs) {
-            Pessoa pessoa = pessoaService.findDomainById(requestDTO.pessoaId());
-            ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, requestDTO.tipo());
-            processo.addParte(parte);
-        }
+        addPartesEnvolvidasSemAgregado(processoId, requestDTOs);
+        return carregarResposta(processoId);
+    }
 
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void addPartesEnvolvidasSemAgregado(UUID processoId, List<ParteEnvolvidaRequestDTO> requestDTOs) {
+        incluirPartes(processoId, resolverPessoas(requestDTOs), requestDTOs);
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO removeParteEnvolvida(UUID processoId, UUID parteEnvolvidaId) {
-        Processo processo = findProcessoById(processoId);
-        processo.removeParteById(parteEnvolvidaId);
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        removeParteEnvolvidaSemAgregado(processoId, parteEnvolvidaId);
+        return carregarResposta(processoId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void removeParteEnvolvidaSemAgregado(UUID processoId, UUID parteEnvolvidaId) {
+        TipoParteEnvolvidaEnum tipo = parteEnvolvidaRepository.findTipoByIdAndProcessoId(parteEnvolvidaId, processoId)
+                .orElseThrow(() -> {
+                    findProcessoById(processoId);
+                    return new ParteEnvolvidaNotFoundException("Parte envolvida não encontrada com ID: " + parteEnvolvidaId);
+                });
+        if (parteEnvolvidaRepository.inativar(parteEnvolvidaId) == 0) {
+            throw new ParteEnvolvidaNotFoundException("Parte envolvida não encontrada com ID: " + parteEnvolvidaId);
+        }
+        alterarComposicao(processoId, Map.of(ComposicaoProcesso.campo(tipo), -1));
     }
 
     // Ação
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO addAcaoProcesso(UUID processoId, AcaoRequestDTO requestDTO) {
-        Processo processo = findProcessoById(processoId);
-        Acao acao = Acao.create(requestDTO.tipo(), requestDTO.descricao(), processo);
-        processo.adicionarAcao(acao);
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        incluirAcoes(processoId, List.of(requestDTO));
+        return carregarResposta(processoId);
+    }
+
+    // UPDATE da composição (que confere o status) e insert da ação, independente de quantas ações o processo já possui
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public AcaoResponseDTO addAcaoProcessoSemAgregado(UUID processoId, AcaoRequestDTO requestDTO) {
+        return AcaoResponseDTO.fromDomain(incluirAcoes(processoId, List.of(requestDTO)).get(0));
     }
 
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
     public ProcessoResponseDTO addAcoesProcesso(UUID processoId, List<AcaoRequestDTO> requestDTOs) {
+        addAcoesProcessoSemAgregado(processoId, requestDTOs);
+        return carregarResposta(processoId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void addAcoesProcessoSemAgregado(UUID processoId, List<AcaoRequestDTO> requestDTOs) {
+        incluirAcoes(processoId, requestDTOs);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public ProcessoResponseDTO removeAcaoProcesso(UUID processoId, UUID acaoId) {
+        removeAcaoProcessoSemAgregado(processoId, acaoId);
+        return carregarResposta(processoId);
+    }
+
+    @CacheEvict(cacheNames = CacheConfig.PROCESSO, key = "#processoId")
+    public void removeAcaoProcessoSemAgregado(UUID processoId, UUID acaoId) {
+        TipoAcaoEnum tipo = acaoRepository.findTipoByIdAndProcessoId(acaoId, processoId)
+                .orElseThrow(() -> {
+                    findProcessoById(processoId);
+                    return new AcaoNotFoundException("Ação não encontrada com ID: " + acaoId);
+                });
+        if (acaoRepository.inativar(acaoId) == 0) {
+            throw new AcaoNotFoundException("Ação não encontrada com ID: " + acaoId);
+        }
+        alterarComposicao(processoId, Map.of(ComposicaoProcesso.campo(tipo), -1));
+        estatisticas.acoesAlteradas(tipo, -1);
+    }
+
+    private Processo transicionar(UUID processoId, Consumer<Processo> transicao) {
         Processo processo = findProcessoById(processoId);
+        StatusProcessoEnum statusAnterior = processo.getStatusProcesso();
+        transicao.accept(processo);
+        Processo salvo = processoRepository.save(processo);
+        estatisticas.statusAlterado(statusAnterior, salvo.getStatusProcesso(), 1);
+        return salvo;
+    }
+
+    // podeArquivar lê a composição: nem esta checagem nem a do ProcessoState carregam partes e ações
+    private void arquivar(Processo processo) {
+        if (!processo.podeArquivar()) {
+            throw new ProcessoCannotBeArchivedException("Processo não pode ser arquivado. Verifique se possui todas as partes obrigatórias (AUTOR, RÉU, ADVOGADO) e ações obrigatórias (PETIÇÃO, AUDIÊNCIA, SENTENÇA).");
+        }
+        processo.arquivar();
+    }
+
+    // O cursor carrega campo e direção de ordenação; sortBy/sortDirection só são usados na primeira página
+    private CursorPage<ProcessoResponseDTO> findAfterCursor(String cursor, int size, String sortBy, String sortDirection,
+                                                            StatusProcessoEnum status, LocalDate dataInicial, LocalDate dataFinal,
+                                                            UUID pessoaId) {
+        ProcessoCursor posicao = cursor == null || cursor.isBlank()
+                ? ProcessoCursor.inicio(sortBy, sortDirection)
+                : ProcessoCursor.decode(cursor);
+
+        List<Processo> processos = processoRepository.findAfter(posicao, status, dataInicial, dataFinal, pessoaId, size + 1);
+        boolean hasNext = processos.size() > size;
+        List<Processo> conteudo = hasNext ? processos.subList(0, size) : processos;
 
+        String nextCursor = hasNext
+                ? ProcessoCursor.apos(conteudo.get(conteudo.size() - 1), posicao.campo(), posicao.direcao()).encode()
+                : null;
+
+        processoRepository.carregarColecoes(conteudo);
+        return new CursorPage<>(conteudo, nextCursor, hasNext).map(ProcessoResponseDTO::fromDomain);
+    }
+
+    private static <T> CursorPage<T> paginar(List<T> itens, int size, Function<T, String> cursorDe) {
+        boolean hasNext = itens.size() > size;
+        List<T> conteudo = hasNext ? itens.subList(0, size) : itens;
+        String nextCursor = hasNext ? cursorDe.apply(conteudo.get(conteudo.size() - 1)) : null;
+        return new CursorPage<>(conteudo, nextCursor, hasNext);
+    }
+
+    private static UUID decodeCursorId(String cursor) {
+        try {
+            return UUID.fromString(CursorCodec.decode(cursor, 1).get(0));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+    }
+
+    private void validarProcessoExistente(UUID id) {
+        if (!processoRepository.existsById(id)) {
+            throw new ProcessoNotFoundException("Processo não encontrado com ID: " + id);
+        }
+    }
+
+    private Pageable toPageable(int page, int size, String sortBy, String sortDirection) {
+        if (sortBy == null || sortDirection == null) {
+            return PageRequest.of(page, size);
+        }
+        Sort.Direction direction = Sort.Direction.fromString(sortDirection.toUpperCase());
+        return PageRequest.of(page, size, Sort.by(direction, sortBy));
+    }
+
+    private Page<ProcessoResponseDTO> toResponsePage(Page<Processo> processosPage) {
+        processoRepository.carregarColecoes(processosPage.getContent());
+        return processosPage.map(ProcessoResponseDTO::fromDomain);
+    }
+
+    // Resolve todas as pessoas do lote com no máximo duas consultas (ids e CPFs/CNPJs), na ordem da requisição,
+    // e reporta de uma vez todas as referências não encontradas
+    private List<Pessoa> resolverPessoas(List<ParteEnvolvidaRequestDTO> requestDTOs) {
+        requestDTOs.forEach(this::validarReferenciaPessoa);
+
+        Set<UUID> ids = requestDTOs.stream()
+                .map(ParteEnvolvidaRequestDTO::pessoaId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Set<String> cpfCnpjs = requestDTOs.stream()
+                .map(ParteEnvolvidaRequestDTO::cpfCnpj)
+                .filter(Objects::nonNull)
+                .map(cpfCnpj -> CpfCnpj.chave(cpfCnpj).getValue())
+                .collect(Collectors.toSet());
+
+        Map<UUID, Pessoa> pessoasPorId = pessoaService.findDomainsByIds(ids).stream()
+                .collect(Collectors.toMap(Pessoa::getId, Function.identity()));
+        Map<String, Pessoa> pessoasPorCpfCnpj = pessoaService.findDomainsByCpfCnpjs(cpfCnpjs).stream()
+                .collect(Collectors.toMap(pessoa -> pessoa.getCpfCnpj().getValue(), Function.identity()));
+
+        List<Pessoa> pessoas = new ArrayList<>(requestDTOs.size());
+        Set<String> naoEncontradas = new LinkedHashSet<>();
+        for (ParteEnvolvidaRequestDTO requestDTO : requestDTOs) {
+            Pessoa pessoa = requestDTO.pessoaId() != null
+                    ? pessoasPorId.get(requestDTO.pessoaId())
+                    : pessoasPorCpfCnpj.get(CpfCnpj.chave(requestDTO.cpfCnpj()).getValue());
+            if (pessoa == null) {
+                naoEncontradas.add(requestDTO.pessoaId() != null
+                        ? "ID " + requestDTO.pessoaId()
+                        : "CPF/CNPJ " + requestDTO.cpfCnpj());
+            }
+            pessoas.add(pessoa);
+        }
+        if (!naoEncontradas.isEmpty()) {
+            throw new PessoaNotFoundException("Pessoas não encontradas: " + String.join(", ", naoEncontradas));
+        }
+        return pessoas;
+    }
+
+    private Pessoa resolverPessoa(ParteEnvolvidaRequestDTO requestDTO) {
+        validarReferenciaPessoa(requestDTO);
+        return requestDTO.pessoaId() != null
+                ? pessoaService.findDomainById(requestDTO.pessoaId())
+                : pessoaService.findDomainByCpfCnpj(requestDTO.cpfCnpj());
+    }
+
+    private void validarReferenciaPessoa(ParteEnvolvidaRequestDTO requestDTO) {
+        if ((requestDTO.pessoaId() == null) == (requestDTO.cpfCnpj() == null)) {
+            throw new InvalidFieldException("Parte envolvida deve informar pessoaId ou cpfCnpj (apenas um).");
+        }
+    }
+
+    private List<ParteEnvolvida> incluirPartes(UUID processoId, List<Pessoa> pessoas, List<ParteEnvolvidaRequestDTO> requestDTOs) {
+        Map<String, Integer> variacoes = new HashMap<>();
+        requestDTOs.stream()
+                .map(ParteEnvolvidaRequestDTO::tipo)
+                .filter(Objects::nonNull) // rejeitado pela validação da entidade no flush
+                .forEach(tipo -> variacoes.merge(ComposicaoProcesso.campo(tipo), 1, Integer::sum));
+        alterarComposicao(processoId, variacoes);
+
+        Processo processo = processoRepository.getReferenceById(processoId);
+        List<ParteEnvolvida> partes = new ArrayList<>(requestDTOs.size());
+        for (int i = 0; i < requestDTOs.size(); i++) {
+            partes.add(ParteEnvolvida.create(pessoas.get(i), processo, requestDTOs.get(i).tipo()));
+        }
+        return parteEnvolvidaRepository.saveAll(partes);
+    }
+
+    private List<Acao> incluirAcoes(UUID processoId, List<AcaoRequestDTO> requestDTOs) {
+        Map<String, Integer> variacoes = new HashMap<>();
+        requestDTOs.stream()
+                .map(AcaoRequestDTO::tipo)
+                .filter(Objects::nonNull) // rejeitado pela validação da entidade no flush
+                .forEach(tipo -> variacoes.merge(ComposicaoProcesso.campo(tipo), 1, Integer::sum));
+        alterarComposicao(processoId, variacoes);
+
+        Processo processo = processoRepository.getReferenceById(processoId);
+        List<Acao> acoes = new ArrayList<>(requestDTOs.size());
         for (AcaoRequestDTO requestDTO : requestDTOs) {
-            Acao acao = Acao.create(requestDTO.tipo(), requestDTO.descricao(), processo);
-            processo.adicionarAcao(acao);
+            acoes.add(Acao.create(requestDTO.tipo(), requestDTO.descricao(), processo));
+            estatisticas.acoesAlteradas(requestDTO.tipo(), 1);
         }
+        return acaoRepository.saveAll(acoes);
+    }
 
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+    // O UPDATE da composição é a consulta de status da alteração: o processo só é lido quando ela é recusada, para
+    // distinguir processo inexistente de status que não permite alteração (regra do ProcessoState)
+    private void alterarComposicao(UUID processoId, Map<String, Integer> variacoes) {
+        if (!processoComposicaoRepository.alterar(processoId, variacoes)) {
+            Processo processo = findProcessoById(processoId);
+            processo.validarAlteracao();
+            throw new ProcessoInvalidStateTransitionException("Não é possível alterar um processo com status " + processo.getStatusProcesso() + ".");
+        }
     }
 
-    public ProcessoResponseDTO removeAcaoProcesso(UUID processoId, UUID acaoId) {
+    private ProcessoResponseDTO carregarResposta(UUID processoId) {
         Processo processo = findProcessoById(processoId);
-        processo.removeAcaoById(acaoId);
-        Processo updatedProcesso = processoRepository.save(processo);
-        return ProcessoResponseDTO.fromDomain(updatedProcesso);
+        processoRepository.carregarColecoes(List.of(processo));
+        return ProcessoResponseDTO.fromDomain(processo);
     }
 
     private Processo findProcessoById(UUID id) {
@@ -0,0 +1,136 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.application.ProcessoTransicaoRepository.Filtro;
+import com.attus.sgpj.modules.processo.application.ProcessoTransicaoRepository.Situacao;
+import com.attus.sgpj.modules.processo.domain.ResultadoTransicaoEnum;
+import com.attus.sgpj.modules.processo.domain.TransicaoProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteRequestDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO.ResultadoProcesso;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import io.micrometer.core.annotation.Timed;
+import lombok.AllArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@Timed(value = "sgpj.servico", histogram = true)
+@AllArgsConstructor
+public class ProcessoTransicaoLoteService {
+
+    static final int TAMANHO_LOTE = 1000;
+
+    private final ProcessoTransicaoRepository transicaoRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final CacheManager cacheManager;
+    private final ProcessoEstatisticas estatisticas;
+
+    // Aplica ativar/suspender/arquivar a um conjunto de processos com as regras de ProcessoState, mas em SQL:
+    // por bloco, uma consulta de situação, o travamento dos elegíveis e um UPDATE, cada bloco na sua transação
+    public ProcessoTransicaoLoteResultadoDTO transicionar(ProcessoTransicaoLoteRequestDTO requestDTO) {
+        boolean temIds = requestDTO.ids() != null && !requestDTO.ids().isEmpty();
+        if (temIds == requestDTO.temFiltro()) {
+            throw new InvalidFieldException("Informe a lista de ids ou um filtro (status, dataInicial, dataFinal, pessoaId), não ambos.");
+        }
+        if (temIds && requestDTO.ids().stream().anyMatch(Objects::isNull)) {
+            throw new InvalidFieldException("A lista de ids não pode conter valores nulos.");
+        }
+
+        TransicaoProcessoEnum transicao = requestDTO.transicao();
+        List<ResultadoProcesso> resultados = new ArrayList<>();
+        if (temIds) {
+            List<UUID> ids = new ArrayList<>(new LinkedHashSet<>(requestDTO.ids()));
+            for (int inicio = 0; inicio < ids.size(); inicio += TAMANHO_LOTE) {
+                List<UUID> lote = ids.subList(inicio, Math.min(inicio + TAMANHO_LOTE, ids.size()));
+                resultados.addAll(transactionTemplate.execute(status -> transicionarLote(lote, transicao)));
+            }
+        } else {
+            Filtro filtro = new Filtro(requestDTO.status(), requestDTO.dataInicial(), requestDTO.dataFinal(), requestDTO.pessoaId());
+            UUID ultimo = null;
+            List<ResultadoProcesso> lote;
+            do {
+                UUID apos = ultimo;
+                lote = transactionTemplate.execute(status ->
+                        transicionarLote(transicaoRepository.findIds(filtro, apos, TAMANHO_LOTE), transicao));
+                resultados.addAll(lote);
+                ultimo = lote.isEmpty() ? null : lote.get(lote.size() - 1).id();
+            } while (lote.size() == TAMANHO_LOTE);
+        }
+
+        long aplicadas = resultados.stream().filter(r -> r.resultado() == ResultadoTransicaoEnum.APLICADA).count();
+        return new ProcessoTransicaoLoteResultadoDTO(resultados.size(), aplicadas, resultados.size() - aplicadas, resultados);
+    }
+
+    private List<ResultadoProcesso> transicionarLote(List<UUID> ids, TransicaoProcessoEnum transicao) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<UUID, Situacao> situacoes = transicaoRepository.findSituacoes(ids, transicao).stream()
+                .collect(Collectors.toMap(Situacao::id, Function.identity()));
+
+        Map<UUID, ResultadoProcesso> resultados = new LinkedHashMap<>();
+        List<UUID> elegiveis = new ArrayList<>();
+        for (UUID id : ids) {
+            Situacao situacao = situacoes.get(id);
+            ResultadoTransicaoEnum resultado;
+            if (situacao == null) {
+                resultado = ResultadoTransicaoEnum.NAO_ENCONTRADO;
+            } else if (!transicao.getOrigens().contains(situacao.status())) {
+                resultado = ResultadoTransicaoEnum.STATUS_INVALIDO;
+            } else if (!situacao.atendeRequisitos()) {
+                resultado = ResultadoTransicaoEnum.REQUISITOS_PENDENTES;
+            } else {
+                resultado = ResultadoTransicaoEnum.APLICADA;
+                elegiveis.add(id);
+            }
+            resultados.put(id, new ResultadoProcesso(id, resultado, situacao == null ? null : situacao.status()));
+        }
+        if (elegiveis.isEmpty()) {
+            return new ArrayList<>(resultados.values());
+        }
+
+        Set<UUID> aplicadas = new HashSet<>(transicaoRepository.aplicar(elegiveis, transicao));
+        if (aplicadas.size() != elegiveis.size()) {
+            // Outra transação alterou parte do bloco entre a leitura e o UPDATE (inclusive para o mesmo destino):
+            // os elegíveis que este UPDATE não alterou são reportados com o status atual
+            List<UUID> naoAplicados = elegiveis.stream().filter(id -> !aplicadas.contains(id)).toList();
+            Map<UUID, Situacao> atuais = new HashMap<>();
+            transicaoRepository.findStatus(naoAplicados).forEach(situacao -> atuais.put(situacao.id(), situacao));
+            for (UUID id : naoAplicados) {
+                Situacao atual = atuais.get(id);
+                resultados.put(id, atual == null
+                        ? new ResultadoProcesso(id, ResultadoTransicaoEnum.NAO_ENCONTRADO, null)
+                        : new ResultadoProcesso(id, ResultadoTransicaoEnum.STATUS_INVALIDO, atual.status()));
+            }
+        }
+
+        // Como o cache, as estatísticas só recebem as transições após o commit do bloco
+        resultados.values().stream()
+                .filter(resultado -> resultado.resultado() == ResultadoTransicaoEnum.APLICADA)
+                .collect(Collectors.groupingBy(ResultadoProcesso::statusAnterior, Collectors.counting()))
+                .forEach((statusAnterior, quantidade) -> estatisticas.statusAlterado(statusAnterior, transicao.getDestino(), quantidade));
+
+        // O cache é transacional: as remoções só valem após o commit do bloco
+        Cache cache = cacheManager.getCache(CacheConfig.PROCESSO);
+        if (cache != null) {
+            aplicadas.forEach(cache::evict);
+        }
+        return new ArrayList<>(resultados.values());
+    }
+}
@@ -0,0 +1,122 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.TransicaoProcessoEnum;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+// Consultas e updates set-based da transição de status em lote; os requisitos de arquivamento são lidos dos
+// contadores da composição do processo, sem tocar nas tabelas de partes e ações
+@Repository
+class ProcessoTransicaoRepository {
+
+    private static final String REQUISITOS_ARQUIVAMENTO = "(" + ProcessoRepository.PODE_ARQUIVAR + ")";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    record Filtro(StatusProcessoEnum status, LocalDate dataInicial, LocalDate dataFinal, UUID pessoaId) {}
+
+    record Situacao(UUID id, StatusProcessoEnum status, boolean atendeRequisitos) {}
+
+    // Próximo bloco de ids que atendem ao filtro, em ordem de id (keyset, sem OFFSET)
+    List<UUID> findIds(Filtro filtro, UUID apos, int limite) {
+        List<String> condicoes = new ArrayList<>();
+        if (filtro.status() != null) {
+            condicoes.add("p.statusProcesso = :status");
+        }
+        if (filtro.dataInicial() != null) {
+            condicoes.add("p.dataAbertura >= :dataInicial");
+        }
+        if (filtro.dataFinal() != null) {
+            condicoes.add("p.dataAbertura <= :dataFinal");
+        }
+        if (filtro.pessoaId() != null) {
+            condicoes.add("exists (select 1 from ParteEnvolvida pe where pe.processo = p and pe.deleted = false and pe.pessoa.id = :pessoaId)");
+        }
+        if (apos != null) {
+            condicoes.add("p.id > :apos");
+        }
+
+        StringBuilder jpql = new StringBuilder("select p.id from Processo p");
+        if (!condicoes.isEmpty()) {
+            jpql.append(" where ").append(String.join(" and ", condicoes));
+        }
+        jpql.append(" order by p.id");
+
+        TypedQuery<UUID> query = entityManager.createQuery(jpql.toString(), UUID.class).setMaxResults(limite);
+        if (filtro.status() != null) {
+            query.setParameter("status", filtro.status());
+        }
+        if (filtro.dataInicial() != null) {
+            query.setParameter("dataInicial", filtro.dataInicial());
+        }
+        if (filtro.dataFinal() != null) {
+            query.setParameter("dataFinal", filtro.dataFinal());
+        }
+        if (filtro.pessoaId() != null) {
+            query.setParameter("pessoaId", filtro.pessoaId());
+        }
+        if (apos != null) {
+            query.setParameter("apos", apos);
+        }
+        return query.getResultList();
+    }
+
+    // Status atual (e, ao arquivar, se atende aos requisitos) dos processos existentes do bloco, numa única consulta
+    List<Situacao> findSituacoes(Collection<UUID> ids, TransicaoProcessoEnum transicao) {
+        String atendeRequisitos = transicao.exigeRequisitosDeArquivamento()
+                ? "case when " + REQUISITOS_ARQUIVAMENTO + " then true else false end"
+                : "true";
+        TypedQuery<Object[]> query = entityManager.createQuery(
+                "select p.id, p.statusProcesso, " + atendeRequisitos + " from Processo p where p.id in :ids",
+                Object[].class);
+        query.setParameter("ids", ids);
+        return toSituacoes(query.getResultList());
+    }
+
+    // Trava (em ordem de id, para dois lotes sobrepostos não se bloquearem em ordens opostas) as linhas que ainda atendem
+    // às condições e atualiza só essas. Uma linha alterada por outra transação é relida após o commit dela e fica de fora,
+    // então os ids retornados são exatamente os que este UPDATE alterou.
+    List<UUID> aplicar(Collection<UUID> ids, TransicaoProcessoEnum transicao) {
+        String condicoes = "p.id in :ids and p.statusProcesso in :origens";
+        if (transicao.exigeRequisitosDeArquivamento()) {
+            condicoes += " and " + REQUISITOS_ARQUIVAMENTO;
+        }
+        List<UUID> travados = entityManager.createQuery("select p.id from Processo p where " + condicoes + " order by p.id", UUID.class)
+                .setParameter("ids", ids)
+                .setParameter("origens", transicao.getOrigens())
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        if (travados.isEmpty()) {
+            return travados;
+        }
+        entityManager.createQuery("update Processo p set p.statusProcesso = :destino, p.versao = p.versao + 1 where p.id in :ids")
+                .setParameter("destino", transicao.getDestino())
+                .setParameter("ids", travados)
+                .executeUpdate();
+        return travados;
+    }
+
+    List<Situacao> findStatus(Collection<UUID> ids) {
+        return toSituacoes(entityManager.createQuery(
+                        "select p.id, p.statusProcesso, true from Processo p where p.id in :ids", Object[].class)
+                .setParameter("ids", ids)
+                .getResultList());
+    }
+
+    private static List<Situacao> toSituacoes(List<Object[]> linhas) {
+        return linhas.stream()
+                .map(linha -> new Situacao((UUID) linha[0], (StatusProcessoEnum) linha[1], (Boolean) linha[2]))
+                .toList();
+    }
+}
@@ -0,0 +1,128 @@
+package com.attus.sgpj.modules.processo.domain;
+
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+// Quantidade de partes e ações ativas do processo por tipo, mantida a cada inclusão/remoção. Responde se o processo
+// pode ser arquivado sem carregar as coleções e deixa o critério consultável em SQL.
+@NoArgsConstructor
+@EqualsAndHashCode
+@Getter
+@Embeddable
+public class ComposicaoProcesso {
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_autor", nullable = false)
+    private int autores;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_reu", nullable = false)
+    private int reus;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_advogado", nullable = false)
+    private int advogados;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_peticao", nullable = false)
+    private int peticoes;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_audiencia", nullable = false)
+    private int audiencias;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_sentenca", nullable = false)
+    private int sentencas;
+
+    @ColumnDefault("0")
+    @Column(name = "qtd_desistencia", nullable = false)
+    private int desistencias;
+
+    public int quantidade(TipoParteEnvolvidaEnum tipo) {
+        return switch (tipo) {
+            case AUTOR -> autores;
+            case REU -> reus;
+            case ADVOGADO -> advogados;
+        };
+    }
+
+    public int quantidade(TipoAcaoEnum tipo) {
+        return switch (tipo) {
+            case PETICAO -> peticoes;
+            case AUDIENCIA -> audiencias;
+            case SENTENCA -> sentencas;
+            case DESISTENCIA -> desistencias;
+        };
+    }
+
+    // Nome do contador na entidade, para os UPDATEs que somam a variação direto no banco
+    public static String campo(TipoParteEnvolvidaEnum tipo) {
+        return switch (tipo) {
+            case AUTOR -> "autores";
+            case REU -> "reus";
+            case ADVOGADO -> "advogados";
+        };
+    }
+
+    public static String campo(TipoAcaoEnum tipo) {
+        return switch (tipo) {
+            case PETICAO -> "peticoes";
+            case AUDIENCIA -> "audiencias";
+            case SENTENCA -> "sentencas";
+            case DESISTENCIA -> "desistencias";
+        };
+    }
+
+    boolean podeArquivar() {
+        for (TipoParteEnvolvidaEnum tipo : Processo.PARTES_OBRIGATORIAS) {
+            if (quantidade(tipo) == 0) {
+                return false;
+            }
+        }
+        for (TipoAcaoEnum tipo : Processo.ACOES_OBRIGATORIAS) {
+            if (quantidade(tipo) == 0) {
+                return false;
+            }
+        }
+        for (TipoAcaoEnum tipo : Processo.ACOES_DE_ENCERRAMENTO) {
+            if (quantidade(tipo) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    void alterar(TipoParteEnvolvidaEnum tipo, int delta) {
+        if (tipo == null) {
+            return; // rejeitado pela validação da entidade no flush
+        }
+        switch (tipo) {
+            case AUTOR -> autores = ajustar(autores, delta);
+            case REU -> reus = ajustar(reus, delta);
+            case ADVOGADO -> advogados = ajustar(advogados, delta);
+        }
+    }
+
+    void alterar(TipoAcaoEnum tipo, int delta) {
+        if (tipo == null) {
+            return; // rejeitado pela validação da entidade no flush
+        }
+        switch (tipo) {
+            case PETICAO -> peticoes = ajustar(peticoes, delta);
+            case AUDIENCIA -> audiencias = ajustar(audiencias, delta);
+            case SENTENCA -> sentencas = ajustar(sentencas, delta);
+            case DESISTENCIA -> desistencias = ajustar(desistencias, delta);
+        }
+    }
+
+    private static int ajustar(int quantidade, int delta) {
+        return Math.max(0, quantidade + delta);
+    }
+}
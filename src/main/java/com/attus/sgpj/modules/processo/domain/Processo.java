@@ -12,10 +12,12 @@ import jakarta.annotation.PostConstruct;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
@@ -44,9 +46,18 @@ public class Processo {
     @NotNull
     private StatusProcessoEnum statusProcesso;
 
+    // Incrementada a cada alteração do processo, de suas partes/ações ou das pessoas envolvidas; exposta como ETag
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private long versao;
+
     @Transient
     private ProcessoState state;
 
+    @Embedded
+    private ComposicaoProcesso composicao = new ComposicaoProcesso();
+
     @OneToMany(mappedBy = "processo", cascade = CascadeType.ALL)
     private List<ParteEnvolvida> parteEnvolvidas = new ArrayList<>();
 
@@ -95,10 +106,17 @@ public class Processo {
         atualizarState();
     }
 
+    // Processos arquivados são imutáveis (dados, partes e ações): o arquivamento é definitivo e foi decidido sobre a
+    // composição daquele momento, que uma inclusão ou remoção posterior deixaria de refletir
+    public void validarAlteracao() {
+        this.state.validarAlteracao(this);
+    }
+
     /// END REGRAS DE NEGOCIO ///
 
 
     public void update(String numero, String descricao, LocalDate dataAbertura) {
+        validarAlteracao();
         if (numero != null && !numero.isBlank()) {
             this.numero = numero;
         }
@@ -112,51 +130,33 @@ public class Processo {
     }
 
     public void addParte(ParteEnvolvida parte) {
+        validarAlteracao();
         parte.setProcesso(this);
+        composicao.alterar(parte.getTipo(), 1);
         parteEnvolvidas.add(parte);
     }
 
-    public void removeParte(ParteEnvolvida parte) {
-        this.parteEnvolvidas.remove(parte);
-    }
-
-    public void removeParteById(UUID parteId) {
-        this.parteEnvolvidas.removeIf(p -> p.getId().equals(parteId));
-    }
-
     public void adicionarAcao(Acao acao) {
+        validarAlteracao();
         acao.setProcesso(this);
+        composicao.alterar(acao.getTipo(), 1);
         acoes.add(acao);
     }
 
-    public void removeAcao(Acao acao) {
-        this.acoes.remove(acao);
-    }
-
-    public void removeAcaoById(UUID acaoId) {
-        this.acoes.removeIf(a -> a.getId().equals(acaoId));
-    }
-
 
     ///  VALIDACOES ///
+    // Status em que dados, partes e ações podem ser alterados (ver validarAlteracao de cada ProcessoState)
+    public static final Set<StatusProcessoEnum> STATUS_ALTERAVEIS = Set.of(StatusProcessoEnum.ATIVO, StatusProcessoEnum.SUSPENSO);
+    // Requisitos para arquivar, avaliados sobre a composição do processo
+    public static final Set<TipoParteEnvolvidaEnum> PARTES_OBRIGATORIAS =
+            Set.of(TipoParteEnvolvidaEnum.AUTOR, TipoParteEnvolvidaEnum.REU, TipoParteEnvolvidaEnum.ADVOGADO);
+    public static final Set<TipoAcaoEnum> ACOES_OBRIGATORIAS = Set.of(TipoAcaoEnum.PETICAO, TipoAcaoEnum.AUDIENCIA);
+    // Basta uma delas
+    public static final Set<TipoAcaoEnum> ACOES_DE_ENCERRAMENTO = Set.of(TipoAcaoEnum.SENTENCA, TipoAcaoEnum.DESISTENCIA);
+
+    // Lê os contadores da composição: não carrega partes nem ações
     public boolean podeArquivar() {
-        return temPartesObrigatorias(this.parteEnvolvidas)
-                && temAcoesObrigatorias(this.acoes);
-    }
-
-    private boolean temPartesObrigatorias(List<ParteEnvolvida> partes) {
-        boolean temAutor = partes.stream().anyMatch(p -> p.getTipo() == TipoParteEnvolvidaEnum.AUTOR);
-        boolean temReu = partes.stream().anyMatch(p -> p.getTipo() == TipoParteEnvolvidaEnum.REU);
-        boolean temAdvogado = partes.stream().anyMatch(p -> p.getTipo() == TipoParteEnvolvidaEnum.ADVOGADO);
-        return temAutor && temReu && temAdvogado;
-    }
-
-    private boolean temAcoesObrigatorias(List<Acao> acoes) {
-        boolean temPeticao = acoes.stream().anyMatch(a -> a.getTipo() == TipoAcaoEnum.PETICAO);
-        boolean temAudiencia = acoes.stream().anyMatch(a -> a.getTipo() == TipoAcaoEnum.AUDIENCIA);
-        boolean temSentenca = acoes.stream().anyMatch(a -> a.getTipo() == TipoAcaoEnum.SENTENCA);
-        boolean temDesistencia = acoes.stream().anyMatch(a -> a.getTipo() == TipoAcaoEnum.DESISTENCIA);
-        return temPeticao && temAudiencia && (temSentenca || temDesistencia) ;
+        return composicao.podeArquivar();
     }
 }
 
@@ -0,0 +1,10 @@
+package com.attus.sgpj.modules.processo.domain;
+
+public enum ResultadoTransicaoEnum {
+    APLICADA,
+    NAO_ENCONTRADO,
+    // O status atual não admite a transição (ex.: ativar um processo já ativo ou arquivado)
+    STATUS_INVALIDO,
+    // Faltam partes ou ações obrigatórias para arquivar
+    REQUISITOS_PENDENTES
+}
@@ -0,0 +1,32 @@
+package com.attus.sgpj.modules.processo.domain;
+
+import java.util.Set;
+
+// Tabela das transições de ProcessoAberto/ProcessoSuspenso/ProcessoArquivado, para aplicação em lote via SQL
+public enum TransicaoProcessoEnum {
+    ATIVAR(StatusProcessoEnum.ATIVO, Set.of(StatusProcessoEnum.SUSPENSO), false),
+    SUSPENDER(StatusProcessoEnum.SUSPENSO, Set.of(StatusProcessoEnum.ATIVO), false),
+    ARQUIVAR(StatusProcessoEnum.ARQUIVADO, Set.of(StatusProcessoEnum.ATIVO, StatusProcessoEnum.SUSPENSO), true);
+
+    private final StatusProcessoEnum destino;
+    private final Set<StatusProcessoEnum> origens;
+    private final boolean exigeRequisitosDeArquivamento;
+
+    TransicaoProcessoEnum(StatusProcessoEnum destino, Set<StatusProcessoEnum> origens, boolean exigeRequisitosDeArquivamento) {
+        this.destino = destino;
+        this.origens = origens;
+        this.exigeRequisitosDeArquivamento = exigeRequisitosDeArquivamento;
+    }
+
+    public StatusProcessoEnum getDestino() {
+        return destino;
+    }
+
+    public Set<StatusProcessoEnum> getOrigens() {
+        return origens;
+    }
+
+    public boolean exigeRequisitosDeArquivamento() {
+        return exigeRequisitosDeArquivamento;
+    }
+}
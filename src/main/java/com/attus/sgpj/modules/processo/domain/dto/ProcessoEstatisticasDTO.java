@@ -0,0 +1,18 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.util.Map;
+
+// Contadores mantidos em memória; reconciliadoEm indica a última conferência com o banco
+public record ProcessoEstatisticasDTO(
+        long total,
+        Map<StatusProcessoEnum, Long> porStatus,
+        Map<YearMonth, Long> porMesAbertura,
+        Map<TipoAcaoEnum, Long> acoesPorTipo,
+        Instant reconciliadoEm
+) {
+}
@@ -0,0 +1,16 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Uma linha do arquivo NDJSON de importação: o processo completo, com partes e ações
+public record ProcessoImportacaoDTO(
+        String numero,
+        String descricao,
+        LocalDate dataAbertura,
+        List<ParteEnvolvidaRequestDTO> partesEnvolvidas,
+        List<AcaoRequestDTO> acoes
+) {}
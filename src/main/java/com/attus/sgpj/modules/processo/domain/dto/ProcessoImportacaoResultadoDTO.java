@@ -0,0 +1,17 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import java.util.List;
+
+// "erros" traz no máximo as primeiras ocorrências; "totalErros" conta todas
+public record ProcessoImportacaoResultadoDTO(
+        long totalLinhas,
+        long importados,
+        long totalErros,
+        List<ErroLinha> erros
+) {
+    public record ErroLinha(
+            long linha,
+            String numero,
+            String mensagem
+    ) {}
+}
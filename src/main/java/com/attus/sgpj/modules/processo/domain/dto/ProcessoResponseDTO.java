@@ -4,6 +4,7 @@ import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
 import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
 import com.attus.sgpj.modules.processo.domain.Processo;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -16,7 +17,9 @@ public record ProcessoResponseDTO(
         LocalDate dataAbertura,
         StatusProcessoEnum statusProcesso,
         List<ParteEnvolvidaResponseDTO> partesEnvolvidas,
-        List<AcaoResponseDTO> acoes
+        List<AcaoResponseDTO> acoes,
+        // Vai no ETag, não no corpo: nas respostas de escrita o valor ainda não reflete o incremento do commit
+        @JsonIgnore long versao
 ) {
     public static ProcessoResponseDTO fromDomain(Processo processo) {
         return new ProcessoResponseDTO(
@@ -30,7 +33,8 @@ public record ProcessoResponseDTO(
                         .toList(),
                 processo.getAcoes().stream()
                         .map(AcaoResponseDTO::fromDomain)
-                        .toList()
+                        .toList(),
+                processo.getVersao()
         );
     }
 }
@@ -0,0 +1,14 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public record ProcessoResumoDTO(
+        UUID id,
+        String numero,
+        StatusProcessoEnum statusProcesso,
+        LocalDate dataAbertura
+) {
+}
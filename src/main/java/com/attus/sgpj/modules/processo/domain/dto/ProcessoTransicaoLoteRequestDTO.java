@@ -0,0 +1,24 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.TransicaoProcessoEnum;
+import jakarta.validation.constraints.NotNull;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+// Alvo: a lista de ids ou o filtro (status, intervalo de data de abertura e/ou pessoa), nunca os dois
+public record ProcessoTransicaoLoteRequestDTO(
+        @NotNull(message = "Transição é obrigatória")
+        TransicaoProcessoEnum transicao,
+        List<UUID> ids,
+        StatusProcessoEnum status,
+        LocalDate dataInicial,
+        LocalDate dataFinal,
+        UUID pessoaId
+) {
+    public boolean temFiltro() {
+        return status != null || dataInicial != null || dataFinal != null || pessoaId != null;
+    }
+}
@@ -0,0 +1,22 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.processo.domain.ResultadoTransicaoEnum;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+
+import java.util.List;
+import java.util.UUID;
+
+public record ProcessoTransicaoLoteResultadoDTO(
+        long total,
+        long aplicadas,
+        long rejeitadas,
+        List<ResultadoProcesso> resultados
+) {
+    // statusAnterior é nulo quando o processo não foi encontrado
+    public record ResultadoProcesso(
+            UUID id,
+            ResultadoTransicaoEnum resultado,
+            StatusProcessoEnum statusAnterior
+    ) {
+    }
+}
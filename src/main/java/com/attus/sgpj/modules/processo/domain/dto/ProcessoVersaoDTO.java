@@ -0,0 +1,10 @@
+package com.attus.sgpj.modules.processo.domain.dto;
+
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+
+// Projeção usada nos GETs condicionais: basta para decidir entre 304 e a resposta completa
+public record ProcessoVersaoDTO(
+        long versao,
+        StatusProcessoEnum statusProcesso
+) {
+}
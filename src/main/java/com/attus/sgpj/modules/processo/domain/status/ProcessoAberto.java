@@ -23,4 +23,9 @@ public class ProcessoAberto implements ProcessoState {
         }
         processo.setStatusProcesso(StatusProcessoEnum.ARQUIVADO);
     }
+
+    @Override
+    public void validarAlteracao(Processo processo) {
+        // Dados, partes e ações podem ser alterados
+    }
 }
@@ -20,4 +20,9 @@ public class ProcessoArquivado implements ProcessoState {
         throw new ProcessoInvalidStateTransitionException("Não é possível arquivar um processo já arquivado.");
 
     }
+
+    @Override
+    public void validarAlteracao(Processo processo) {
+        throw new ProcessoInvalidStateTransitionException("Não é possível alterar um processo arquivado.");
+    }
 }
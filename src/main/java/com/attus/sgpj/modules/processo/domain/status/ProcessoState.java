@@ -8,4 +8,6 @@ public interface ProcessoState {
     void suspender(Processo processo);
 
     void arquivar(Processo processo);
+
+    void validarAlteracao(Processo processo);
 }
@@ -23,4 +23,9 @@ public class ProcessoSuspenso implements ProcessoState {
         }
         processo.setStatusProcesso(StatusProcessoEnum.ARQUIVADO);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void validarAlteracao(Processo processo) {
+        // Dados, partes e ações podem ser alterados
+    }
+}
@@ -1,18 +1,28 @@
 package com.attus.sgpj.shared;
 
+import com.attus.sgpj.modules.acao.exception.AcaoNotFoundException;
+import com.attus.sgpj.modules.parteenvolvida.exception.ParteEnvolvidaNotFoundException;
 import com.attus.sgpj.modules.pessoa.exception.PessoaAlreadyExistsException;
 import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
 import com.attus.sgpj.modules.processo.exception.ProcessoAlreadyExistsException;
 import com.attus.sgpj.modules.processo.exception.ProcessoCannotBeArchivedException;
 import com.attus.sgpj.modules.processo.exception.ProcessoInvalidStateTransitionException;
 import com.attus.sgpj.modules.processo.exception.ProcessoNotFoundException;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
 import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.time.LocalDateTime;
+import java.util.stream.Collectors;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -81,6 +91,28 @@ public class GlobalExceptionHandler {
     }
     /// END PROCESSO ///
 
+    /// BEGIN PARTE ENVOLVIDA / ACAO ///
+    @ExceptionHandler(ParteEnvolvidaNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleParteEnvolvidaNotFound(ParteEnvolvidaNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "PARTE_ENVOLVIDA_NOT_FOUND",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+
+    @ExceptionHandler(AcaoNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleAcaoNotFound(AcaoNotFoundException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "ACAO_NOT_FOUND",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    /// END PARTE ENVOLVIDA / ACAO ///
+
     /// BEGIN VO ///
     @ExceptionHandler(InvalidFieldException.class)
     public ResponseEntity<ErrorResponse> handleInvalidField(InvalidFieldException ex) {
@@ -93,6 +125,64 @@ public class GlobalExceptionHandler {
     }
         /// END VO //
 
+    /// BEGIN PAGINACAO ///
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidCursor(InvalidCursorException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "CURSOR_INVALIDO",
+                ex.getMessage(),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+
+    // Restrições dos parâmetros de consulta (ex.: size e sortDirection das listagens por cursor)
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ErrorResponse> handleHandlerMethodValidation(HandlerMethodValidationException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "PARAMETRO_INVALIDO",
+                ex.getAllErrors().stream().map(MessageSourceResolvable::getDefaultMessage).collect(Collectors.joining("; ")),
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    /// END PAGINACAO ///
+
+    /// BEGIN PERSISTENCIA ///
+    // Última barreira para chaves duplicadas que escapam das verificações prévias (ex.: inserções concorrentes)
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponse> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "VIOLACAO_DE_INTEGRIDADE",
+                "Operação viola uma restrição de integridade, como um registro já cadastrado",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Escrita concorrente sobre a mesma versão do registro
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "CONFLITO_DE_VERSAO",
+                "O registro foi alterado por outra requisição; consulte-o novamente e repita a operação",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(error);
+    }
+
+    // Sem conexão dentro da espera configurada (pool ou semáforo de ThreadsVirtuaisConfig esgotados): sobrecarga passageira
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<ErrorResponse> handleCannotCreateTransaction(CannotCreateTransactionException ex) {
+        ErrorResponse error = new ErrorResponse(
+                "BANCO_INDISPONIVEL",
+                "Nenhuma conexão com o banco disponível no momento; tente novamente em instantes",
+                LocalDateTime.now()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header(HttpHeaders.RETRY_AFTER, "1").body(error);
+    }
+    /// END PERSISTENCIA ///
+
     // Error response records
     public record ErrorResponse(
             String code,
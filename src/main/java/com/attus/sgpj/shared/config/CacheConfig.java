@@ -0,0 +1,66 @@
+package com.attus.sgpj.shared.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROCESSO = "processo";
+    public static final String PESSOA_POR_CPF_CNPJ = "pessoaPorCpfCnpj";
+    public static final String PESSOA_ID_POR_CPF_CNPJ = "pessoaIdPorCpfCnpj";
+    public static final String CPF_CNPJ_NAO_ENCONTRADO = "cpfCnpjNaoEncontrado";
+
+    @Value("${sgpj.cache.processo.tamanho-maximo:10000}")
+    private long processoTamanhoMaximo;
+
+    @Value("${sgpj.cache.processo.ttl:10m}")
+    private Duration processoTtl;
+
+    @Value("${sgpj.cache.pessoa.tamanho-maximo:50000}")
+    private long pessoaTamanhoMaximo;
+
+    @Value("${sgpj.cache.pessoa.ttl:30m}")
+    private Duration pessoaTtl;
+
+    @Value("${sgpj.cache.pessoa.nao-encontrado-ttl:30s}")
+    private Duration pessoaNaoEncontradaTtl;
+
+    // Caches limitados (Caffeine, W-TinyLFU) com estatísticas expostas em /actuator/metrics/cache.*.
+    // O proxy transacional adia puts/evicts para após o commit, evitando recarregar um valor antigo antes da gravação.
+    @Bean
+    public CacheManager cacheManager() {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.registerCustomCache(PROCESSO, Caffeine.newBuilder()
+                .maximumSize(processoTamanhoMaximo)
+                .expireAfterWrite(processoTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PESSOA_POR_CPF_CNPJ, Caffeine.newBuilder()
+                .maximumSize(pessoaTamanhoMaximo)
+                .expireAfterWrite(pessoaTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PESSOA_ID_POR_CPF_CNPJ, Caffeine.newBuilder()
+                .maximumSize(pessoaTamanhoMaximo)
+                .expireAfterWrite(pessoaTtl)
+                .recordStats()
+                .build());
+        // Cache negativo com TTL curto: protege o banco de sondagens repetidas de CPFs/CNPJs inexistentes
+        cacheManager.registerCustomCache(CPF_CNPJ_NAO_ENCONTRADO, Caffeine.newBuilder()
+                .maximumSize(pessoaTamanhoMaximo)
+                .expireAfterWrite(pessoaNaoEncontradaTtl)
+                .recordStats()
+                .build());
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+}
@@ -0,0 +1,63 @@
+package com.attus.sgpj.shared.config;
+
+import com.attus.sgpj.shared.metricas.ContagemConsultasInspector;
+import com.attus.sgpj.shared.metricas.ContagemEntidadesInterceptor;
+import com.attus.sgpj.shared.metricas.MetricasRequisicaoFilter;
+import com.attus.sgpj.shared.metricas.OrcamentoConsultas;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.beans.BeanUtils;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.util.Map;
+
+@Configuration
+public class MetricasConfig {
+
+    @Bean
+    MetricasRequisicaoFilter metricasRequisicaoFilter(MeterRegistry meterRegistry, Environment environment) {
+        return new MetricasRequisicaoFilter(meterRegistry, orcamentoConsultas(environment));
+    }
+
+    // null com a verificação desligada: o filtro não guarda os comandos de cada requisição
+    private static OrcamentoConsultas orcamentoConsultas(Environment environment) {
+        if (!environment.getProperty("sgpj.consultas.orcamento.habilitado", Boolean.class, true)) {
+            return null;
+        }
+        Map<String, Integer> porUri = Binder.get(environment)
+                .bind("sgpj.consultas.orcamento.uri", Bindable.mapOf(String.class, Integer.class))
+                .orElse(Map.of());
+        return new OrcamentoConsultas(
+                environment.getProperty("sgpj.consultas.orcamento.padrao", Integer.class, 0),
+                porUri,
+                environment.getProperty("sgpj.consultas.orcamento.repeticoes-suspeitas", Integer.class, 0));
+    }
+
+    // Contagem de comandos e entidades por requisição (MetricasRequisicaoFilter)
+    @Bean
+    HibernatePropertiesCustomizer metricasRequisicaoHibernateCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                    new ContagemConsultasInspector(inspectorConfigurado(properties.get(AvailableSettings.STATEMENT_INSPECTOR))));
+            properties.put(AvailableSettings.INTERCEPTOR, new ContagemEntidadesInterceptor());
+        };
+    }
+
+    // spring.jpa.properties.hibernate.session_factory.statement_inspector aceita instância, classe ou nome da classe
+    private static StatementInspector inspectorConfigurado(Object configurado) {
+        if (configurado == null || configurado instanceof StatementInspector) {
+            return (StatementInspector) configurado;
+        }
+        Class<?> classe = configurado instanceof Class<?> c
+                ? c
+                : ClassUtils.resolveClassName(configurado.toString(), MetricasConfig.class.getClassLoader());
+        return (StatementInspector) BeanUtils.instantiateClass(classe);
+    }
+}
@@ -0,0 +1,10 @@
+package com.attus.sgpj.shared.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// Tarefas periódicas de manutenção (ex.: reconciliação das estatísticas de processo)
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
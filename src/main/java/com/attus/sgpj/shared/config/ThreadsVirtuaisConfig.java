@@ -0,0 +1,47 @@
+package com.attus.sgpj.shared.config;
+
+import com.attus.sgpj.shared.datasource.LimiteConexoesDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Ativado junto com spring.threads.virtual.enabled (Tomcat, @Async e agendador passam a usar threads virtuais).
+// O teto de concorrência deixa de ser o pool de threads e passa a ser o de conexões, protegido pelo semáforo.
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadsVirtuaisConfig {
+
+    // static: o post-processor precisa existir antes do DataSource ser criado
+    @Bean
+    static BeanPostProcessor limiteConexoesPostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof HikariDataSource hikari)) {
+                    return bean;
+                }
+                // Por padrão, uma permissão por conexão do pool e a mesma espera do Hikari
+                int limite = environment.getProperty("sgpj.datasource.limite-conexoes", Integer.class, hikari.getMaximumPoolSize());
+                Duration espera = environment.getProperty("sgpj.datasource.espera-conexao", Duration.class,
+                        Duration.ofMillis(hikari.getConnectionTimeout()));
+                return new LimiteConexoesDataSource(hikari, limite, espera);
+            }
+        };
+    }
+
+    @Bean
+    MeterBinder limiteConexoesMetricas(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof LimiteConexoesDataSource limiteConexoes) {
+                limiteConexoes.registrarMetricas(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,126 @@
+package com.attus.sgpj.shared.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Semáforo justo na frente do pool: com threads virtuais não há mais o teto de threads do Tomcat, e milhares de
+// requisições disputariam as conexões ao mesmo tempo. Aqui elas esperam em fila (FIFO) e desistem após "espera",
+// sem ocupar o pool; a permissão volta no close() da conexão.
+public class LimiteConexoesDataSource extends DelegatingDataSource {
+
+    private final Semaphore permissoes;
+    private final int limite;
+    private final long esperaNanos;
+
+    private volatile Timer tempoEspera;
+
+    public LimiteConexoesDataSource(DataSource dataSource, int limite, Duration espera) {
+        super(dataSource);
+        this.permissoes = new Semaphore(limite, true);
+        this.limite = limite;
+        this.esperaNanos = espera.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        adquirir();
+        return limitar(obter(() -> super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        adquirir();
+        return limitar(obter(() -> super.getConnection(username, password)));
+    }
+
+    public int getLimite() {
+        return limite;
+    }
+
+    public int getDisponiveis() {
+        return permissoes.availablePermits();
+    }
+
+    public int getAguardando() {
+        return permissoes.getQueueLength();
+    }
+
+    // Gauges de permissões livres e da fila, e o tempo de espera por permissão (o do pool fica em hikaricp.connections.acquire)
+    public void registrarMetricas(MeterRegistry registry) {
+        Gauge.builder("sgpj.datasource.limite.disponiveis", permissoes, Semaphore::availablePermits).register(registry);
+        Gauge.builder("sgpj.datasource.limite.aguardando", permissoes, Semaphore::getQueueLength).register(registry);
+        tempoEspera = Timer.builder("sgpj.datasource.limite.espera")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private void adquirir() throws SQLException {
+        Timer timer = tempoEspera;
+        long inicio = System.nanoTime();
+        try {
+            boolean adquirida = permissoes.tryAcquire(esperaNanos, TimeUnit.NANOSECONDS);
+            if (timer != null) {
+                timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            if (!adquirida) {
+                throw new SQLTransientConnectionException(String.format(
+                        "Nenhuma conexão disponível em %d ms (%d em uso, %d aguardando)",
+                        TimeUnit.NANOSECONDS.toMillis(esperaNanos), limite, permissoes.getQueueLength()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrompido aguardando conexão", e);
+        }
+    }
+
+    // Falha ao obter do pool devolve a permissão na hora
+    private Connection obter(Fonte fonte) throws SQLException {
+        try {
+            return fonte.obter();
+        } catch (SQLException | RuntimeException e) {
+            permissoes.release();
+            throw e;
+        }
+    }
+
+    // close() devolve a permissão uma única vez, mesmo se chamado de novo
+    private Connection limitar(Connection conexao) {
+        AtomicBoolean fechada = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, metodo, argumentos) -> {
+                    if ("close".equals(metodo.getName()) && metodo.getParameterCount() == 0) {
+                        try {
+                            conexao.close();
+                        } finally {
+                            if (fechada.compareAndSet(false, true)) {
+                                permissoes.release();
+                            }
+                        }
+                        return null;
+                    }
+                    try {
+                        return metodo.invoke(conexao, argumentos);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                });
+    }
+
+    @FunctionalInterface
+    private interface Fonte {
+        Connection obter() throws SQLException;
+    }
+}
@@ -0,0 +1,82 @@
+package com.attus.sgpj.shared.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Bloom filter thread-safe sobre strings: nunca gera falso negativo, apenas falsos positivos na taxa configurada
+public class BloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long quantidadeBits;
+    private final int quantidadeHashes;
+
+    public BloomFilter(long capacidade, double taxaFalsosPositivos) {
+        if (capacidade <= 0) {
+            throw new IllegalArgumentException("Capacidade deve ser positiva");
+        }
+        if (taxaFalsosPositivos <= 0 || taxaFalsosPositivos >= 1) {
+            throw new IllegalArgumentException("Taxa de falsos positivos deve estar entre 0 e 1");
+        }
+
+        long bitsCalculados = (long) Math.ceil(-capacidade * Math.log(taxaFalsosPositivos) / (Math.log(2) * Math.log(2)));
+        this.bits = new AtomicLongArray(Math.toIntExact((bitsCalculados + Long.SIZE - 1) / Long.SIZE));
+        this.quantidadeBits = (long) bits.length() * Long.SIZE;
+        this.quantidadeHashes = Math.max(1, (int) Math.round((double) quantidadeBits / capacidade * Math.log(2)));
+    }
+
+    public void put(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = indice(h1, h2, i);
+            long mascara = 1L << indice;
+            bits.getAndAccumulate((int) (indice >>> 6), mascara, (atual, m) -> atual | m);
+        }
+    }
+
+    public boolean mightContain(String valor) {
+        long hash = hash(valor);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= quantidadeHashes; i++) {
+            long indice = indice(h1, h2, i);
+            if ((bits.get((int) (indice >>> 6)) & (1L << indice)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getQuantidadeBits() {
+        return quantidadeBits;
+    }
+
+    public int getQuantidadeHashes() {
+        return quantidadeHashes;
+    }
+
+    // Double hashing (Kirsch-Mitzenmacher): k índices derivados de um único hash de 64 bits
+    private long indice(int h1, int h2, int i) {
+        int combinado = h1 + i * h2;
+        if (combinado < 0) {
+            combinado = ~combinado;
+        }
+        return combinado % quantidadeBits;
+    }
+
+    // FNV-1a sobre os bytes UTF-8 seguido do finalizador do MurmurHash3 para espalhar os bits
+    private static long hash(String valor) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
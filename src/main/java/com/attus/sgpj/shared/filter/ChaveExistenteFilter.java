@@ -0,0 +1,81 @@
+package com.attus.sgpj.shared.filter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+// Evita a consulta de unicidade no banco quando o filtro garante que a chave não existe.
+// Até a primeira carga (e durante recargas) toda verificação vai ao banco; o índice único continua sendo a garantia final.
+public class ChaveExistenteFilter {
+
+    private final long capacidadeMinima;
+    private final double taxaFalsosPositivos;
+
+    private final Counter ausentes;
+    private final Counter presentes;
+    private final Counter falsosPositivos;
+
+    private volatile BloomFilter filtro;
+    private volatile boolean pronto;
+
+    public ChaveExistenteFilter(String nome, long capacidadeMinima, double taxaFalsosPositivos, MeterRegistry meterRegistry) {
+        this.capacidadeMinima = capacidadeMinima;
+        this.taxaFalsosPositivos = taxaFalsosPositivos;
+        this.filtro = new BloomFilter(capacidadeMinima, taxaFalsosPositivos);
+
+        this.ausentes = consultas(nome, "ausente", meterRegistry);
+        this.presentes = consultas(nome, "presente", meterRegistry);
+        this.falsosPositivos = consultas(nome, "falso_positivo", meterRegistry);
+        Gauge.builder("sgpj.filtro.taxa.falsos.positivos", this, ChaveExistenteFilter::getTaxaFalsosPositivosObservada)
+                .tag("filtro", nome)
+                .register(meterRegistry);
+    }
+
+    public boolean existe(String chave, Predicate<String> verificacaoBanco) {
+        if (!pronto) {
+            return verificacaoBanco.test(chave);
+        }
+        if (!filtro.mightContain(chave)) {
+            ausentes.increment();
+            return false;
+        }
+
+        boolean existe = verificacaoBanco.test(chave);
+        (existe ? presentes : falsosPositivos).increment();
+        return existe;
+    }
+
+    // Chamado antes do commit da inserção/alteração; um rollback só gera um falso positivo futuro
+    public void registrar(String chave) {
+        filtro.put(chave);
+    }
+
+    // As chaves gravadas durante a recarga entram no filtro novo, que só passa a responder quando completo
+    public void recarregar(long quantidade, Stream<String> chaves) {
+        pronto = false;
+        BloomFilter novo = new BloomFilter(Math.max(capacidadeMinima, quantidade * 2), taxaFalsosPositivos);
+        filtro = novo;
+        chaves.forEach(novo::put);
+        pronto = true;
+    }
+
+    public boolean isPronto() {
+        return pronto;
+    }
+
+    // Falsos positivos sobre todas as chaves que de fato não existiam
+    public double getTaxaFalsosPositivosObservada() {
+        double negativos = ausentes.count() + falsosPositivos.count();
+        return negativos == 0 ? 0 : falsosPositivos.count() / negativos;
+    }
+
+    private static Counter consultas(String nome, String resultado, MeterRegistry meterRegistry) {
+        return Counter.builder("sgpj.filtro.consultas")
+                .tag("filtro", nome)
+                .tag("resultado", resultado)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,23 @@
+package com.attus.sgpj.shared.http;
+
+import org.springframework.http.ETag;
+
+// ETag forte derivado da coluna @Version: a versão só muda quando a representação muda
+public final class VersaoETag {
+
+    private VersaoETag() {
+    }
+
+    public static String de(long versao) {
+        return "\"" + versao + "\"";
+    }
+
+    // If-None-Match usa comparação fraca (RFC 9110, 13.1.2)
+    public static boolean corresponde(String ifNoneMatch, long versao) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) {
+            return false;
+        }
+        ETag atual = ETag.create(de(versao));
+        return ETag.parse(ifNoneMatch).stream().anyMatch(etag -> etag.isWildcard() || etag.compare(atual, false));
+    }
+}
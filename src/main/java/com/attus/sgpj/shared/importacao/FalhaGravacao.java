@@ -0,0 +1,36 @@
+package com.attus.sgpj.shared.importacao;
+
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.sql.SQLException;
+
+// Mensagem do relatório de importação para uma linha rejeitada pelo banco. A exceção pode vir do Hibernate (flush
+// dentro do TransactionTemplate, sem tradução do Spring) ou do JdbcTemplate; em ambos os casos a classe do SQLState
+// decide a mensagem, e o texto da exceção (SQL, valores, mensagem do driver) nunca vai para o cliente.
+public final class FalhaGravacao {
+
+    public static final String RESTRICAO = "Registro viola uma restrição de integridade (ex.: valor já cadastrado)";
+    public static final String VALOR_INVALIDO = "Registro contém valor não aceito pelo banco (ex.: campo maior que o permitido)";
+    public static final String DESCONHECIDA = "Falha ao gravar o registro";
+
+    private FalhaGravacao() {
+    }
+
+    public static String mensagem(RuntimeException e) {
+        for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+            if (causa instanceof SQLException sql && sql.getSQLState() != null) {
+                if (sql.getSQLState().startsWith("23")) {
+                    return RESTRICAO;
+                }
+                if (sql.getSQLState().startsWith("22")) {
+                    return VALOR_INVALIDO;
+                }
+            }
+            if (causa instanceof ConstraintViolationException) {
+                return RESTRICAO;
+            }
+        }
+        return e instanceof DataIntegrityViolationException ? RESTRICAO : DESCONHECIDA;
+    }
+}
@@ -0,0 +1,37 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Devolve no cabeçalho X-Consultas-SQL quantos comandos a requisição executou até a escrita do corpo (desenvolvimento
+// e testes). O filtro só mede depois da resposta enviada, quando os cabeçalhos já não podem mudar; aqui o corpo ainda
+// não foi escrito. Respostas em streaming contam só o que rodou antes do primeiro byte.
+// Registrado pelo component scan: a condição fica na classe para valer também ali.
+@ControllerAdvice
+@ConditionalOnProperty(name = "sgpj.consultas.cabecalho", havingValue = "true")
+public class ConsultasSqlResponseAdvice implements ResponseBodyAdvice<Object> {
+
+    public static final String CABECALHO = "X-Consultas-SQL";
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        MetricasRequisicao.Contagem contagem = MetricasRequisicao.atual();
+        if (contagem != null) {
+            response.getHeaders().set(CABECALHO, Integer.toString(contagem.getConsultas()));
+        }
+        return body;
+    }
+}
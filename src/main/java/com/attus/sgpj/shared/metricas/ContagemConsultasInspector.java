@@ -0,0 +1,19 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Chamado pelo Hibernate a cada comando preparado; encadeia o inspector já configurado, se houver
+public class ContagemConsultasInspector implements StatementInspector {
+
+    private final StatementInspector anterior;
+
+    public ContagemConsultasInspector(StatementInspector anterior) {
+        this.anterior = anterior;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        MetricasRequisicao.registrarConsulta(sql);
+        return anterior == null ? sql : anterior.inspect(sql);
+    }
+}
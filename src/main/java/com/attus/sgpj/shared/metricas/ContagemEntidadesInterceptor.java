@@ -0,0 +1,13 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.hibernate.Interceptor;
+import org.hibernate.type.Type;
+
+public class ContagemEntidadesInterceptor implements Interceptor {
+
+    @Override
+    public boolean onLoad(Object entity, Object id, Object[] state, String[] propertyNames, Type[] types) {
+        MetricasRequisicao.registrarEntidadeCarregada();
+        return false;
+    }
+}
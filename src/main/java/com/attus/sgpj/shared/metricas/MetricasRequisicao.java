@@ -0,0 +1,72 @@
+package com.attus.sgpj.shared.metricas;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Comandos SQL e entidades carregadas pela requisição HTTP em andamento na thread. Fora de uma requisição (tarefas
+// agendadas, inicialização) não há contagem e os registros são ignorados.
+public final class MetricasRequisicao {
+
+    private static final ThreadLocal<Contagem> ATUAL = new ThreadLocal<>();
+
+    private MetricasRequisicao() {
+    }
+
+    // detalhar: guarda também cada comando distinto e quantas vezes rodou, para o OrcamentoConsultas
+    public static Contagem iniciar(boolean detalhar) {
+        Contagem contagem = new Contagem(detalhar);
+        ATUAL.set(contagem);
+        return contagem;
+    }
+
+    public static void encerrar() {
+        ATUAL.remove();
+    }
+
+    // Contagem da requisição em andamento, ou null fora de uma requisição
+    public static Contagem atual() {
+        return ATUAL.get();
+    }
+
+    static void registrarConsulta(String sql) {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.consultas++;
+            if (contagem.comandos != null) {
+                contagem.comandos.merge(sql, 1, Integer::sum);
+            }
+        }
+    }
+
+    static void registrarEntidadeCarregada() {
+        Contagem contagem = ATUAL.get();
+        if (contagem != null) {
+            contagem.entidades++;
+        }
+    }
+
+    // Só a thread da requisição escreve; não precisa de sincronização
+    public static final class Contagem {
+        private final Map<String, Integer> comandos;
+        private int consultas;
+        private int entidades;
+
+        Contagem(boolean detalhar) {
+            this.comandos = detalhar ? new LinkedHashMap<>() : null;
+        }
+
+        public int getConsultas() {
+            return consultas;
+        }
+
+        public int getEntidades() {
+            return entidades;
+        }
+
+        // Comando SQL (com os parâmetros como ?) -> execuções, na ordem da primeira execução; vazio sem detalhamento
+        public Map<String, Integer> getComandos() {
+            return comandos == null ? Map.of() : Collections.unmodifiableMap(comandos);
+        }
+    }
+}
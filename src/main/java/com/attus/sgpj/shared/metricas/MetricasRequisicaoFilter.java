@@ -0,0 +1,58 @@
+package com.attus.sgpj.shared.metricas;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+// Distribuição de comandos SQL e entidades carregadas por requisição, com a mesma tag uri (padrão do mapeamento) do
+// http.server.requests. O custo no caminho da requisição é um ThreadLocal e dois incrementos de int por evento.
+// Com orçamento, cada comando distinto também é guardado e a requisição que estoura o limite, ou repete o mesmo
+// comando (N+1), gera um warning com o SQL.
+@Slf4j
+public class MetricasRequisicaoFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final OrcamentoConsultas orcamento;
+
+    public MetricasRequisicaoFilter(MeterRegistry meterRegistry, OrcamentoConsultas orcamento) {
+        this.meterRegistry = meterRegistry;
+        this.orcamento = orcamento;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        MetricasRequisicao.Contagem contagem = MetricasRequisicao.iniciar(orcamento != null);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            MetricasRequisicao.encerrar();
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = padrao == null ? "UNKNOWN" : padrao.toString();
+            resumo("sgpj.http.consultas", "comandos SQL executados por requisição", request, uri).record(contagem.getConsultas());
+            resumo("sgpj.http.entidades", "entidades carregadas pelo Hibernate por requisição", request, uri).record(contagem.getEntidades());
+            if (orcamento != null) {
+                orcamento.violacoes(request.getMethod(), uri, contagem).forEach(log::warn);
+            }
+        }
+    }
+
+    private DistributionSummary resumo(String nome, String descricao, HttpServletRequest request, String uri) {
+        return DistributionSummary.builder(nome)
+                .description(descricao)
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(1.0)
+                .maximumExpectedValue(1000.0)
+                .register(meterRegistry);
+    }
+}
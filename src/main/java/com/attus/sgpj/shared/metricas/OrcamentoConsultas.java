@@ -0,0 +1,46 @@
+package com.attus.sgpj.shared.metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Limite de comandos SQL por requisição, por padrão de URI (o mesmo do mapeamento, ex.: /processo/{id}) ou o padrão
+// geral, e o número de execuções do mesmo comando a partir do qual ele é tratado como N+1. Zero desliga a verificação.
+public final class OrcamentoConsultas {
+
+    private final int padrao;
+    private final Map<String, Integer> porUri;
+    private final int repeticoesSuspeitas;
+
+    public OrcamentoConsultas(int padrao, Map<String, Integer> porUri, int repeticoesSuspeitas) {
+        this.padrao = padrao;
+        this.porUri = Map.copyOf(porUri);
+        this.repeticoesSuspeitas = repeticoesSuspeitas;
+    }
+
+    public int limite(String uri) {
+        return porUri.getOrDefault(uri, padrao);
+    }
+
+    // Uma mensagem por problema encontrado, já com o SQL responsável; vazia quando a requisição ficou no orçamento
+    public List<String> violacoes(String method, String uri, MetricasRequisicao.Contagem contagem) {
+        List<String> violacoes = new ArrayList<>();
+        int limite = limite(uri);
+        if (limite > 0 && contagem.getConsultas() > limite) {
+            StringBuilder mensagem = new StringBuilder()
+                    .append(method).append(' ').append(uri).append(" executou ").append(contagem.getConsultas())
+                    .append(" comandos SQL (orçamento: ").append(limite).append(')');
+            contagem.getComandos().forEach((sql, vezes) ->
+                    mensagem.append(System.lineSeparator()).append("  ").append(vezes).append("x ").append(sql));
+            violacoes.add(mensagem.toString());
+        }
+        if (repeticoesSuspeitas > 0) {
+            contagem.getComandos().forEach((sql, vezes) -> {
+                if (vezes >= repeticoesSuspeitas) {
+                    violacoes.add(method + ' ' + uri + " repetiu " + vezes + " vezes o mesmo comando (possível N+1): " + sql);
+                }
+            });
+        }
+        return violacoes;
+    }
+}
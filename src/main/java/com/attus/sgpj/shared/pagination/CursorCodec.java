@@ -0,0 +1,36 @@
+package com.attus.sgpj.shared.pagination;
+
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// Serializa as partes de um cursor em um token opaco (Base64 URL-safe), para que o cliente apenas o repasse
+public final class CursorCodec {
+
+    private static final String SEPARADOR = "\u0000";
+
+    private CursorCodec() {
+    }
+
+    public static String encode(List<String> partes) {
+        String raw = String.join(SEPARADOR, partes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String cursor, int quantidadePartes) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+
+        List<String> partes = List.of(raw.split(SEPARADOR, -1));
+        if (partes.size() != quantidadePartes) {
+            throw new InvalidCursorException("Cursor inválido: " + cursor);
+        }
+        return partes;
+    }
+}
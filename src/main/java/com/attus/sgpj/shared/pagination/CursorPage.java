@@ -0,0 +1,20 @@
+package com.attus.sgpj.shared.pagination;
+
+import java.util.List;
+import java.util.function.Function;
+
+public record CursorPage<T>(
+        List<T> content,
+        String nextCursor,
+        boolean hasNext
+) {
+    // Limites dos parâmetros das listagens por cursor, validados nos controllers (a consulta busca size + 1 linhas)
+    public static final int TAMANHO_MAXIMO = 100;
+    public static final String TAMANHO_INVALIDO = "size deve estar entre 1 e " + TAMANHO_MAXIMO;
+    public static final String DIRECAO = "(?i)asc|desc";
+    public static final String DIRECAO_INVALIDA = "sortDirection deve ser asc ou desc";
+
+    public <R> CursorPage<R> map(Function<? super T, ? extends R> mapper) {
+        return new CursorPage<>(content.stream().<R>map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,7 @@
+package com.attus.sgpj.shared.pagination.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String message) {
+        super(message);
+    }
+}
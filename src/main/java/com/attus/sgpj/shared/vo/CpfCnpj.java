@@ -8,31 +8,131 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
+// Gravado como bigint: o CPF pelos seus 11 dígitos e o CNPJ somado a CNPJ_BASE, para que um CPF e um CNPJ com zeros à
+// esquerda não colidam no índice único. A API continua vendo só a forma canônica (somente dígitos, com zeros).
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode
 @Embeddable
 public class CpfCnpj {
 
+    static final long CNPJ_BASE = 100_000_000_000_000L;
+
+    // Todos os dígitos iguais (111.111.111-11...) passam no cálculo dos verificadores, mas não são documentos válidos
+    private static final long CPF_REPETIDO = 11_111_111_111L;
+    private static final long CNPJ_REPETIDO = 11_111_111_111_111L;
+
     @Getter
     @Column(name = "cpf_cnpj", unique = true, nullable = false)
-    private String value;
+    private long codigo;
 
+    // Documento informado para gravação: exige os dígitos verificadores
     public CpfCnpj(String value) {
+        this(value, true);
+    }
+
+    // Chave de busca: só quantidade de dígitos, para encontrar registros gravados antes da verificação dos dígitos
+    public static CpfCnpj chave(String value) {
+        return new CpfCnpj(value, false);
+    }
+
+    // Uma passada sobre a entrada, ignorando a formatação (pontos, barra, hífen, espaços), sem alocar
+    private CpfCnpj(String value, boolean verificarDigitos) {
         if (value == null || value.isBlank()) {
             throw new InvalidFieldException("CPF/CNPJ não pode ser nulo ou vazio.");
         }
 
-        String digits = value.replaceAll("\\D", "");
+        long digitos = 0;
+        int quantidade = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++quantidade > 14) {
+                    break;
+                }
+                digitos = digitos * 10 + (c - '0');
+            }
+        }
 
-        if (digits.length() != 11 && digits.length() != 14) {
+        if (quantidade == 11) {
+            if (verificarDigitos && !cpfValido(digitos)) {
+                throw new InvalidFieldException("CPF inválido: dígitos verificadores não conferem.");
+            }
+            this.codigo = digitos;
+        } else if (quantidade == 14) {
+            if (verificarDigitos && !cnpjValido(digitos)) {
+                throw new InvalidFieldException("CNPJ inválido: dígitos verificadores não conferem.");
+            }
+            this.codigo = CNPJ_BASE + digitos;
+        } else {
             throw new InvalidFieldException("CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.");
         }
+    }
+
+    public String getValue() {
+        return canonico(codigo);
+    }
+
+    public boolean isCnpj() {
+        return codigo >= CNPJ_BASE;
+    }
+
+    // Forma canônica a partir do valor gravado (consultas que leem só a coluna)
+    public static String canonico(long codigo) {
+        boolean cnpj = codigo >= CNPJ_BASE;
+        long digitos = cnpj ? codigo - CNPJ_BASE : codigo;
+        char[] texto = new char[cnpj ? 14 : 11];
+        for (int i = texto.length - 1; i >= 0; i--) {
+            texto[i] = (char) ('0' + digitos % 10);
+            digitos /= 10;
+        }
+        return new String(texto);
+    }
+
+    // Pesos 10..2 e 11..2 da esquerda para a direita, aplicados aqui da direita (2, 3, ...) sobre os 9 primeiros dígitos
+    private static boolean cpfValido(long digitos) {
+        if (digitos % CPF_REPETIDO == 0) {
+            return false;
+        }
+        int segundo = (int) (digitos % 10);
+        int primeiro = (int) (digitos / 10 % 10);
+        long base = digitos / 100;
+        int soma1 = 0;
+        int soma2 = primeiro * 2;
+        for (int peso = 2; peso <= 10; peso++) {
+            int d = (int) (base % 10);
+            base /= 10;
+            soma1 += d * peso;
+            soma2 += d * (peso + 1);
+        }
+        return primeiro == verificador(soma1) && segundo == verificador(soma2);
+    }
+
+    // Pesos 2..9 repetidos a partir da direita sobre os 12 primeiros dígitos; o segundo verificador inclui o primeiro
+    private static boolean cnpjValido(long digitos) {
+        if (digitos % CNPJ_REPETIDO == 0) {
+            return false;
+        }
+        int segundo = (int) (digitos % 10);
+        int primeiro = (int) (digitos / 10 % 10);
+        long base = digitos / 100;
+        int soma1 = 0;
+        int soma2 = primeiro * 2;
+        for (int i = 0; i < 12; i++) {
+            int d = (int) (base % 10);
+            base /= 10;
+            soma1 += d * (2 + i % 8);
+            soma2 += d * (2 + (i + 1) % 8);
+        }
+        return primeiro == verificador(soma1) && segundo == verificador(soma2);
+    }
 
-        this.value = digits;
+    private static int verificador(int soma) {
+        int resto = soma % 11;
+        return resto < 2 ? 0 : 11 - resto;
     }
 
     @Override
     public String toString() {
-        return value;
+        return getValue();
     }
 }
@@ -8,16 +8,11 @@ import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 
-import java.util.regex.Pattern;
-
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @EqualsAndHashCode
 @Embeddable
 public class Email {
 
-    private static final Pattern EMAIL_PATTERN =
-            Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$");
-
     @Getter
     @Column(name = "email")
     private String value;
@@ -27,10 +22,61 @@ public class Email {
             throw new InvalidFieldException("Email não pode ser nulo.");
         }
 
-        if (!EMAIL_PATTERN.matcher(value).matches()) {
+        if (!valido(value)) {
             throw new InvalidFieldException("Email inválido.");
         }
-        this.value = value.toLowerCase();
+        this.value = minusculo(value);
+    }
+
+    // Mesma regra da expressão ^[\w.-]+@[\w.-]+\.[A-Za-z]{2,}$, numa passada e sem backtracking: usuário e domínio não
+    // vazios com letras, dígitos, _, . e -; o domínio termina em ponto seguido de 2+ letras
+    private static boolean valido(String value) {
+        int arroba = -1;
+        int ultimoPonto = -1;
+        boolean sufixoSoLetras = false;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '@') {
+                if (arroba >= 0 || i == 0) {
+                    return false;
+                }
+                arroba = i;
+            } else if (c == '.') {
+                ultimoPonto = i;
+                sufixoSoLetras = true;
+            } else if (letra(c)) {
+                // mantém sufixoSoLetras
+            } else if ((c >= '0' && c <= '9') || c == '_' || c == '-') {
+                sufixoSoLetras = false;
+            } else {
+                return false;
+            }
+        }
+        return arroba >= 0
+                && ultimoPonto > arroba + 1
+                && value.length() - ultimoPonto - 1 >= 2
+                && sufixoSoLetras;
+    }
+
+    private static boolean letra(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    // Só caracteres ASCII passam na validação; devolve a própria string quando já está em minúsculas
+    private static String minusculo(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 'A' && c <= 'Z') {
+                char[] texto = value.toCharArray();
+                for (int j = i; j < texto.length; j++) {
+                    if (texto[j] >= 'A' && texto[j] <= 'Z') {
+                        texto[j] = (char) (texto[j] + ('a' - 'A'));
+                    }
+                }
+                return new String(texto);
+            }
+        }
+        return value;
     }
 
     @Override
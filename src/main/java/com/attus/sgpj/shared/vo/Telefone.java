@@ -17,27 +17,42 @@ public class Telefone {
     @Column(name = "telefone")
     private String numero;
 
+    // Uma passada: descarta a formatação e aceita 10 ou 11 dígitos (DDD + número), sem regex
     public Telefone(String numero) {
         if (numero == null) throw new InvalidFieldException("Telefone não pode ser nulo.");
 
-        String numeroLimpo = limpar(numero);
+        char[] digitos = new char[11];
+        int quantidade = 0;
+        for (int i = 0; i < numero.length(); i++) {
+            char c = numero.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (quantidade == digitos.length) throw new InvalidFieldException("Telefone inválido.");
+                digitos[quantidade++] = c;
+            }
+        }
 
-        if (!numeroLimpo.matches("^\\d{10,11}$")) throw new InvalidFieldException("Telefone inválido.");
+        if (quantidade < 10) throw new InvalidFieldException("Telefone inválido.");
 
-        this.numero = numeroLimpo;
-    }
-
-    private String limpar(String numero) {
-        if (numero == null) return "";
-        return numero.replaceAll("\\D", "");
+        this.numero = new String(digitos, 0, quantidade);
     }
 
+    // (DD) NNNN-NNNN ou (DD) NNNNN-NNNN
     public String formatado() {
-        return switch (numero.length()) {
-            case 10 -> String.format("(%s) %s-%s", numero.substring(0, 2), numero.substring(2, 6), numero.substring(6));
-            case 11 -> String.format("(%s) %s-%s", numero.substring(0, 2), numero.substring(2, 7), numero.substring(7));
-            default -> numero;
-        };
+        int tamanho = numero.length();
+        if (tamanho != 10 && tamanho != 11) {
+            return numero;
+        }
+        int hifen = tamanho - 4;
+        char[] texto = new char[tamanho + 4];
+        texto[0] = '(';
+        texto[1] = numero.charAt(0);
+        texto[2] = numero.charAt(1);
+        texto[3] = ')';
+        texto[4] = ' ';
+        numero.getChars(2, hifen, texto, 5);
+        texto[hifen + 3] = '-';
+        numero.getChars(hifen, tamanho, texto, hifen + 4);
+        return new String(texto);
     }
 
     @Override
@@ -0,0 +1,26 @@
+-- Colunas acrescentadas ao modelo depois do esquema inicial: versão para o controle otimista de concorrência
+-- e os contadores de ComposicaoProcesso. Bancos com baseline na V1 recebem as colunas aqui.
+
+alter table pessoa add column versao bigint default 0 not null;
+
+alter table processo
+    add column versao bigint default 0 not null,
+    add column qtd_autor integer default 0 not null,
+    add column qtd_reu integer default 0 not null,
+    add column qtd_advogado integer default 0 not null,
+    add column qtd_peticao integer default 0 not null,
+    add column qtd_audiencia integer default 0 not null,
+    add column qtd_sentenca integer default 0 not null,
+    add column qtd_desistencia integer default 0 not null;
+
+-- Composição dos processos já gravados, contando só partes e ações não excluídas
+update processo p set
+    qtd_autor = (select count(*) from parte_envolvida pe where pe.processo_id = p.id and pe.deleted = false and pe.tipo = 'AUTOR'),
+    qtd_reu = (select count(*) from parte_envolvida pe where pe.processo_id = p.id and pe.deleted = false and pe.tipo = 'REU'),
+    qtd_advogado = (select count(*) from parte_envolvida pe where pe.processo_id = p.id and pe.deleted = false and pe.tipo = 'ADVOGADO'),
+    qtd_peticao = (select count(*) from acao a where a.processo_id = p.id and a.deleted = false and a.tipo = 'PETICAO'),
+    qtd_audiencia = (select count(*) from acao a where a.processo_id = p.id and a.deleted = false and a.tipo = 'AUDIENCIA'),
+    qtd_sentenca = (select count(*) from acao a where a.processo_id = p.id and a.deleted = false and a.tipo = 'SENTENCA'),
+    qtd_desistencia = (select count(*) from acao a where a.processo_id = p.id and a.deleted = false and a.tipo = 'DESISTENCIA')
+where exists (select 1 from parte_envolvida pe where pe.processo_id = p.id and pe.deleted = false)
+   or exists (select 1 from acao a where a.processo_id = p.id and a.deleted = false);
@@ -0,0 +1,44 @@
+-- Esquema até então gerado pelo Hibernate (ddl-auto=update). Bancos já existentes entram no Flyway com
+-- baseline nesta versão (spring.flyway.baseline-on-migrate) e recebem apenas as migrações seguintes.
+
+create table pessoa (
+    id uuid not null,
+    nome_completo varchar(255) not null,
+    cpf_cnpj varchar(255) not null,
+    email varchar(255),
+    telefone varchar(255),
+    constraint pk_pessoa primary key (id),
+    constraint uk_pessoa_cpf_cnpj unique (cpf_cnpj)
+);
+
+create table processo (
+    id uuid not null,
+    numero varchar(255) not null,
+    descricao varchar(255) not null,
+    data_abertura date not null,
+    status_processo varchar(255) not null check (status_processo in ('ATIVO', 'SUSPENSO', 'ARQUIVADO')),
+    constraint pk_processo primary key (id),
+    constraint uk_processo_numero unique (numero)
+);
+
+create table parte_envolvida (
+    id uuid not null,
+    processo_id uuid not null,
+    pessoa_id uuid not null,
+    tipo varchar(255) not null check (tipo in ('AUTOR', 'REU', 'ADVOGADO')),
+    deleted boolean not null,
+    constraint pk_parte_envolvida primary key (id),
+    constraint fk_parte_envolvida_processo foreign key (processo_id) references processo,
+    constraint fk_parte_envolvida_pessoa foreign key (pessoa_id) references pessoa
+);
+
+create table acao (
+    id uuid not null,
+    processo_id uuid,
+    tipo varchar(255) not null check (tipo in ('PETICAO', 'AUDIENCIA', 'SENTENCA', 'DESISTENCIA')),
+    descricao varchar(255),
+    data_registro date not null,
+    deleted boolean not null,
+    constraint pk_acao primary key (id),
+    constraint fk_acao_processo foreign key (processo_id) references processo
+);
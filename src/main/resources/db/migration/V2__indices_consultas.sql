@@ -0,0 +1,30 @@
+-- Índices das consultas dos repositórios. Os de partes e ações são parciais: as duas tabelas são excluídas
+-- logicamente e toda consulta sobre elas filtra deleted = false (@Where), então as linhas removidas ficam de fora.
+
+-- Criados pelo ddl-auto em bancos anteriores às migrações; recriados abaixo como parciais
+drop index if exists idx_acao_processo_data_registro;
+drop index if exists idx_acao_processo_tipo;
+drop index if exists idx_parte_envolvida_processo;
+drop index if exists idx_parte_envolvida_processo_tipo;
+
+-- Ações do processo em ordem de (data_registro, id), com ou sem tipo; também atende a carga das coleções por processo_id
+create index idx_acao_processo_data_registro on acao (processo_id, data_registro, id) where deleted = false;
+create index idx_acao_processo_tipo on acao (processo_id, tipo, data_registro, id) where deleted = false;
+
+-- Partes do processo em ordem de id, com ou sem tipo
+create index idx_parte_envolvida_processo on parte_envolvida (processo_id, id) where deleted = false;
+create index idx_parte_envolvida_processo_tipo on parte_envolvida (processo_id, tipo, id) where deleted = false;
+
+-- Processos de uma pessoa (findByPessoaId e filtro por pessoa da transição em lote)
+create index idx_parte_envolvida_pessoa on parte_envolvida (pessoa_id, processo_id) where deleted = false;
+
+-- Listagens por status e por período de abertura, na ordem do cursor (data_abertura, id)
+create index idx_processo_status_data_abertura on processo (status_processo, data_abertura, id);
+create index idx_processo_data_abertura on processo (data_abertura, id);
+
+-- Processos prontos para arquivar: mesmo predicado de ProcessoRepository.PODE_ARQUIVAR
+create index idx_processo_pronto_para_arquivar on processo (id)
+    where status_processo <> 'ARQUIVADO'
+      and qtd_autor > 0 and qtd_reu > 0 and qtd_advogado > 0
+      and qtd_peticao > 0 and qtd_audiencia > 0
+      and (qtd_sentenca > 0 or qtd_desistencia > 0);
@@ -0,0 +1,6 @@
+-- CPF/CNPJ passa de texto para bigint (CpfCnpj.codigo): 8 bytes por chave no lugar de ~12-15, índice único menor e
+-- comparação inteira. O CNPJ é somado a 10^14 para não colidir com um CPF de mesmos dígitos. Os valores gravados já
+-- são só dígitos (11 ou 14); o ALTER reescreve a tabela e recria uk_pessoa_cpf_cnpj. Cadastros antigos com dígitos
+-- verificadores errados são mantidos: a validação vale para novas gravações.
+alter table pessoa alter column cpf_cnpj type bigint using
+    case when length(cpf_cnpj) = 14 then cpf_cnpj::bigint + 100000000000000 else cpf_cnpj::bigint end;
@@ -0,0 +1,174 @@
+package com.attus.sgpj;
+
+import com.attus.sgpj.modules.processo.application.ProcessoRepository;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Teste de carga das leituras de /processo com threads de plataforma e com threads virtuais (+ semáforo no pool).
+// Opt-in, pois leva alguns minutos: mvn test -Dtest=CargaLeituraProcessoTest -Dsgpj.carga=true
+// A latência do banco é simulada em cada comando SQL (sgpj.carga.latencia-ms), já que o H2 em memória não bloqueia;
+// o Tomcat é limitado a sgpj.carga.threads-tomcat threads para reproduzir, em escala de teste, o pool saturado.
+@EnabledIfSystemProperty(named = "sgpj.carga", matches = "true")
+class CargaLeituraProcessoTest {
+
+    private static final int CLIENTES = Integer.getInteger("sgpj.carga.clientes", 200);
+    private static final int THREADS_TOMCAT = Integer.getInteger("sgpj.carga.threads-tomcat", 20);
+    private static final int POOL = Integer.getInteger("sgpj.carga.pool", 40);
+    private static final Duration AQUECIMENTO = Duration.parse(System.getProperty("sgpj.carga.aquecimento", "PT10S"));
+    private static final Duration DURACAO = Duration.parse(System.getProperty("sgpj.carga.duracao", "PT30S"));
+
+    @Test
+    void deveCompararThreadsDePlataformaEVirtuais() throws Exception {
+        Resultado plataforma = medir(false);
+        Resultado virtuais = medir(true);
+
+        System.out.printf("%nLeituras de /processo: %d clientes, %d threads no Tomcat, pool de %d conexões, %d ms por comando SQL%n",
+                CLIENTES, THREADS_TOMCAT, POOL, LatenciaSimulada.LATENCIA_MS);
+        System.out.printf("%-12s %10s %10s %10s %10s %8s%n", "threads", "req/s", "p50 (ms)", "p99 (ms)", "máx (ms)", "erros");
+        plataforma.imprimir("plataforma");
+        virtuais.imprimir("virtuais");
+
+        assertThat(plataforma.sucessos()).isPositive();
+        assertThat(virtuais.sucessos()).isPositive();
+    }
+
+    private Resultado medir(boolean threadsVirtuais) throws Exception {
+        try (ConfigurableApplicationContext contexto = new SpringApplicationBuilder(SgpjApplication.class)
+                .profiles("test")
+                // Argumentos de linha de comando, para prevalecer sobre o application.properties
+                .run(
+                        "--server.port=0",
+                        "--spring.datasource.url=jdbc:h2:mem:carga-" + threadsVirtuais + ";DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.hikari.maximum-pool-size=" + POOL,
+                        "--server.tomcat.threads.max=" + THREADS_TOMCAT,
+                        "--spring.threads.virtual.enabled=" + threadsVirtuais,
+                        "--spring.jpa.properties.hibernate.session_factory.statement_inspector=" + LatenciaSimulada.class.getName())) {
+            ProcessoRepository processoRepository = contexto.getBean(ProcessoRepository.class);
+            processoRepository.saveAll(IntStream.range(0, 200)
+                    .mapToObj(i -> Processo.create(String.format("%020d", i), "Processo " + i, LocalDate.of(2024, 1, 1).plusDays(i)))
+                    .toList());
+
+            int porta = ((WebServerApplicationContext) contexto).getWebServer().getPort();
+            disparar(porta, AQUECIMENTO);
+            return disparar(porta, DURACAO);
+        }
+    }
+
+    // Cada cliente é uma thread virtual repetindo GETs paginados até o fim do intervalo
+    private Resultado disparar(int porta, Duration duracao) throws Exception {
+        HttpClient httpClient = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build();
+        long fim = System.nanoTime() + duracao.toNanos();
+        List<Future<Cliente>> clientes = new ArrayList<>(CLIENTES);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTES; c++) {
+                int pagina = c % 20;
+                clientes.add(executor.submit(() -> {
+                    Cliente cliente = new Cliente();
+                    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + porta + "/processo?size=10&page=" + pagina))
+                            .timeout(Duration.ofSeconds(30))
+                            .build();
+                    while (System.nanoTime() < fim) {
+                        long inicio = System.nanoTime();
+                        try {
+                            int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                            if (status == 200) {
+                                cliente.registrar(System.nanoTime() - inicio);
+                            } else {
+                                cliente.erros++;
+                            }
+                        } catch (Exception e) {
+                            cliente.erros++;
+                        }
+                    }
+                    return cliente;
+                }));
+            }
+        }
+
+        long[] latencias = new long[0];
+        long erros = 0;
+        for (Future<Cliente> futuro : clientes) {
+            Cliente cliente = futuro.get();
+            int inicio = latencias.length;
+            latencias = Arrays.copyOf(latencias, inicio + cliente.total);
+            System.arraycopy(cliente.latencias, 0, latencias, inicio, cliente.total);
+            erros += cliente.erros;
+        }
+        Arrays.sort(latencias);
+        return new Resultado(latencias, erros, duracao);
+    }
+
+    private static final class Cliente {
+        private long[] latencias = new long[1024];
+        private int total;
+        private long erros;
+
+        private void registrar(long nanos) {
+            if (total == latencias.length) {
+                latencias = Arrays.copyOf(latencias, total * 2);
+            }
+            latencias[total++] = nanos;
+        }
+    }
+
+    private record Resultado(long[] latencias, long erros, Duration duracao) {
+
+        long sucessos() {
+            return latencias.length;
+        }
+
+        void imprimir(String modo) {
+            System.out.printf("%-12s %10.0f %10.1f %10.1f %10.1f %8d%n", modo,
+                    latencias.length / (duracao.toMillis() / 1000.0),
+                    percentil(0.50), percentil(0.99), percentil(1.0), erros);
+        }
+
+        private double percentil(double p) {
+            if (latencias.length == 0) {
+                return 0;
+            }
+            int indice = (int) Math.ceil(p * latencias.length) - 1;
+            return latencias[Math.max(0, indice)] / 1_000_000.0;
+        }
+    }
+
+    // Simula a ida e volta até o banco: cada comando SQL bloqueia a thread (com a conexão em mãos) por alguns ms
+    public static class LatenciaSimulada implements StatementInspector {
+
+        static final long LATENCIA_MS = Long.getLong("sgpj.carga.latencia-ms", 5);
+
+        @Override
+        public String inspect(String sql) {
+            try {
+                Thread.sleep(LATENCIA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.attus.sgpj;
+
+import com.attus.sgpj.modules.processo.application.ProcessoRepository;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Aplicação completa, com H2 atrás do Hikari: confere que cada camada aparece em /actuator/prometheus
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.datasource.url=jdbc:h2:mem:metricas;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="})
+@AutoConfigureObservability
+@ActiveProfiles("test")
+class MetricasPrometheusTest {
+
+    @Autowired
+    TestRestTemplate restTemplate;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    @Test
+    void deveExporMetricasDeEndpointServicoRepositorioEPersistencia() {
+        Processo processo = processoRepository.save(Processo.create("00000000000000000001", "Processo 1", LocalDate.of(2024, 1, 1)));
+        assertThat(restTemplate.getForEntity("/processo?size=10", String.class).getStatusCode()).isEqualTo(HttpStatus.OK);
+        restTemplate.put("/processo/" + processo.getId() + "/suspender", null);
+
+        String metricas = restTemplate.getForObject("/actuator/prometheus", String.class);
+
+        assertThat(metricas)
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("sgpj_servico_seconds_bucket\\{.*class=\"com.attus.sgpj.modules.processo.application.ProcessoService\".*method=\"findPaged\"")
+                .contains("spring_data_repository_invocations_seconds_bucket{")
+                .containsPattern("sgpj_http_consultas_count\\{.*uri=\"/processo\"")
+                .containsPattern("sgpj_http_entidades_sum\\{.*uri=\"/processo\"")
+                .contains("hikaricp_connections_acquire_seconds_bucket{")
+                .containsPattern("sgpj_processo_transicoes_total\\{.*destino=\"SUSPENSO\".*origem=\"ATIVO\".*\\} 1.0")
+                .contains("hibernate_statements_total{");
+    }
+}
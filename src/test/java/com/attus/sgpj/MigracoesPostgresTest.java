@@ -0,0 +1,369 @@
+package com.attus.sgpj;
+
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.application.ParteEnvolvidaRepository;
+import com.attus.sgpj.modules.pessoa.application.PessoaRepository;
+import com.attus.sgpj.modules.processo.application.ProcessoCursor;
+import com.attus.sgpj.modules.processo.application.ProcessoRepository;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.condition.DisabledIf;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sobe o esquema pelas migrações num PostgreSQL real (o Hibernate só valida o mapeamento), carrega uma massa sintética
+// e confere o plano das consultas dos repositórios: nenhuma delas pode varrer uma tabela inteira. O plano é o do SQL
+// que o Hibernate gera de fato, gravado durante a chamada a cada método com os parâmetros usados.
+// Requer Docker; sem ele a classe é ignorada, exceto no CI (variável CI definida), onde a falta do Docker falha o build.
+@Testcontainers
+@DisabledIf("semDockerForaDoCi")
+@DataJpaTest(properties = {"spring.flyway.enabled=true", "spring.jpa.hibernate.ddl-auto=validate"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MigracoesPostgresTest {
+
+    private static final int PROCESSOS = 50_000;
+    private static final int PESSOAS = 2_000;
+    private static final String CPF = "52998224725";
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:16-alpine");
+
+    static boolean semDockerForaDoCi() {
+        return System.getenv("CI") == null && !DockerClientFactory.instance().isDockerAvailable();
+    }
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ComandosGravados comandosGravados;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    @Autowired
+    AcaoRepository acaoRepository;
+
+    @Autowired
+    ParteEnvolvidaRepository parteEnvolvidaRepository;
+
+    @Autowired
+    PessoaRepository pessoaRepository;
+
+    private UUID pessoaId;
+    private UUID processoId;
+
+    @BeforeAll
+    void carregarMassa() {
+        jdbcTemplate.update("""
+                insert into pessoa (id, nome_completo, cpf_cnpj, versao)
+                select gen_random_uuid(), 'Pessoa ' || i, case when i = ? then ? else i end, 0
+                from generate_series(1, ?) i
+                """, PESSOAS, Long.parseLong(CPF), PESSOAS);
+        // ~81% ativos, ~13% arquivados, 5% suspensos; ~1% com a composição completa para arquivamento
+        jdbcTemplate.update("""
+                insert into processo (id, numero, descricao, data_abertura, status_processo, versao,
+                                      qtd_autor, qtd_reu, qtd_advogado, qtd_peticao, qtd_audiencia, qtd_sentenca, qtd_desistencia)
+                select gen_random_uuid(), lpad(i::text, 20, '0'), 'Processo ' || i, date '2015-01-01' + (i % 3650),
+                       case when i % 20 = 0 then 'SUSPENSO' when i % 7 = 0 then 'ARQUIVADO' else 'ATIVO' end, 0,
+                       1, 1, case when i % 100 = 0 then 1 else 0 end, 1, 1, case when i % 100 = 0 then 1 else 0 end, 0
+                from generate_series(1, ?) i
+                """, PROCESSOS);
+        jdbcTemplate.update("""
+                insert into parte_envolvida (id, processo_id, pessoa_id, tipo, deleted)
+                select gen_random_uuid(), p.id, pessoas.ids[1 + (p.n * 3 + t.ordem) % array_length(pessoas.ids, 1)], t.tipo,
+                       (p.n + t.ordem) % 10 = 0
+                from (select id, row_number() over (order by numero) as n from processo) p
+                cross join (values (0, 'AUTOR'), (1, 'REU'), (2, 'ADVOGADO')) t(ordem, tipo)
+                cross join (select array_agg(id) as ids from pessoa) pessoas
+                """);
+        jdbcTemplate.update("""
+                insert into acao (id, processo_id, tipo, descricao, data_registro, deleted)
+                select gen_random_uuid(), p.id, t.tipo, t.tipo, p.data_abertura + t.ordem * 30, (p.n + t.ordem) % 10 = 0
+                from (select id, data_abertura, row_number() over (order by numero) as n from processo) p
+                cross join (values (0, 'PETICAO'), (1, 'AUDIENCIA'), (2, 'SENTENCA'), (3, 'DESISTENCIA')) t(ordem, tipo)
+                """);
+        for (String tabela : new String[]{"pessoa", "processo", "parte_envolvida", "acao"}) {
+            jdbcTemplate.execute("vacuum analyze " + tabela);
+        }
+
+        pessoaId = jdbcTemplate.queryForObject("select id from pessoa order by cpf_cnpj limit 1", UUID.class);
+        processoId = jdbcTemplate.queryForObject("select id from processo order by numero offset 1234 limit 1", UUID.class);
+    }
+
+    @Test
+    void deveAplicarTodasAsMigracoes() {
+        Integer pendentes = jdbcTemplate.queryForObject(
+                "select count(*) from flyway_schema_history where not success", Integer.class);
+
+        assertThat(pendentes).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from processo", Integer.class)).isEqualTo(PROCESSOS);
+    }
+
+    // Banco criado antes do Flyway: esquema da V1 com dados, baseline na V1 como em application.properties e as
+    // migrações seguintes aplicadas por cima. Roda num schema à parte para não interferir na massa dos demais testes.
+    @Test
+    void deveAtualizarBancoAnteriorAsMigracoes() {
+        DriverManagerDataSource legado = new DriverManagerDataSource(postgres.getJdbcUrl());
+        Properties propriedades = new Properties();
+        propriedades.setProperty("user", postgres.getUsername());
+        propriedades.setProperty("password", postgres.getPassword());
+        propriedades.setProperty("currentSchema", "legado");
+        legado.setConnectionProperties(propriedades);
+        JdbcTemplate jdbc = new JdbcTemplate(legado);
+
+        jdbcTemplate.execute("create schema legado");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__esquema_inicial.sql")).execute(legado);
+        // Índices que o ddl-auto criava a partir do @Table(indexes) de Acao e ParteEnvolvida; a V2 os troca pelos parciais
+        jdbc.execute("create index idx_acao_processo_data_registro on acao (processo_id, data_registro, id)");
+        jdbc.execute("create index idx_acao_processo_tipo on acao (processo_id, tipo, data_registro, id)");
+        jdbc.execute("create index idx_parte_envolvida_processo on parte_envolvida (processo_id, id)");
+        jdbc.execute("create index idx_parte_envolvida_processo_tipo on parte_envolvida (processo_id, tipo, id)");
+        jdbc.update("""
+                insert into pessoa (id, nome_completo, cpf_cnpj) values
+                    ('00000000-0000-0000-0000-000000000001', 'Fulano', '52998224725'),
+                    ('00000000-0000-0000-0000-000000000002', 'Empresa', '11222333000181')
+                """);
+        jdbc.update("""
+                insert into processo (id, numero, descricao, data_abertura, status_processo) values
+                    ('00000000-0000-0000-0000-00000000000a', '1', 'Completo', date '2020-01-01', 'ATIVO'),
+                    ('00000000-0000-0000-0000-00000000000b', '2', 'Vazio', date '2020-01-01', 'ATIVO')
+                """);
+        jdbc.update("""
+                insert into parte_envolvida (id, processo_id, pessoa_id, tipo, deleted) values
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', '00000000-0000-0000-0000-000000000001', 'AUTOR', false),
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', '00000000-0000-0000-0000-000000000002', 'REU', false),
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', '00000000-0000-0000-0000-000000000001', 'ADVOGADO', false),
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', '00000000-0000-0000-0000-000000000002', 'ADVOGADO', true)
+                """);
+        jdbc.update("""
+                insert into acao (id, processo_id, tipo, descricao, data_registro, deleted) values
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', 'PETICAO', 'p', date '2020-02-01', false),
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', 'AUDIENCIA', 'a', date '2020-03-01', false),
+                    (gen_random_uuid(), '00000000-0000-0000-0000-00000000000a', 'SENTENCA', 's', date '2020-04-01', true)
+                """);
+
+        Flyway.configure()
+                .dataSource(legado)
+                .schemas("legado")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load()
+                .migrate();
+
+        assertThat(jdbc.queryForList("select version from flyway_schema_history where success order by installed_rank", String.class))
+                .containsExactly("1", "1.1", "2", "3");
+        assertThat(jdbc.queryForMap("""
+                select versao, qtd_autor, qtd_reu, qtd_advogado, qtd_peticao, qtd_audiencia, qtd_sentenca, qtd_desistencia
+                from processo where numero = '1'
+                """)).isEqualTo(Map.of("versao", 0L, "qtd_autor", 1, "qtd_reu", 1, "qtd_advogado", 1,
+                "qtd_peticao", 1, "qtd_audiencia", 1, "qtd_sentenca", 0, "qtd_desistencia", 0));
+        assertThat(jdbc.queryForObject("select qtd_autor + qtd_reu + qtd_peticao from processo where numero = '2'", Integer.class))
+                .isZero();
+        assertThat(jdbc.queryForList("select cpf_cnpj from pessoa order by cpf_cnpj", Long.class))
+                .containsExactly(52998224725L, 111222333000181L);
+        assertThat(jdbc.queryForList("select indexname from pg_indexes where schemaname = 'legado'", String.class))
+                .contains("idx_processo_pronto_para_arquivar", "idx_acao_processo_data_registro", "idx_parte_envolvida_pessoa");
+        assertThat(jdbc.queryForList("""
+                select indexdef from pg_indexes where schemaname = 'legado' and indexname in
+                    ('idx_acao_processo_data_registro', 'idx_acao_processo_tipo',
+                     'idx_parte_envolvida_processo', 'idx_parte_envolvida_processo_tipo')
+                """, String.class))
+                .hasSize(4)
+                .allSatisfy(definicao -> assertThat(definicao).contains("WHERE (deleted = false)"));
+    }
+
+    // Cada caso chama um método de repositório; todo SELECT que o Hibernate preparar durante a chamada é conferido
+    Stream<Arguments> consultas() {
+        UUID zero = new UUID(0, 0);
+        return Stream.<Arguments>of(
+                caso("ProcessoRepository.findByStatusProcesso",
+                        () -> processoRepository.findByStatusProcesso(StatusProcessoEnum.SUSPENSO, PageRequest.of(0, 20))),
+                caso("ProcessoRepository.findByDataAberturaBetween",
+                        () -> processoRepository.findByDataAberturaBetween(
+                                LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31), PageRequest.of(0, 20))),
+                caso("ProcessoRepository.findByPessoaId",
+                        () -> processoRepository.findByPessoaId(pessoaId, PageRequest.of(0, 20))),
+                caso("ProcessoRepository.findResumosByStatusProcesso",
+                        () -> processoRepository.findResumosByStatusProcesso(StatusProcessoEnum.SUSPENSO, PageRequest.of(0, 20))),
+                caso("ProcessoRepository.findResumosProntosParaArquivar",
+                        () -> processoRepository.findResumosProntosParaArquivar(PageRequest.of(0, 20))),
+                caso("ProcessoRepository.carregarColecoes",
+                        () -> processoRepository.carregarColecoes(List.of(processoRepository.findById(processoId).orElseThrow()))),
+                caso("ProcessoRepository.existsByNumero",
+                        () -> processoRepository.existsByNumero(String.format("%020d", 1234))),
+                caso("ProcessoKeysetRepository.findAfter por status",
+                        () -> processoRepository.findAfter(
+                                new ProcessoCursor(ProcessoCursor.Campo.DATA_ABERTURA, Sort.Direction.ASC, LocalDate.of(2020, 1, 1), zero),
+                                StatusProcessoEnum.SUSPENSO, null, null, null, 21)),
+                caso("ProcessoKeysetRepository.findAfter por período",
+                        () -> processoRepository.findAfter(ProcessoCursor.inicio("dataAbertura", "asc"),
+                                null, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31), null, 21)),
+                caso("ProcessoKeysetRepository.findAfter por pessoa",
+                        () -> processoRepository.findAfter(ProcessoCursor.inicio("id", "asc"), null, null, null, pessoaId, 21)),
+                caso("AcaoKeysetRepository.findAfter",
+                        () -> acaoRepository.findAfter(processoId, null, null, null, null, 21)),
+                caso("AcaoKeysetRepository.findAfter por tipo",
+                        () -> acaoRepository.findAfter(processoId, TipoAcaoEnum.PETICAO, null, null, null, 21)),
+                caso("ParteEnvolvidaKeysetRepository.findAfter",
+                        () -> parteEnvolvidaRepository.findAfter(processoId, null, null, 21)),
+                caso("PessoaRepository.findByCpfCnpj",
+                        () -> pessoaRepository.findByCpfCnpj(new CpfCnpj(CPF))),
+                caso("PessoaRepository.findByCpfCnpjCodigoIn",
+                        () -> pessoaRepository.findByCpfCnpjCodigoIn(List.of(1L, 2L, 3L))));
+    }
+
+    private static Arguments caso(String consulta, Runnable chamada) {
+        return Arguments.of(consulta, chamada);
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("consultas")
+    void naoDeveVarrerTabelaInteira(String consulta, Runnable chamada) {
+        List<ComandosGravados.Comando> selects = comandosGravados.gravar(chamada).stream()
+                .filter(comando -> comando.sql().stripLeading().toLowerCase().startsWith("select"))
+                .toList();
+
+        assertThat(selects).as(consulta).isNotEmpty();
+        for (ComandosGravados.Comando comando : selects) {
+            String plano = jdbcTemplate.execute((ConnectionCallback<String>) conexao -> comando.explicar(conexao));
+            assertThat(plano).as("%s%n%s%n%s", consulta, comando.sql(), plano).doesNotContain("Seq Scan");
+        }
+    }
+
+    @TestConfiguration
+    static class Gravacao {
+        @Bean
+        static ComandosGravados comandosGravados() {
+            return new ComandosGravados();
+        }
+    }
+
+    // Envolve o DataSource e guarda os comandos preparados enquanto a gravação está ligada, com as chamadas set* dos
+    // parâmetros na ordem feita pelo Hibernate, para repeti-los depois sob EXPLAIN
+    static class ComandosGravados implements BeanPostProcessor {
+
+        record Parametro(Method metodo, Object[] argumentos) {
+        }
+
+        record Comando(String sql, List<Parametro> parametros) {
+
+            String explicar(Connection conexao) throws SQLException {
+                try (PreparedStatement explain = conexao.prepareStatement("explain " + sql)) {
+                    for (Parametro parametro : parametros) {
+                        parametro.metodo().invoke(explain, parametro.argumentos());
+                    }
+                    StringBuilder plano = new StringBuilder();
+                    try (ResultSet linhas = explain.executeQuery()) {
+                        while (linhas.next()) {
+                            plano.append(linhas.getString(1)).append('\n');
+                        }
+                    }
+                    return plano.toString();
+                } catch (ReflectiveOperationException ex) {
+                    throw new IllegalStateException(ex);
+                }
+            }
+        }
+
+        private final List<Comando> comandos = new CopyOnWriteArrayList<>();
+        private volatile boolean gravando;
+
+        List<Comando> gravar(Runnable chamada) {
+            comandos.clear();
+            gravando = true;
+            try {
+                chamada.run();
+            } finally {
+                gravando = false;
+            }
+            return List.copyOf(comandos);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return envolver(DataSource.class, dataSource, (metodo, argumentos, resultado) ->
+                    resultado instanceof Connection conexao ? envolver(Connection.class, conexao, this::preparado) : resultado);
+        }
+
+        private Object preparado(Method metodo, Object[] argumentos, Object resultado) {
+            if (!gravando || !(resultado instanceof PreparedStatement comando) || !metodo.getName().equals("prepareStatement")) {
+                return resultado;
+            }
+            List<Parametro> parametros = new ArrayList<>();
+            comandos.add(new Comando((String) argumentos[0], parametros));
+            return envolver(PreparedStatement.class, comando, (chamado, valores, retorno) -> {
+                if (chamado.getName().startsWith("set") && valores != null && valores.length > 1 && valores[0] instanceof Integer) {
+                    parametros.add(new Parametro(chamado, valores));
+                }
+                return retorno;
+            });
+        }
+
+        private interface Interceptador {
+            Object apos(Method metodo, Object[] argumentos, Object resultado);
+        }
+
+        private static <T> T envolver(Class<T> tipo, T alvo, Interceptador interceptador) {
+            return tipo.cast(Proxy.newProxyInstance(ComandosGravados.class.getClassLoader(), new Class<?>[]{tipo},
+                    (proxy, metodo, argumentos) -> {
+                        try {
+                            return interceptador.apos(metodo, argumentos, metodo.invoke(alvo, argumentos));
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getCause();
+                        }
+                    }));
+        }
+    }
+}
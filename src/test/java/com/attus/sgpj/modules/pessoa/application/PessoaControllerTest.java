@@ -1,5 +1,6 @@
 package com.attus.sgpj.modules.pessoa.application;
 
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO;
 import com.attus.sgpj.modules.pessoa.domain.dto.PessoaRequestDTO;
 import com.attus.sgpj.modules.pessoa.domain.dto.PessoaResponseDTO;
 import com.attus.sgpj.modules.pessoa.exception.PessoaAlreadyExistsException;
@@ -34,10 +35,30 @@ class PessoaControllerTest {
     @MockitoBean
     PessoaService pessoaService;
 
+    @MockitoBean
+    PessoaImportacaoService pessoaImportacaoService;
+
+    @Test
+    void deveRetornarRelatorioAoImportarPessoas() throws Exception {
+        PessoaImportacaoResultadoDTO res = new PessoaImportacaoResultadoDTO(4, 1, 1, 1, 1,
+                List.of(new PessoaImportacaoResultadoDTO.ErroLinha(4, "123", "CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.")));
+        Mockito.when(pessoaImportacaoService.importar(any())).thenReturn(res);
+
+        mockMvc.perform(post("/pessoa/import")
+                        .contentType("application/x-ndjson")
+                        .content("{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.inseridos").value(1))
+                .andExpect(jsonPath("$.atualizados").value(1))
+                .andExpect(jsonPath("$.duplicados").value(1))
+                .andExpect(jsonPath("$.invalidos").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(4));
+    }
+
     @Test
     void deveRetornarCreatedAoCriarPessoa() throws Exception {
-        PessoaRequestDTO req = new PessoaRequestDTO("João Silva","12345678901","joao.silva@email.com","11987654321");
-        PessoaResponseDTO res = new PessoaResponseDTO(UUID.randomUUID(),"João Silva","12345678901","joao.silva@email.com","11987654321");
+        PessoaRequestDTO req = new PessoaRequestDTO("João Silva","12345678062","joao.silva@email.com","11987654321");
+        PessoaResponseDTO res = new PessoaResponseDTO(UUID.randomUUID(),"João Silva","12345678062","joao.silva@email.com","11987654321", 0L);
 
         Mockito.when(pessoaService.create(any())).thenReturn(res);
 
@@ -46,13 +67,13 @@ class PessoaControllerTest {
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.nomeCompleto").value("João Silva"))
-                .andExpect(jsonPath("$.cpfCnpj").value("12345678901"));
+                .andExpect(jsonPath("$.cpfCnpj").value("12345678062"));
     }
 
     @Test
     void deveRetornarOkAoBuscarPessoaPorId() throws Exception {
         UUID id = UUID.randomUUID();
-        PessoaResponseDTO res = new PessoaResponseDTO(id,"Maria Oliveira","98765432100","maria.oliveira@email.com","21991234567");
+        PessoaResponseDTO res = new PessoaResponseDTO(id,"Maria Oliveira","98765432100","maria.oliveira@email.com","21991234567", 0L);
         Mockito.when(pessoaService.findById(id)).thenReturn(res);
 
         mockMvc.perform(get("/pessoa/{id}", id))
@@ -61,11 +82,35 @@ class PessoaControllerTest {
                 .andExpect(jsonPath("$.cpfCnpj").value("98765432100"));
     }
 
+    @Test
+    void deveRetornarNotModifiedQuandoVersaoDaPessoaNaoMudou() throws Exception {
+        UUID id = UUID.randomUUID();
+        Mockito.when(pessoaService.findVersaoById(id)).thenReturn(2L);
+
+        mockMvc.perform(get("/pessoa/{id}", id).header("If-None-Match", "\"2\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"2\""));
+
+        Mockito.verify(pessoaService, Mockito.never()).findById(any());
+    }
+
+    @Test
+    void deveRetornarETagAoBuscarPessoaPorIdSemCondicao() throws Exception {
+        UUID id = UUID.randomUUID();
+        PessoaResponseDTO res = new PessoaResponseDTO(id, "Maria Oliveira", "98765432100", "maria.oliveira@email.com", "21991234567", 3L);
+        Mockito.when(pessoaService.findById(id)).thenReturn(res);
+
+        mockMvc.perform(get("/pessoa/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"3\""))
+                .andExpect(jsonPath("$.nomeCompleto").value("Maria Oliveira"));
+    }
+
     @Test
     void deveRetornarOkAoAtualizarPessoa() throws Exception {
         UUID id = UUID.randomUUID();
-        PessoaRequestDTO req = new PessoaRequestDTO("Carlos Souza","11122233344","carlos.souza@email.com","31987654321");
-        PessoaResponseDTO res = new PessoaResponseDTO(id,"Carlos Souza","11122233344","carlos.souza@email.com","31987654321");
+        PessoaRequestDTO req = new PessoaRequestDTO("Carlos Souza","11122233396","carlos.souza@email.com","31987654321");
+        PessoaResponseDTO res = new PessoaResponseDTO(id,"Carlos Souza","11122233396","carlos.souza@email.com","31987654321", 0L);
 
         Mockito.when(pessoaService.update(eq(id), any())).thenReturn(res);
 
@@ -74,7 +119,7 @@ class PessoaControllerTest {
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.nomeCompleto").value("Carlos Souza"))
-                .andExpect(jsonPath("$.cpfCnpj").value("11122233344"));
+                .andExpect(jsonPath("$.cpfCnpj").value("11122233396"));
     }
 
     @Test
@@ -92,9 +137,10 @@ class PessoaControllerTest {
         PessoaResponseDTO dto = new PessoaResponseDTO(
                 UUID.randomUUID(),
                 "João Silva",
-                "12345678901",
+                "12345678062",
                 "joao.silva@email.com",
-                "11999999999"
+                "11999999999",
+                0L
         );
 
         Mockito.when(pessoaService.findByNomeContaining("joao", 0, 10))
@@ -105,17 +151,17 @@ class PessoaControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.content").isArray())
                 .andExpect(jsonPath("$.content[0].nomeCompleto").value("João Silva"))
-                .andExpect(jsonPath("$.content[0].cpfCnpj").value("12345678901"));
+                .andExpect(jsonPath("$.content[0].cpfCnpj").value("12345678062"));
     }
 
     @Test
     void deveRetornarOkAoBuscarPessoaPorCpfCnpj() throws Exception {
-        PessoaResponseDTO res = new PessoaResponseDTO(UUID.randomUUID(),"Ana Lima","55566677788","ana.lima@email.com","41999998888");
-        Mockito.when(pessoaService.findByCpfCnpj("55566677788")).thenReturn(res);
+        PessoaResponseDTO res = new PessoaResponseDTO(UUID.randomUUID(),"Ana Lima","55566677720","ana.lima@email.com","41999998888", 0L);
+        Mockito.when(pessoaService.findByCpfCnpj("55566677720")).thenReturn(res);
 
-        mockMvc.perform(get("/pessoa/cpf/{cpfCnpj}", "55566677788"))
+        mockMvc.perform(get("/pessoa/cpf/{cpfCnpj}", "55566677720"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.cpfCnpj").value("55566677788"));
+                .andExpect(jsonPath("$.cpfCnpj").value("55566677720"));
     }
 
     @Test
@@ -132,7 +178,7 @@ class PessoaControllerTest {
 
     @Test
     void deveRetornarConflictQuandoPessoaJaExiste() throws Exception {
-        PessoaRequestDTO req = new PessoaRequestDTO("João Silva","12345678901","joao.silva@email.com","11987654321");
+        PessoaRequestDTO req = new PessoaRequestDTO("João Silva","12345678062","joao.silva@email.com","11987654321");
 
         Mockito.when(pessoaService.create(any()))
                 .thenThrow(new PessoaAlreadyExistsException("CPF/CNPJ já está cadastrado: " + req.cpfCnpj()));
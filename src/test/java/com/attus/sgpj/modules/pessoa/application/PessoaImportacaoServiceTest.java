@@ -0,0 +1,181 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import com.attus.sgpj.modules.pessoa.application.PessoaCargaRepository.PessoaCarga;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaImportacaoResultadoDTO.ErroLinha;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.importacao.FalhaGravacao;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+// Sem a transação do teste: cada lote é confirmado na sua própria transação. O H2 exercita o caminho JDBC batch;
+// o caminho COPY + ON CONFLICT só é usado com o driver do PostgreSQL.
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({PessoaImportacaoService.class, PessoaCargaRepository.class, PessoaCpfCnpjFilter.class, CacheConfig.class,
+        SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class PessoaImportacaoServiceTest {
+
+    @Autowired
+    PessoaImportacaoService pessoaImportacaoService;
+
+    @Autowired
+    PessoaRepository pessoaRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from pessoa");
+    }
+
+    @Test
+    void deveInserirAtualizarEContarDuplicadosEInvalidos() throws IOException {
+        pessoaRepository.save(Pessoa.create("Nome Antigo", "98765432100", "antigo@email.com", "11888888888"));
+
+        PessoaImportacaoResultadoDTO resultado = importar(String.join("\n",
+                pessoa("João Silva", "123.456.789-09", "JOAO@email.com"),
+                pessoa("Maria Santos", "98765432100", "maria@email.com"),
+                pessoa("João Repetido", "12345678909", "outro@email.com"),
+                pessoa("Sem CPF", "123", "x@email.com"),
+                pessoa("CPF Errado", "123.456.789-00", "errado@email.com"),
+                pessoa("Email Ruim", "11144477735", "sem-arroba"),
+                "{ invalido",
+                "",
+                pessoa(" ", "52998224725", "vazio@email.com")));
+
+        assertThat(resultado.totalLinhas()).isEqualTo(8);
+        assertThat(resultado.inseridos()).isEqualTo(1);
+        assertThat(resultado.atualizados()).isEqualTo(1);
+        assertThat(resultado.duplicados()).isEqualTo(1);
+        assertThat(resultado.invalidos()).isEqualTo(5);
+        assertThat(resultado.erros()).extracting(ErroLinha::linha).containsExactly(4L, 5L, 6L, 7L, 9L);
+        assertThat(resultado.erros().get(0).mensagem()).isEqualTo("CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.");
+        assertThat(resultado.erros().get(1).mensagem()).isEqualTo("CPF inválido: dígitos verificadores não conferem.");
+
+        Pessoa joao = pessoaRepository.findByCpfCnpj(new CpfCnpj("12345678909")).orElseThrow();
+        assertThat(joao.getNomeCompleto()).isEqualTo("João Silva");
+        assertThat(joao.getEmail().getValue()).isEqualTo("joao@email.com");
+        Pessoa maria = pessoaRepository.findByCpfCnpj(new CpfCnpj("98765432100")).orElseThrow();
+        assertThat(maria.getNomeCompleto()).isEqualTo("Maria Santos");
+        assertThat(pessoaRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveImportarVariosLotes() throws IOException {
+        int total = PessoaImportacaoService.TAMANHO_LOTE + 10;
+        String arquivo = IntStream.range(0, total)
+                .mapToObj(i -> pessoa("Pessoa " + i, cpf(100_000_000 + i), "p" + i + "@email.com"))
+                .collect(Collectors.joining("\n"));
+
+        PessoaImportacaoResultadoDTO resultado = importar(arquivo);
+
+        assertThat(resultado.inseridos()).isEqualTo(total);
+        assertThat(resultado.erros()).isEmpty();
+        assertThat(pessoaRepository.count()).isEqualTo(total);
+    }
+
+    @Test
+    void deveInvalidarCachesDosLotesConfirmadosMesmoQuandoAImportacaoFalha() {
+        String primeiroLote = IntStream.range(0, PessoaImportacaoService.TAMANHO_LOTE)
+                .mapToObj(i -> pessoa("Pessoa " + i, cpf(100_000_000 + i), "p" + i + "@email.com") + "\n")
+                .collect(Collectors.joining());
+        String cpfDoPrimeiroLote = cpf(100_000_000);
+        cacheManager.getCache(CacheConfig.CPF_CNPJ_NAO_ENCONTRADO).put(cpfDoPrimeiroLote, Boolean.TRUE);
+        UUID processoId = UUID.randomUUID();
+        cacheManager.getCache(CacheConfig.PROCESSO).put(processoId, "em cache");
+
+        // O arquivo falha na leitura depois do primeiro lote
+        InputStream arquivo = new SequenceInputStream(
+                new ByteArrayInputStream(primeiroLote.getBytes(StandardCharsets.UTF_8)),
+                new InputStream() {
+                    @Override
+                    public int read() throws IOException {
+                        throw new IOException("conexão interrompida");
+                    }
+                });
+
+        assertThatThrownBy(() -> pessoaImportacaoService.importar(arquivo)).isInstanceOf(IOException.class);
+        assertThat(pessoaRepository.count()).isEqualTo(PessoaImportacaoService.TAMANHO_LOTE);
+        assertThat(cacheManager.getCache(CacheConfig.CPF_CNPJ_NAO_ENCONTRADO).get(cpfDoPrimeiroLote)).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROCESSO).get(processoId)).isNull();
+    }
+
+    @Test
+    void deveReportarLinhaRejeitadaPeloBancoSemExporOBanco() throws IOException {
+        PessoaImportacaoResultadoDTO resultado = importar(String.join("\n",
+                pessoa("João Silva", "12345678909", "joao@email.com"),
+                pessoa("N".repeat(300), "98765432100", "maria@email.com")));
+
+        assertThat(resultado.inseridos()).isEqualTo(1);
+        assertThat(resultado.invalidos()).isEqualTo(1);
+        assertThat(resultado.erros()).extracting(ErroLinha::linha, ErroLinha::mensagem)
+                .containsExactly(tuple(2L, FalhaGravacao.VALOR_INVALIDO));
+        assertThat(pessoaRepository.count()).isEqualTo(1);
+    }
+
+    @Test
+    void deveEscaparCamposNoCsvDoCopy() {
+        UUID id = UUID.fromString("00000000-0000-0000-0000-000000000001");
+        String csv = PessoaCargaRepository.paraCsv(List.of(
+                new PessoaCarga(id, "Ana \"Aninha\", Souza", 12345678909L, "ana@email.com", "11999999999")));
+
+        assertThat(csv).isEqualTo(id + ",\"Ana \"\"Aninha\"\", Souza\",12345678909,\"ana@email.com\",\"11999999999\"\n");
+    }
+
+    private PessoaImportacaoResultadoDTO importar(String conteudo) throws IOException {
+        return pessoaImportacaoService.importar(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    // CPF com os 9 dígitos da base e os verificadores calculados
+    private static String cpf(int base) {
+        String digitos = String.format("%09d", base);
+        for (int verificador = 0; verificador < 2; verificador++) {
+            int soma = 0;
+            for (int i = 0; i < digitos.length(); i++) {
+                soma += (digitos.charAt(i) - '0') * (digitos.length() + 1 - i);
+            }
+            digitos += soma % 11 < 2 ? 0 : 11 - soma % 11;
+        }
+        return digitos;
+    }
+
+    private String pessoa(String nome, String cpfCnpj, String email) {
+        return """
+                {"nomeCompleto":"%s","cpfCnpj":"%s","email":"%s","telefone":"(11) 99999-9999"}\
+                """.formatted(nome, cpfCnpj, email);
+    }
+}
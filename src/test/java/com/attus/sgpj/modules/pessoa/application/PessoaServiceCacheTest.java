@@ -0,0 +1,102 @@
+package com.attus.sgpj.modules.pessoa.application;
+
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaRequestDTO;
+import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, PessoaService.class, PessoaCpfCnpjCache.class})
+class PessoaServiceCacheTest {
+
+    @Autowired
+    PessoaService pessoaService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockitoBean
+    PessoaCpfCnpjFilter cpfCnpjFilter;
+
+    @MockitoBean
+    PessoaRepository pessoaRepository;
+
+    private UUID pessoaId;
+    private Pessoa pessoa;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(nome -> cacheManager.getCache(nome).clear());
+
+        pessoaId = UUID.randomUUID();
+        pessoa = Pessoa.create("Laura", "55566677720", "laura@email.com", "11911112222");
+        ReflectionTestUtils.setField(pessoa, "id", pessoaId);
+
+        when(pessoaRepository.findByCpfCnpj(new CpfCnpj("55566677720"))).thenReturn(Optional.of(pessoa));
+        when(pessoaRepository.findById(pessoaId)).thenReturn(Optional.of(pessoa));
+        when(pessoaRepository.save(any(Pessoa.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Test
+    void deveServirBuscaPorCpfCnpjDoCacheIndependenteDaFormatacao() {
+        pessoaService.findByCpfCnpj("555.666.777-20");
+        pessoaService.findByCpfCnpj("55566677720");
+
+        verify(pessoaRepository, times(1)).findByCpfCnpj(any());
+    }
+
+    @Test
+    void deveReaproveitarIdDaBuscaCompletaNaResolucaoDeId() {
+        pessoaService.findByCpfCnpj("55566677720");
+
+        assertThat(pessoaService.findIdByCpfCnpj("55566677720")).contains(pessoaId);
+        verify(pessoaRepository, never()).findIdByCpfCnpj(any());
+    }
+
+    @Test
+    void deveCachearCpfCnpjNaoEncontrado() {
+        assertThatThrownBy(() -> pessoaService.findByCpfCnpj("11144477735")).isInstanceOf(PessoaNotFoundException.class);
+        assertThatThrownBy(() -> pessoaService.findByCpfCnpj("11144477735")).isInstanceOf(PessoaNotFoundException.class);
+        assertThat(pessoaService.findIdByCpfCnpj("11144477735")).isEmpty();
+
+        verify(pessoaRepository, times(1)).findByCpfCnpj(new CpfCnpj("11144477735"));
+        verify(pessoaRepository, never()).findIdByCpfCnpj(any());
+    }
+
+    @Test
+    void deveRemoverRegistroNegativoAoCriarPessoa() {
+        assertThat(pessoaService.findIdByCpfCnpj("11144477735")).isEmpty();
+
+        pessoaService.create(new PessoaRequestDTO("Novo", "111.444.777-35", "novo@email.com", "11911112222"));
+        when(pessoaRepository.findIdByCpfCnpj(new CpfCnpj("11144477735"))).thenReturn(Optional.of(UUID.randomUUID()));
+
+        assertThat(pessoaService.findIdByCpfCnpj("11144477735")).isPresent();
+    }
+
+    @Test
+    void deveInvalidarCpfCnpjAnteriorENovoAoAtualizar() {
+        pessoaService.findByCpfCnpj("55566677720");
+        assertThat(pessoaService.findIdByCpfCnpj("99988877714")).isEmpty();
+
+        pessoaService.update(pessoaId, new PessoaRequestDTO("Laura", "99988877714", "laura@email.com", "11911112222"));
+
+        assertThat(cacheManager.getCache(CacheConfig.PESSOA_POR_CPF_CNPJ).get("55566677720")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PESSOA_ID_POR_CPF_CNPJ).get("55566677720")).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.CPF_CNPJ_NAO_ENCONTRADO).get("99988877714")).isNull();
+    }
+}
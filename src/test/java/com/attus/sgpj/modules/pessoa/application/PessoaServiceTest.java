@@ -6,16 +6,21 @@ import com.attus.sgpj.modules.pessoa.exception.PessoaAlreadyExistsException;
 import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
 import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.*;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -27,6 +32,12 @@ class PessoaServiceTest {
     @Mock
     PessoaRepository pessoaRepository;
 
+    @Mock
+    PessoaCpfCnpjCache cpfCnpjCache;
+
+    @Spy
+    PessoaCpfCnpjFilter cpfCnpjFilter = new PessoaCpfCnpjFilter(new SimpleMeterRegistry(), 1000, 0.01);
+
     @InjectMocks
     PessoaService pessoaService;
 
@@ -34,7 +45,7 @@ class PessoaServiceTest {
     void deveSalvarERetornarRespostaAoCriarPessoa() {
         PessoaRequestDTO req = new PessoaRequestDTO(
                 "João Silva",
-                "12345678901",
+                "12345678062",
                 "joao.silva@email.com",
                 "11987654321"
         );
@@ -59,7 +70,7 @@ class PessoaServiceTest {
 
     @Test
     void deveLancarExcecaoQuandoCpfJaExiste() {
-        PessoaRequestDTO req = new PessoaRequestDTO("João Silva", "12345678901", "joao.silva@email.com", "11987654321");
+        PessoaRequestDTO req = new PessoaRequestDTO("João Silva", "12345678062", "joao.silva@email.com", "11987654321");
         when(pessoaRepository.existsByCpfCnpj(new CpfCnpj(req.cpfCnpj()))).thenReturn(true);
 
         assertThrows(PessoaAlreadyExistsException.class, () -> pessoaService.create(req));
@@ -69,7 +80,7 @@ class PessoaServiceTest {
     void deveAtualizarERetornarRespostaAoAtualizarPessoa() {
         UUID id = UUID.randomUUID();
         PessoaRequestDTO req = new PessoaRequestDTO("Maria Souza", "98765432100", "maria.souza@email.com", "21987654321");
-        Pessoa pessoa = Pessoa.create("Antigo", "11122233344", "antigo@email.com", "11999998888");
+        Pessoa pessoa = Pessoa.create("Antigo", "11122233396", "antigo@email.com", "11999998888");
 
         when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoa));
         when(pessoaRepository.existsByCpfCnpj(new CpfCnpj(req.cpfCnpj()))).thenReturn(false);
@@ -84,8 +95,8 @@ class PessoaServiceTest {
     @Test
     void deveLancarExcecaoQuandoCpfJaExisteAoAtualizar() {
         UUID id = UUID.randomUUID();
-        PessoaRequestDTO req = new PessoaRequestDTO("João Silva", "99988877766", "joao@email.com", "11987654321");
-        Pessoa pessoa = Pessoa.create("Antigo", "11122233344", "antigo@email.com", "11999998888");
+        PessoaRequestDTO req = new PessoaRequestDTO("João Silva", "99988877714", "joao@email.com", "11987654321");
+        Pessoa pessoa = Pessoa.create("Antigo", "11122233396", "antigo@email.com", "11999998888");
 
         when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoa));
         when(pessoaRepository.existsByCpfCnpj(new CpfCnpj(req.cpfCnpj()))).thenReturn(true);
@@ -93,10 +104,49 @@ class PessoaServiceTest {
         assertThrows(PessoaAlreadyExistsException.class, () -> pessoaService.update(id, req));
     }
 
+    @Test
+    void deveAtualizarPessoaLegadaSemTrocarCpfCnpj() {
+        UUID id = UUID.randomUUID();
+        Pessoa pessoa = pessoaLegada("12345678900");
+        PessoaRequestDTO req = new PessoaRequestDTO("Nome Novo", "123.456.789-00", "novo@email.com", "11987654321");
+
+        when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoa));
+        when(pessoaRepository.save(any(Pessoa.class))).thenReturn(pessoa);
+
+        PessoaResponseDTO res = pessoaService.update(id, req);
+
+        assertEquals("Nome Novo", res.nomeCompleto());
+        assertEquals("12345678900", res.cpfCnpj());
+        verify(pessoaRepository, never()).existsByCpfCnpj(any());
+    }
+
+    @Test
+    void deveExigirDigitosVerificadoresAoTrocarCpfCnpjDePessoaLegada() {
+        UUID id = UUID.randomUUID();
+        PessoaRequestDTO req = new PessoaRequestDTO("Legado", "12345678901", "legado@email.com", "11987654321");
+
+        when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoaLegada("12345678900")));
+
+        assertThrows(InvalidFieldException.class, () -> pessoaService.update(id, req));
+        verify(pessoaRepository, never()).save(any());
+    }
+
+    @Test
+    void deveEncontrarPessoaLegadaPorCpfCnpj() {
+        Pessoa pessoa = pessoaLegada("12345678900");
+        UUID id = UUID.randomUUID();
+        when(pessoaRepository.findByCpfCnpj(CpfCnpj.chave("12345678900"))).thenReturn(Optional.of(pessoa));
+        when(pessoaRepository.findIdByCpfCnpj(CpfCnpj.chave("12345678900"))).thenReturn(Optional.of(id));
+
+        assertEquals("12345678900", pessoaService.findByCpfCnpj("123.456.789-00").cpfCnpj());
+        assertSame(pessoa, pessoaService.findDomainByCpfCnpj("123.456.789-00"));
+        assertEquals(Optional.of(id), pessoaService.findIdByCpfCnpj("123.456.789-00"));
+    }
+
     @Test
     void deveRetornarRespostaAoBuscarPessoaPorId() {
         UUID id = UUID.randomUUID();
-        Pessoa pessoa = Pessoa.create("Carlos Lima", "11122233344", "carlos@email.com", "31987654321");
+        Pessoa pessoa = Pessoa.create("Carlos Lima", "11122233396", "carlos@email.com", "31987654321");
         when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoa));
 
         PessoaResponseDTO res = pessoaService.findById(id);
@@ -114,7 +164,7 @@ class PessoaServiceTest {
 
     @Test
     void deveRetornarPaginaSemOrdenacaoAoBuscarPessoasPaginadas() {
-        Pessoa pessoa = Pessoa.create("Ana", "12345678901", "ana@email.com", "41999998888");
+        Pessoa pessoa = Pessoa.create("Ana", "12345678062", "ana@email.com", "41999998888");
         Page<Pessoa> page = new PageImpl<>(List.of(pessoa));
         when(pessoaRepository.findAll(any(Pageable.class))).thenReturn(page);
 
@@ -126,7 +176,7 @@ class PessoaServiceTest {
 
     @Test
     void deveRetornarPaginaAoBuscarPessoaPorNome() {
-        Pessoa pessoa = Pessoa.create("Pedro", "22233344455", "pedro@email.com", "21988887777");
+        Pessoa pessoa = Pessoa.create("Pedro", "22233344405", "pedro@email.com", "21988887777");
         Page<Pessoa> page = new PageImpl<>(List.of(pessoa));
         when(pessoaRepository.findByNomeCompletoContainingIgnoreCase(eq("pedro"), any(Pageable.class)))
                 .thenReturn(page);
@@ -139,11 +189,75 @@ class PessoaServiceTest {
 
     @Test
     void deveRetornarRespostaAoBuscarPessoaPorCpfCnpj() {
-        Pessoa pessoa = Pessoa.create("Laura", "55566677788", "laura@email.com", "11911112222");
-        when(pessoaRepository.findByCpfCnpj(new CpfCnpj("55566677788"))).thenReturn(Optional.of(pessoa));
+        Pessoa pessoa = Pessoa.create("Laura", "55566677720", "laura@email.com", "11911112222");
+        when(pessoaRepository.findByCpfCnpj(new CpfCnpj("55566677720"))).thenReturn(Optional.of(pessoa));
 
-        var res = pessoaService.findByCpfCnpj("55566677788");
+        var res = pessoaService.findByCpfCnpj("55566677720");
 
         assertEquals("Laura", res.nomeCompleto());
     }
-}
\ No newline at end of file
+
+    @Test
+    void deveRetornarDoCacheSemConsultarRepositorioAoBuscarPorCpfCnpj() {
+        PessoaResponseDTO cached = new PessoaResponseDTO(UUID.randomUUID(), "Laura", "55566677720", "laura@email.com", "11911112222", 0L);
+        when(cpfCnpjCache.getPessoa(new CpfCnpj("555.666.777-20"))).thenReturn(Optional.of(cached));
+
+        var res = pessoaService.findByCpfCnpj("555.666.777-20");
+
+        assertSame(cached, res);
+        verifyNoInteractions(pessoaRepository);
+    }
+
+    @Test
+    void deveRegistrarNaoEncontradoAoBuscarCpfCnpjInexistente() {
+        CpfCnpj cpfCnpj = new CpfCnpj("55566677720");
+        when(pessoaRepository.findByCpfCnpj(cpfCnpj)).thenReturn(Optional.empty());
+
+        assertThrows(PessoaNotFoundException.class, () -> pessoaService.findByCpfCnpj("55566677720"));
+
+        verify(cpfCnpjCache).putNaoEncontrado(cpfCnpj);
+    }
+
+    @Test
+    void deveLancarExcecaoSemConsultarRepositorioQuandoCpfCnpjEstiverNoCacheNegativo() {
+        when(cpfCnpjCache.isNaoEncontrado(new CpfCnpj("55566677720"))).thenReturn(true);
+
+        assertThrows(PessoaNotFoundException.class, () -> pessoaService.findByCpfCnpj("55566677720"));
+
+        verifyNoInteractions(pessoaRepository);
+    }
+
+    @Test
+    void deveInvalidarCpfCnpjAnteriorENovoAoAtualizar() {
+        UUID id = UUID.randomUUID();
+        Pessoa pessoa = Pessoa.create("Laura", "55566677720", "laura@email.com", "11911112222");
+        PessoaRequestDTO req = new PessoaRequestDTO("Laura", "99988877714", "laura@email.com", "11911112222");
+        when(pessoaRepository.findById(id)).thenReturn(Optional.of(pessoa));
+        when(pessoaRepository.existsByCpfCnpj(new CpfCnpj("99988877714"))).thenReturn(false);
+        when(pessoaRepository.save(pessoa)).thenReturn(pessoa);
+
+        pessoaService.update(id, req);
+
+        verify(cpfCnpjCache).evict(new CpfCnpj("55566677720"));
+        verify(cpfCnpjCache).evict(new CpfCnpj("99988877714"));
+    }
+
+    @Test
+    void naoDeveConsultarBancoQuandoFiltroGaranteCpfCnpjInexistente() {
+        cpfCnpjFilter.recarregar(1, Stream.of("55566677720"));
+        PessoaRequestDTO req = new PessoaRequestDTO("João Silva", "123.456.789-09", "joao.silva@email.com", "11987654321");
+        when(pessoaRepository.save(any(Pessoa.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        pessoaService.create(req);
+
+        verify(pessoaRepository, never()).existsByCpfCnpj(any());
+        verify(cpfCnpjFilter).registrar("12345678909");
+    }
+
+    // Registro gravado antes da verificação dos dígitos verificadores
+    private static Pessoa pessoaLegada(String cpfCnpj) {
+        Pessoa pessoa = Pessoa.create("Legado", "12345678062", "legado@email.com", "11999998888");
+        ReflectionTestUtils.setField(pessoa, "cpfCnpj", CpfCnpj.chave(cpfCnpj));
+        return pessoa;
+    }
+}
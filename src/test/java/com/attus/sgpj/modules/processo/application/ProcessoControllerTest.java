@@ -2,11 +2,23 @@ package com.attus.sgpj.modules.processo.application;
 
 import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
 import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import com.attus.sgpj.modules.acao.exception.AcaoNotFoundException;
 import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
+import com.attus.sgpj.modules.parteenvolvida.exception.ParteEnvolvidaNotFoundException;
+import com.attus.sgpj.modules.processo.domain.ResultadoTransicaoEnum;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoEstatisticasDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
 import com.attus.sgpj.modules.processo.exception.ProcessoNotFoundException;
+import com.attus.sgpj.shared.pagination.CursorPage;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
 import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -17,9 +29,14 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.io.OutputStream;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -39,17 +56,30 @@ class ProcessoControllerTest {
     @MockitoBean
     ProcessoService processoService;
 
+    @MockitoBean
+    ProcessoExportService processoExportService;
+
+    @MockitoBean
+    ProcessoImportacaoService processoImportacaoService;
+
+    @MockitoBean
+    ProcessoTransicaoLoteService processoTransicaoLoteService;
+
+    @MockitoBean
+    ProcessoEstatisticasService processoEstatisticasService;
+
     @Test
     void deveRetornarCreatedAoCriarProcesso() throws Exception {
-        ProcessoRequestDTO req = new ProcessoRequestDTO("12345678901234567890", "Processo de Teste", LocalDate.now());
+        ProcessoRequestDTO req = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste", LocalDate.now());
         ProcessoResponseDTO res = new ProcessoResponseDTO(
                 UUID.randomUUID(),
-                "12345678901234567890",
+                "12345678062234567890",
                 "Processo de Teste",
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.create(any())).thenReturn(res);
@@ -58,22 +88,23 @@ class ProcessoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.numero").value("12345678901234567890"))
+                .andExpect(jsonPath("$.numero").value("12345678062234567890"))
                 .andExpect(jsonPath("$.descricao").value("Processo de Teste"))
                 .andExpect(jsonPath("$.statusProcesso").value("ATIVO"));
     }
 
     @Test
     void deveRetornarCreatedAoCriarProcessoComConstrutorPadrao() throws Exception {
-        ProcessoRequestDTO req = new ProcessoRequestDTO("12345678901234567890", "Processo de Teste");
+        ProcessoRequestDTO req = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste");
         ProcessoResponseDTO res = new ProcessoResponseDTO(
                 UUID.randomUUID(),
-                "12345678901234567890",
+                "12345678062234567890",
                 "Processo de Teste",
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.create(any())).thenReturn(res);
@@ -82,7 +113,7 @@ class ProcessoControllerTest {
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(req)))
                 .andExpect(status().isCreated())
-                .andExpect(jsonPath("$.numero").value("12345678901234567890"))
+                .andExpect(jsonPath("$.numero").value("12345678062234567890"))
                 .andExpect(jsonPath("$.descricao").value("Processo de Teste"))
                 .andExpect(jsonPath("$.statusProcesso").value("ATIVO"));
     }
@@ -97,7 +128,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.findById(id)).thenReturn(res);
@@ -109,6 +141,63 @@ class ProcessoControllerTest {
                 .andExpect(jsonPath("$.descricao").value("Processo Consulta"));
     }
 
+    @Test
+    void deveRetornarETagAoBuscarProcessoPorId() throws Exception {
+        UUID id = UUID.randomUUID();
+        ProcessoResponseDTO res = new ProcessoResponseDTO(id, "09876543210987654321", "Processo Consulta",
+                LocalDate.now(), StatusProcessoEnum.ATIVO, List.of(), List.of(), 7L);
+
+        Mockito.when(processoService.findById(id)).thenReturn(res);
+
+        mockMvc.perform(get("/processo/{id}", id))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andExpect(jsonPath("$.versao").doesNotExist());
+
+        Mockito.verify(processoService, Mockito.never()).findVersaoById(any());
+    }
+
+    @Test
+    void deveRetornarNotModifiedSemMontarProcessoQuandoVersaoNaoMudou() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(processoService.findVersaoById(id)).thenReturn(new ProcessoVersaoDTO(7, StatusProcessoEnum.ATIVO));
+
+        mockMvc.perform(get("/processo/{id}", id).header("If-None-Match", "\"6\", W/\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"7\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(processoService, Mockito.never()).findById(any());
+    }
+
+    @Test
+    void deveRetornarProcessoCompletoQuandoVersaoMudou() throws Exception {
+        UUID id = UUID.randomUUID();
+        ProcessoResponseDTO res = new ProcessoResponseDTO(id, "09876543210987654321", "Processo Consulta",
+                LocalDate.now(), StatusProcessoEnum.ATIVO, List.of(), List.of(), 8L);
+
+        Mockito.when(processoService.findVersaoById(id)).thenReturn(new ProcessoVersaoDTO(8, StatusProcessoEnum.ATIVO));
+        Mockito.when(processoService.findById(id)).thenReturn(res);
+
+        mockMvc.perform(get("/processo/{id}", id).header("If-None-Match", "\"7\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"8\""))
+                .andExpect(jsonPath("$.numero").value("09876543210987654321"));
+    }
+
+    @Test
+    void deveExigirRevalidacaoTambemParaProcessoArquivado() throws Exception {
+        UUID id = UUID.randomUUID();
+
+        Mockito.when(processoService.findVersaoById(id)).thenReturn(new ProcessoVersaoDTO(12, StatusProcessoEnum.ARQUIVADO));
+
+        mockMvc.perform(get("/processo/{id}", id).header("If-None-Match", "\"12\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
     @Test
     void deveRetornarOkAoAtualizarProcesso() throws Exception {
         UUID id = UUID.randomUUID();
@@ -120,7 +209,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.update(eq(id), any())).thenReturn(res);
@@ -152,7 +242,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.findByStatus(StatusProcessoEnum.ATIVO, 0, 10))
@@ -180,7 +271,8 @@ class ProcessoControllerTest {
                 dataProcesso,
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.findByDataAbertura(dataInicial, dataFinal, 0, 10))
@@ -207,7 +299,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.findByPessoaId(pessoaId, 0, 10))
@@ -223,7 +316,7 @@ class ProcessoControllerTest {
 
     @Test
     void deveRetornarOkAoBuscarProcessosPorCpfCnpjParteEnvolvida() throws Exception {
-        String cpfCnpj = "12345678901";
+        String cpfCnpj = "12345678062";
         ProcessoResponseDTO dto = new ProcessoResponseDTO(
                 UUID.randomUUID(),
                 "55555555555555555555",
@@ -231,7 +324,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.findByCpfCnpjParteEnvolvida(cpfCnpj, 0, 10))
@@ -245,6 +339,268 @@ class ProcessoControllerTest {
                 .andExpect(jsonPath("$.content[0].descricao").value("Processo por CPF"));
     }
 
+    @Test
+    void deveRetornarEstatisticasDosContadores() throws Exception {
+        Mockito.when(processoEstatisticasService.findEstatisticas()).thenReturn(new ProcessoEstatisticasDTO(
+                3,
+                Map.of(StatusProcessoEnum.ATIVO, 2L, StatusProcessoEnum.SUSPENSO, 1L, StatusProcessoEnum.ARQUIVADO, 0L),
+                Map.of(YearMonth.of(2024, 1), 3L),
+                Map.of(TipoAcaoEnum.PETICAO, 4L),
+                Instant.parse("2024-01-31T12:00:00Z")));
+
+        mockMvc.perform(get("/processo/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.porStatus.ATIVO").value(2))
+                .andExpect(jsonPath("$.porMesAbertura['2024-01']").value(3))
+                .andExpect(jsonPath("$.acoesPorTipo.PETICAO").value(4));
+    }
+
+    @Test
+    void deveRetornarOkAoBuscarProcessosPorCursor() throws Exception {
+        ProcessoResponseDTO dto = new ProcessoResponseDTO(
+                UUID.randomUUID(),
+                "58585858585858585858",
+                "Processo por Cursor",
+                LocalDate.now(),
+                StatusProcessoEnum.ATIVO,
+                List.of(),
+                List.of(),
+                0L
+        );
+
+        Mockito.when(processoService.findByCursor("abc", 10, "numero", "asc"))
+                .thenReturn(new CursorPage<>(List.of(dto), "def", true));
+
+        mockMvc.perform(get("/processo/cursor")
+                        .param("cursor", "abc")
+                        .param("size", "10")
+                        .param("sortBy", "numero")
+                        .param("sortDirection", "asc"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].descricao").value("Processo por Cursor"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    void deveRetornarBadRequestAoBuscarProcessosComCursorInvalido() throws Exception {
+        Mockito.when(processoService.findByStatusCursor(eq(StatusProcessoEnum.ATIVO), eq("invalido"), eq(10), any(), any()))
+                .thenThrow(new InvalidCursorException("Cursor inválido: invalido"));
+
+        mockMvc.perform(get("/processo/cursor/status/{status}", "ATIVO")
+                        .param("cursor", "invalido"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("CURSOR_INVALIDO"));
+    }
+
+    @Test
+    void deveRetornarBadRequestAoBuscarProcessosPorCursorComSizeForaDoLimite() throws Exception {
+        for (String size : new String[]{"0", "-1", "101"}) {
+            mockMvc.perform(get("/processo/cursor").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"))
+                    .andExpect(jsonPath("$.message").value(CursorPage.TAMANHO_INVALIDO));
+            mockMvc.perform(get("/processo/cursor/status/{status}", "ATIVO").param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"));
+        }
+
+        Mockito.verifyNoInteractions(processoService);
+    }
+
+    @Test
+    void deveRetornarBadRequestAoBuscarProcessosPorCursorComDirecaoInvalida() throws Exception {
+        mockMvc.perform(get("/processo/cursor").param("sortDirection", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"))
+                .andExpect(jsonPath("$.message").value(CursorPage.DIRECAO_INVALIDA));
+        mockMvc.perform(get("/processo/cursor/data-abertura")
+                        .param("dataInicial", "2024-01-01")
+                        .param("dataFinal", "2024-12-31")
+                        .param("sortDirection", "xyz"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"));
+
+        Mockito.verifyNoInteractions(processoService);
+    }
+
+    @Test
+    void deveAceitarDirecaoEmQualquerCaixaNoCursor() throws Exception {
+        Mockito.when(processoService.findByCursor(null, 100, null, "DESC"))
+                .thenReturn(new CursorPage<>(List.of(), null, false));
+
+        mockMvc.perform(get("/processo/cursor").param("size", "100").param("sortDirection", "DESC"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hasNext").value(false));
+    }
+
+    @Test
+    void deveListarAcoesDoProcessoPorCursor() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        AcaoResponseDTO acao = new AcaoResponseDTO(UUID.randomUUID(), processoId, TipoAcaoEnum.PETICAO, "Petição Inicial", LocalDate.of(2024, 3, 2));
+
+        Mockito.when(processoService.findAcoes(processoId, TipoAcaoEnum.PETICAO, LocalDate.of(2024, 3, 1), LocalDate.of(2024, 3, 31), "abc", 5))
+                .thenReturn(new CursorPage<>(List.of(acao), "def", true));
+
+        mockMvc.perform(get("/processo/{id}/acoes", processoId)
+                        .param("tipo", "PETICAO")
+                        .param("dataInicial", "2024-03-01")
+                        .param("dataFinal", "2024-03-31")
+                        .param("cursor", "abc")
+                        .param("size", "5"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].descricao").value("Petição Inicial"))
+                .andExpect(jsonPath("$.nextCursor").value("def"))
+                .andExpect(jsonPath("$.hasNext").value(true));
+    }
+
+    @Test
+    void deveRetornarBadRequestAoListarAcoesEPartesComSizeForaDoLimite() throws Exception {
+        UUID processoId = UUID.randomUUID();
+
+        for (String size : new String[]{"0", "-1", "101"}) {
+            mockMvc.perform(get("/processo/{id}/acoes", processoId).param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"))
+                    .andExpect(jsonPath("$.message").value(CursorPage.TAMANHO_INVALIDO));
+            mockMvc.perform(get("/processo/{id}/partes-envolvidas", processoId).param("size", size))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.code").value("PARAMETRO_INVALIDO"))
+                    .andExpect(jsonPath("$.message").value(CursorPage.TAMANHO_INVALIDO));
+        }
+
+        Mockito.verifyNoInteractions(processoService);
+    }
+
+    @Test
+    void deveRetornarNotFoundAoListarPartesDeProcessoInexistente() throws Exception {
+        UUID processoId = UUID.randomUUID();
+
+        Mockito.when(processoService.findPartesEnvolvidas(processoId, null, null, 20))
+                .thenThrow(new ProcessoNotFoundException("Processo não encontrado com ID: " + processoId));
+
+        mockMvc.perform(get("/processo/{id}/partes-envolvidas", processoId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveExportarProcessosEmNdjson() throws Exception {
+        Mockito.when(processoExportService.exportar(eq(StatusProcessoEnum.ATIVO), eq(null), eq(null), any()))
+                .thenAnswer(invocation -> {
+                    OutputStream outputStream = invocation.getArgument(3);
+                    outputStream.write("{\"numero\":\"1\"}\n{\"numero\":\"2\"}\n".getBytes());
+                    return 2L;
+                });
+
+        MvcResult result = mockMvc.perform(get("/processo/export").param("status", "ATIVO"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"numero\":\"1\"}\n{\"numero\":\"2\"}\n"));
+    }
+
+    @Test
+    void deveImportarProcessosDeNdjsonERetornarRelatorio() throws Exception {
+        ProcessoImportacaoResultadoDTO resultado = new ProcessoImportacaoResultadoDTO(2, 1, 1,
+                List.of(new ProcessoImportacaoResultadoDTO.ErroLinha(2, null, "Número é obrigatório")));
+        Mockito.when(processoImportacaoService.importar(any())).thenReturn(resultado);
+
+        mockMvc.perform(post("/processo/import")
+                        .contentType("application/x-ndjson")
+                        .content("{\"numero\":\"1\"}\n{}\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.importados").value(1))
+                .andExpect(jsonPath("$.totalErros").value(1))
+                .andExpect(jsonPath("$.erros[0].linha").value(2))
+                .andExpect(jsonPath("$.erros[0].mensagem").value("Número é obrigatório"));
+    }
+
+    @Test
+    void deveTransicionarProcessosEmLoteERetornarResultadoPorProcesso() throws Exception {
+        UUID aplicado = UUID.randomUUID();
+        UUID rejeitado = UUID.randomUUID();
+        ProcessoTransicaoLoteResultadoDTO resultado = new ProcessoTransicaoLoteResultadoDTO(2, 1, 1, List.of(
+                new ProcessoTransicaoLoteResultadoDTO.ResultadoProcesso(aplicado, ResultadoTransicaoEnum.APLICADA, StatusProcessoEnum.ATIVO),
+                new ProcessoTransicaoLoteResultadoDTO.ResultadoProcesso(rejeitado, ResultadoTransicaoEnum.STATUS_INVALIDO, StatusProcessoEnum.ARQUIVADO)));
+        Mockito.when(processoTransicaoLoteService.transicionar(any())).thenReturn(resultado);
+
+        mockMvc.perform(post("/processo/transicoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"transicao\":\"SUSPENDER\",\"ids\":[\"" + aplicado + "\",\"" + rejeitado + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.aplicadas").value(1))
+                .andExpect(jsonPath("$.rejeitadas").value(1))
+                .andExpect(jsonPath("$.resultados[1].resultado").value("STATUS_INVALIDO"))
+                .andExpect(jsonPath("$.resultados[1].statusAnterior").value("ARQUIVADO"));
+    }
+
+    @Test
+    void deveRetornarBadRequestAoTransicionarEmLoteSemTransicao() throws Exception {
+        mockMvc.perform(post("/processo/transicoes")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"status\":\"ATIVO\"}"))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(processoTransicaoLoteService);
+    }
+
+    @Test
+    void deveListarResumosProntosParaArquivar() throws Exception {
+        ProcessoResumoDTO dto = new ProcessoResumoDTO(UUID.randomUUID(), "56565656565656565656", StatusProcessoEnum.SUSPENSO, LocalDate.of(2024, 6, 15));
+
+        Mockito.when(processoService.findResumoProntosParaArquivar(0, 10)).thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(get("/processo/resumo/prontos-para-arquivar"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].numero").value("56565656565656565656"))
+                .andExpect(jsonPath("$.content[0].statusProcesso").value("SUSPENSO"));
+    }
+
+    @Test
+    void deveRetornarOkAoBuscarResumosPaginados() throws Exception {
+        ProcessoResumoDTO dto = new ProcessoResumoDTO(
+                UUID.randomUUID(),
+                "56565656565656565656",
+                StatusProcessoEnum.ATIVO,
+                LocalDate.of(2024, 6, 15)
+        );
+
+        Mockito.when(processoService.findResumoPaged(0, 10, null, null))
+                .thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(get("/processo/resumo")
+                        .param("page", "0")
+                        .param("size", "10"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].numero").value("56565656565656565656"))
+                .andExpect(jsonPath("$.content[0].statusProcesso").value("ATIVO"))
+                .andExpect(jsonPath("$.content[0].dataAbertura").value("2024-06-15"))
+                .andExpect(jsonPath("$.content[0].partesEnvolvidas").doesNotExist())
+                .andExpect(jsonPath("$.content[0].acoes").doesNotExist());
+    }
+
+    @Test
+    void deveRetornarOkAoBuscarResumosPorStatus() throws Exception {
+        ProcessoResumoDTO dto = new ProcessoResumoDTO(
+                UUID.randomUUID(),
+                "57575757575757575757",
+                StatusProcessoEnum.SUSPENSO,
+                LocalDate.now()
+        );
+
+        Mockito.when(processoService.findResumoByStatus(StatusProcessoEnum.SUSPENSO, 0, 10))
+                .thenReturn(new PageImpl<>(List.of(dto)));
+
+        mockMvc.perform(get("/processo/resumo/status/{status}", "SUSPENSO"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content[0].statusProcesso").value("SUSPENSO"));
+    }
+
     @Test
     void deveRetornarOkAoAtivarProcesso() throws Exception {
         UUID id = UUID.randomUUID();
@@ -255,7 +611,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.ativar(id)).thenReturn(res);
@@ -276,7 +633,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.SUSPENSO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.suspender(id)).thenReturn(res);
@@ -297,7 +655,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ARQUIVADO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.arquivar(id)).thenReturn(res);
@@ -320,7 +679,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.addParteEnvolvida(eq(processoId), any())).thenReturn(res);
@@ -348,7 +708,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.addPartesEnvolvidas(eq(processoId), any())).thenReturn(res);
@@ -371,7 +732,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.removeParteEnvolvida(processoId, parteId)).thenReturn(res);
@@ -392,7 +754,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.addAcaoProcesso(eq(processoId), any())).thenReturn(res);
@@ -418,7 +781,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.addAcoesProcesso(eq(processoId), any())).thenReturn(res);
@@ -441,7 +805,8 @@ class ProcessoControllerTest {
                 LocalDate.now(),
                 StatusProcessoEnum.ATIVO,
                 List.of(),
-                List.of()
+                List.of(),
+                0L
         );
 
         Mockito.when(processoService.removeAcaoProcesso(processoId, acaoId)).thenReturn(res);
@@ -451,6 +816,146 @@ class ProcessoControllerTest {
                 .andExpect(jsonPath("$.descricao").value("Processo Sem Ação"));
     }
 
+    @Test
+    void deveRetornarNoContentAoSuspenderComRetornoMinimo() throws Exception {
+        UUID processoId = UUID.randomUUID();
+
+        mockMvc.perform(put("/processo/{id}/suspender", processoId)
+                        .header("Prefer", "respond-async, return=minimal"))
+                .andExpect(status().isNoContent())
+                .andExpect(header().string("Preference-Applied", "return=minimal"))
+                .andExpect(content().string(""));
+
+        Mockito.verify(processoService).suspenderSemAgregado(processoId);
+        Mockito.verify(processoService, Mockito.never()).suspender(any());
+    }
+
+    @Test
+    void deveRetornarAcaoCriadaComLocationNoModoDeRespostaMinima() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+        AcaoRequestDTO req = new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial");
+        AcaoResponseDTO res = new AcaoResponseDTO(acaoId, processoId, TipoAcaoEnum.PETICAO, "Petição Inicial", LocalDate.now());
+
+        Mockito.when(processoService.addAcaoProcessoSemAgregado(eq(processoId), any())).thenReturn(res);
+
+        mockMvc.perform(post("/processo/{id}/acoes", processoId)
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(req)))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/processo/" + processoId + "/acoes/" + acaoId))
+                .andExpect(jsonPath("$.id").value(acaoId.toString()))
+                .andExpect(jsonPath("$.tipo").value("PETICAO"));
+
+        Mockito.verify(processoService, Mockito.never()).addAcaoProcesso(any(), any());
+    }
+
+    @Test
+    void deveResolverLocationDaAcaoCriada() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+        AcaoResponseDTO res = new AcaoResponseDTO(acaoId, processoId, TipoAcaoEnum.PETICAO, "Petição Inicial", LocalDate.now());
+
+        Mockito.when(processoService.addAcaoProcessoSemAgregado(eq(processoId), any())).thenReturn(res);
+        Mockito.when(processoService.findAcao(processoId, acaoId)).thenReturn(res);
+
+        String location = mockMvc.perform(post("/processo/{id}/acoes", processoId)
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial"))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(acaoId.toString()))
+                .andExpect(jsonPath("$.descricao").value("Petição Inicial"));
+    }
+
+    @Test
+    void deveResolverLocationDaParteEnvolvidaCriada() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID parteId = UUID.randomUUID();
+        ParteEnvolvidaResponseDTO res = new ParteEnvolvidaResponseDTO(parteId, processoId, null, TipoParteEnvolvidaEnum.AUTOR);
+
+        Mockito.when(processoService.addParteEnvolvidaSemAgregado(eq(processoId), any())).thenReturn(res);
+        Mockito.when(processoService.findParteEnvolvida(processoId, parteId)).thenReturn(res);
+
+        String location = mockMvc.perform(post("/processo/{id}/partes-envolvidas", processoId)
+                        .header("Prefer", "return=minimal")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ParteEnvolvidaRequestDTO(UUID.randomUUID(), TipoParteEnvolvidaEnum.AUTOR))))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Location", "http://localhost/processo/" + processoId + "/partes-envolvidas/" + parteId))
+                .andReturn().getResponse().getHeader("Location");
+
+        mockMvc.perform(get(location))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(parteId.toString()))
+                .andExpect(jsonPath("$.tipo").value("AUTOR"));
+    }
+
+    @Test
+    void deveRetornarNotFoundAoBuscarParteEnvolvidaInexistente() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID parteId = UUID.randomUUID();
+
+        Mockito.when(processoService.findParteEnvolvida(processoId, parteId))
+                .thenThrow(new ParteEnvolvidaNotFoundException("Parte envolvida não encontrada com ID: " + parteId));
+
+        mockMvc.perform(get("/processo/{id}/partes-envolvidas/{parteId}", processoId, parteId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void deveRetornarNoContentAoRemoverParteEnvolvidaComRetornoMinimo() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID parteId = UUID.randomUUID();
+
+        mockMvc.perform(delete("/processo/{id}/partes-envolvidas/{parteId}", processoId, parteId)
+                        .header("Prefer", "return=minimal"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(processoService).removeParteEnvolvidaSemAgregado(processoId, parteId);
+    }
+
+    @Test
+    void deveRetornarNotFoundAoRemoverAcaoInexistenteComRetornoMinimo() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+
+        Mockito.doThrow(new AcaoNotFoundException("Ação não encontrada com ID: " + acaoId))
+                .when(processoService).removeAcaoProcessoSemAgregado(processoId, acaoId);
+
+        mockMvc.perform(delete("/processo/{id}/acoes/{acaoId}", processoId, acaoId)
+                        .header("Prefer", "return=minimal"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.code").value("ACAO_NOT_FOUND"));
+    }
+
+    @Test
+    void deveIgnorarOutrasPreferenciasERetornarAgregado() throws Exception {
+        UUID processoId = UUID.randomUUID();
+        ProcessoResponseDTO res = new ProcessoResponseDTO(
+                processoId,
+                "40404040404040404040",
+                "Processo Ativado",
+                LocalDate.now(),
+                StatusProcessoEnum.ATIVO,
+                List.of(),
+                List.of(),
+                0L
+        );
+
+        Mockito.when(processoService.ativar(processoId)).thenReturn(res);
+
+        mockMvc.perform(put("/processo/{id}/ativar", processoId)
+                        .header("Prefer", "return=representation"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.numero").value("40404040404040404040"));
+    }
+
     @Test
     void deveRetornarNotFoundAoBuscarProcessoInexistente() throws Exception {
         UUID id = UUID.randomUUID();
@@ -0,0 +1,184 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.TransicaoProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoEstatisticasDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteRequestDTO;
+import com.attus.sgpj.shared.config.CacheConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sem a transação do teste: as variações dos contadores só são aplicadas no commit
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProcessoEstatisticasService.class, ProcessoEstatisticas.class, ProcessoTransicaoLoteService.class,
+        ProcessoTransicaoRepository.class, CacheConfig.class, SimpleMeterRegistry.class})
+class ProcessoEstatisticasServiceTest {
+
+    @Autowired
+    ProcessoEstatisticasService processoEstatisticasService;
+
+    @Autowired
+    ProcessoEstatisticas estatisticas;
+
+    @Autowired
+    ProcessoTransicaoLoteService processoTransicaoLoteService;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from acao");
+        jdbcTemplate.update("delete from processo");
+        estatisticas.recarregar(Map.of(), Map.of(), Map.of());
+    }
+
+    @Test
+    void deveReconciliarComAsContagensDoBanco() {
+        Processo comAcoes = salvar("00000000000000000001", LocalDate.of(2024, 1, 10), StatusProcessoEnum.ATIVO);
+        salvar("00000000000000000002", LocalDate.of(2024, 1, 20), StatusProcessoEnum.SUSPENSO);
+        salvar("00000000000000000003", LocalDate.of(2024, 3, 5), StatusProcessoEnum.ARQUIVADO);
+        jdbcTemplate.update("update acao set deleted = true where processo_id = ? and tipo = 'AUDIENCIA'", comAcoes.getId());
+
+        processoEstatisticasService.reconciliar();
+        ProcessoEstatisticasDTO resultado = processoEstatisticasService.findEstatisticas();
+
+        assertThat(resultado.total()).isEqualTo(3);
+        assertThat(resultado.porStatus()).containsEntry(StatusProcessoEnum.ATIVO, 1L)
+                .containsEntry(StatusProcessoEnum.SUSPENSO, 1L)
+                .containsEntry(StatusProcessoEnum.ARQUIVADO, 1L);
+        assertThat(resultado.porMesAbertura()).containsExactly(
+                Map.entry(YearMonth.of(2024, 1), 2L), Map.entry(YearMonth.of(2024, 3), 1L));
+        // Ações removidas logicamente não entram
+        assertThat(resultado.acoesPorTipo()).containsEntry(TipoAcaoEnum.PETICAO, 3L)
+                .containsEntry(TipoAcaoEnum.AUDIENCIA, 2L)
+                .containsEntry(TipoAcaoEnum.SENTENCA, 0L);
+        assertThat(resultado.reconciliadoEm()).isNotNull();
+    }
+
+    @Test
+    void deveResponderSemConsultarOBancoDepoisDaReconciliacao() {
+        salvar("00000000000000000001", LocalDate.of(2024, 1, 10), StatusProcessoEnum.ATIVO);
+        processoEstatisticasService.reconciliar();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProcessoEstatisticasDTO resultado = processoEstatisticasService.findEstatisticas();
+
+        assertThat(resultado.total()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void deveReconciliarNumaUnicaTransacaoQuandoConsultadoAntesDeEstarPronto() {
+        salvar("00000000000000000001", LocalDate.of(2024, 1, 10), StatusProcessoEnum.ATIVO);
+        // As ações são as últimas lidas: confere a transação em que a leitura acontece
+        AcaoRepository acaoRepository = Mockito.mock(AcaoRepository.class);
+        List<Object> transacao = new ArrayList<>();
+        Mockito.when(acaoRepository.countPorTipo()).thenAnswer(invocacao -> {
+            transacao.add(TransactionSynchronizationManager.isActualTransactionActive());
+            transacao.add(TransactionSynchronizationManager.isCurrentTransactionReadOnly());
+            transacao.add(TransactionSynchronizationManager.getCurrentTransactionIsolationLevel());
+            return List.of();
+        });
+        ProcessoEstatisticasService naoReconciliado = new ProcessoEstatisticasService(processoRepository, acaoRepository,
+                new ProcessoEstatisticas(new SimpleMeterRegistry()), transactionManager);
+
+        ProcessoEstatisticasDTO resultado = naoReconciliado.findEstatisticas();
+
+        assertThat(resultado.total()).isEqualTo(1);
+        assertThat(transacao).containsExactly(true, true, TransactionDefinition.ISOLATION_REPEATABLE_READ);
+    }
+
+    @Test
+    void deveAplicarVariacoesSomenteAposOCommit() {
+        processoEstatisticasService.reconciliar();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            estatisticas.processoCriado(LocalDate.of(2024, 2, 1));
+            estatisticas.acoesAlteradas(TipoAcaoEnum.PETICAO, 1);
+            // Ainda não confirmadas
+            assertThat(estatisticas.snapshot().total()).isZero();
+        });
+        transactionTemplate.executeWithoutResult(status -> {
+            estatisticas.processoCriado(LocalDate.of(2024, 2, 1));
+            status.setRollbackOnly();
+        });
+
+        ProcessoEstatisticasDTO resultado = estatisticas.snapshot();
+        assertThat(resultado.porStatus()).containsEntry(StatusProcessoEnum.ATIVO, 1L);
+        assertThat(resultado.porMesAbertura()).containsEntry(YearMonth.of(2024, 2), 1L);
+        assertThat(resultado.acoesPorTipo()).containsEntry(TipoAcaoEnum.PETICAO, 1L);
+    }
+
+    @Test
+    void deveAcompanharTransicoesEmLoteEReconciliarDesvios() {
+        Processo ativo = salvar("00000000000000000001", LocalDate.of(2024, 1, 10), StatusProcessoEnum.ATIVO);
+        Processo suspenso = salvar("00000000000000000002", LocalDate.of(2024, 1, 10), StatusProcessoEnum.SUSPENSO);
+        processoEstatisticasService.reconciliar();
+
+        processoTransicaoLoteService.transicionar(new ProcessoTransicaoLoteRequestDTO(
+                TransicaoProcessoEnum.SUSPENDER, List.of(ativo.getId(), suspenso.getId()), null, null, null, null));
+
+        assertThat(estatisticas.snapshot().porStatus()).containsEntry(StatusProcessoEnum.ATIVO, 0L)
+                .containsEntry(StatusProcessoEnum.SUSPENSO, 2L);
+
+        // Escrita fora da aplicação: só a reconciliação percebe
+        jdbcTemplate.update("update processo set status_processo = 'ATIVO' where id = ?", suspenso.getId());
+        assertThat(estatisticas.snapshot().porStatus()).containsEntry(StatusProcessoEnum.SUSPENSO, 2L);
+
+        processoEstatisticasService.reconciliar();
+        assertThat(estatisticas.snapshot().porStatus()).containsEntry(StatusProcessoEnum.ATIVO, 1L)
+                .containsEntry(StatusProcessoEnum.SUSPENSO, 1L);
+    }
+
+    private Processo salvar(String numero, LocalDate dataAbertura, StatusProcessoEnum status) {
+        Processo processo = Processo.create(numero, "Processo " + numero, dataAbertura);
+        processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
+        processo.adicionarAcao(Acao.create(TipoAcaoEnum.AUDIENCIA, "Audiência", processo));
+        processo.setStatusProcesso(status);
+        return processoRepository.save(processo);
+    }
+}
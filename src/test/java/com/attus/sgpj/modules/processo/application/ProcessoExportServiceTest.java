@@ -0,0 +1,118 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ProcessoExportService.class)
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProcessoExportServiceTest {
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    ProcessoExportService processoExportService;
+
+    @BeforeEach
+    void setUp() {
+        Pessoa autor = entityManager.persist(Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+
+        for (int i = 0; i < 12; i++) {
+            Processo processo = Processo.create(String.format("%020d", i), "Processo " + i, LocalDate.of(2024, 1, 1).plusMonths(i));
+            processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
+            processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
+            if (i % 3 == 0) {
+                processo.suspender();
+            }
+            entityManager.persist(processo);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deveExportarTodosOsProcessosUmPorLinha() throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long total = processoExportService.exportar(null, null, null, outputStream);
+
+        List<ProcessoResponseDTO> linhas = lerLinhas(outputStream);
+        assertThat(total).isEqualTo(12);
+        assertThat(linhas).hasSize(12);
+        assertThat(linhas).allSatisfy(dto -> {
+            assertThat(dto.partesEnvolvidas()).hasSize(1);
+            assertThat(dto.partesEnvolvidas().get(0).pessoa().nomeCompleto()).isEqualTo("João Silva");
+            assertThat(dto.acoes()).hasSize(1);
+        });
+        // stream + partes/pessoas + ações de um único lote
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+    }
+
+    @Test
+    void deveExportarFiltrandoPorStatusEDataAbertura() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long total = processoExportService.exportar(StatusProcessoEnum.SUSPENSO,
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 6, 30), outputStream);
+
+        assertThat(total).isEqualTo(2);
+        assertThat(lerLinhas(outputStream)).extracting(ProcessoResponseDTO::numero)
+                .containsExactlyInAnyOrder(String.format("%020d", 0), String.format("%020d", 3));
+    }
+
+    @Test
+    void naoDeveEscreverNadaQuandoNaoHaProcessos() throws Exception {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        long total = processoExportService.exportar(StatusProcessoEnum.ARQUIVADO, null, null, outputStream);
+
+        assertThat(total).isZero();
+        assertThat(outputStream.size()).isZero();
+    }
+
+    private List<ProcessoResponseDTO> lerLinhas(ByteArrayOutputStream outputStream) throws Exception {
+        String conteudo = outputStream.toString(StandardCharsets.UTF_8);
+        assertThat(conteudo).endsWith("\n");
+
+        List<ProcessoResponseDTO> linhas = new ArrayList<>();
+        for (String linha : conteudo.split("\n")) {
+            linhas.add(objectMapper.readValue(linha, ProcessoResponseDTO.class));
+        }
+        return linhas;
+    }
+}
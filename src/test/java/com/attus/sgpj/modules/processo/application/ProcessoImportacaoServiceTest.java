@@ -0,0 +1,187 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.pessoa.application.PessoaCpfCnpjCache;
+import com.attus.sgpj.modules.pessoa.application.PessoaCpfCnpjFilter;
+import com.attus.sgpj.modules.pessoa.application.PessoaRepository;
+import com.attus.sgpj.modules.pessoa.application.PessoaService;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoImportacaoResultadoDTO.ErroLinha;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.importacao.FalhaGravacao;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+
+// Sem a transação do teste: cada lote precisa de fato ser confirmado (ou desfeito) na sua própria transação
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProcessoImportacaoService.class, ProcessoEstatisticas.class, ProcessoNumeroFilter.class, PessoaService.class, PessoaCpfCnpjCache.class,
+        PessoaCpfCnpjFilter.class, CacheConfig.class, SimpleMeterRegistry.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+class ProcessoImportacaoServiceTest {
+
+    @Autowired
+    ProcessoImportacaoService processoImportacaoService;
+
+    @MockitoSpyBean
+    ProcessoRepository processoRepository;
+
+    @Autowired
+    PessoaRepository pessoaRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    private Pessoa autor;
+
+    @BeforeEach
+    void setUp() {
+        autor = pessoaRepository.save(Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+        pessoaRepository.save(Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from acao");
+        jdbcTemplate.update("delete from parte_envolvida");
+        jdbcTemplate.update("delete from processo");
+        jdbcTemplate.update("delete from pessoa");
+    }
+
+    @Test
+    void deveImportarProcessosCompletosComPartesPorIdECpfCnpj() throws IOException {
+        ProcessoImportacaoResultadoDTO resultado = importar(linha("00000000000000000001") + "\n\n" + linha("00000000000000000002"));
+
+        assertThat(resultado.totalLinhas()).isEqualTo(2);
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.erros()).isEmpty();
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Processo processo = processoRepository.findAll().stream()
+                    .filter(p -> p.getNumero().equals("00000000000000000002"))
+                    .findFirst().orElseThrow();
+            assertThat(processo.getParteEnvolvidas()).extracting(parte -> parte.getPessoa().getCpfCnpj().getValue())
+                    .containsExactlyInAnyOrder("12345678909", "98765432100");
+            assertThat(processo.getAcoes()).hasSize(2);
+        });
+    }
+
+    @Test
+    void deveReportarErrosPorLinhaSemInterromperArquivo() throws IOException {
+        importar(linha("00000000000000000009"));
+
+        String arquivo = String.join("\n",
+                linha("00000000000000000001"),
+                "{ invalido",
+                "{\"descricao\":\"Sem número\",\"dataAbertura\":\"2024-01-01\"}",
+                linha("00000000000000000001"),
+                linha("00000000000000000009"),
+                linha("00000000000000000003").replace("987.654.321-00", "529.982.247-25"),
+                linha("00000000000000000004").replace("987.654.321-00", "123"),
+                linha("00000000000000000005"));
+
+        ProcessoImportacaoResultadoDTO resultado = importar(arquivo);
+
+        assertThat(resultado.totalLinhas()).isEqualTo(8);
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.totalErros()).isEqualTo(6);
+        assertThat(resultado.erros()).extracting(ErroLinha::linha).containsExactly(2L, 3L, 4L, 5L, 6L, 7L);
+        assertThat(resultado.erros().get(1).mensagem()).isEqualTo("Número é obrigatório");
+        assertThat(resultado.erros().get(2).mensagem()).isEqualTo("Número '00000000000000000001' repetido no arquivo (linha 1)");
+        assertThat(resultado.erros().get(3).mensagem()).isEqualTo("Um processo com número '00000000000000000009' já está cadastrado");
+        assertThat(resultado.erros().get(4).mensagem()).isEqualTo("Pessoa não encontrada com CPF/CNPJ: 529.982.247-25");
+        assertThat(processoRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void deveRegravarLinhaALinhaQuandoLoteFalhaNoBanco() throws IOException {
+        String numeroLongoDemais = "9".repeat(300);
+
+        ProcessoImportacaoResultadoDTO resultado = importar(String.join("\n",
+                linha("00000000000000000001"), linha(numeroLongoDemais), linha("00000000000000000002")));
+
+        assertThat(resultado.importados()).isEqualTo(2);
+        assertThat(resultado.erros()).extracting(ErroLinha::linha, ErroLinha::mensagem)
+                .containsExactly(tuple(2L, FalhaGravacao.VALOR_INVALIDO));
+        assertThat(processoRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveReportarNumeroGravadoPorOutraRequisicaoSemExporOBanco() throws IOException {
+        importar(linha("00000000000000000001"));
+        // Simula a corrida: o número foi gravado depois da consulta de existentes do lote
+        Mockito.doReturn(List.of()).when(processoRepository).findNumerosExistentes(any());
+
+        ProcessoImportacaoResultadoDTO resultado = importar(String.join("\n",
+                linha("00000000000000000001"), linha("00000000000000000002")));
+
+        assertThat(resultado.importados()).isEqualTo(1);
+        assertThat(resultado.erros()).extracting(ErroLinha::linha, ErroLinha::mensagem)
+                .containsExactly(tuple(1L, FalhaGravacao.RESTRICAO));
+        assertThat(processoRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void deveGravarEmLotesComPoucosStatements() throws IOException {
+        String arquivo = IntStream.range(0, 200)
+                .mapToObj(i -> linha(String.format("%020d", i)))
+                .collect(Collectors.joining("\n"));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProcessoImportacaoResultadoDTO resultado = importar(arquivo);
+
+        // 200 processos, 400 partes e 400 ações: um statement por lote JDBC de 50, não um por linha
+        assertThat(resultado.importados()).isEqualTo(200);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1000);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(3 + 1000 / 50 + 3);
+    }
+
+    private ProcessoImportacaoResultadoDTO importar(String conteudo) throws IOException {
+        return processoImportacaoService.importar(new ByteArrayInputStream(conteudo.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private String linha(String numero) {
+        return """
+                {"numero":"%s","descricao":"Processo importado","dataAbertura":"2024-01-01",\
+                "partesEnvolvidas":[{"pessoaId":"%s","tipo":"AUTOR"},{"cpfCnpj":"987.654.321-00","tipo":"REU"}],\
+                "acoes":[{"tipo":"PETICAO","descricao":"Petição Inicial"},{"tipo":"AUDIENCIA","descricao":"Audiência"}]}\
+                """.formatted(numero, autor.getId());
+    }
+}
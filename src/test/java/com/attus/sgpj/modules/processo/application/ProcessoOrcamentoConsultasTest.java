@@ -0,0 +1,89 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.pessoa.application.PessoaRepository;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.shared.metricas.ConsultasSql;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Comandos SQL por requisição pela pilha HTTP completa: pega lazy loading novo no mapeamento para DTO, que os testes
+// de serviço não enxergam
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProcessoOrcamentoConsultasTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    @Autowired
+    PessoaRepository pessoaRepository;
+
+    private UUID processoId;
+
+    @BeforeAll
+    void carregarMassa() {
+        Pessoa autor = pessoaRepository.save(Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+        Pessoa reu = pessoaRepository.save(Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888"));
+        for (int i = 0; i < 20; i++) {
+            Processo processo = Processo.create(String.format("%020d", i), "Processo " + i, LocalDate.of(2024, 1, 1).plusDays(i));
+            processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
+            processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
+            processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
+            processo.adicionarAcao(Acao.create(TipoAcaoEnum.AUDIENCIA, "Audiência", processo));
+            processoId = processoRepository.save(processo).getId();
+        }
+    }
+
+    @Test
+    void deveBuscarPorIdDentroDoOrcamento() throws Exception {
+        mockMvc.perform(get("/processo/{id}", processoId))
+                .andExpect(status().isOk())
+                .andExpect(ConsultasSql.noMaximo(3));
+    }
+
+    // count + página + partes/pessoas + ações, qualquer que seja o tamanho da página
+    @Test
+    void deveListarSemNMais1() throws Exception {
+        int pequena = ConsultasSql.executadas(mockMvc.perform(get("/processo").param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(ConsultasSql.noMaximo(4))
+                .andReturn());
+        int grande = ConsultasSql.executadas(mockMvc.perform(get("/processo").param("size", "20"))
+                .andExpect(status().isOk())
+                .andReturn());
+
+        assertThat(grande).isEqualTo(pequena);
+    }
+
+    @Test
+    void deveListarPorPessoaDentroDoOrcamento() throws Exception {
+        mockMvc.perform(get("/processo/pessoa/cpf-cnpj/{cpfCnpj}", "12345678909").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(ConsultasSql.noMaximo(5));
+    }
+}
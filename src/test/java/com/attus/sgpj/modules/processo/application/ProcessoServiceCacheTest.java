@@ -0,0 +1,139 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.application.ParteEnvolvidaRepository;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.pessoa.application.PessoaService;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.shared.config.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest(classes = {CacheConfig.class, ProcessoService.class})
+class ProcessoServiceCacheTest {
+
+    @Autowired
+    ProcessoService processoService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockitoBean
+    ProcessoNumeroFilter numeroFilter;
+
+    @MockitoBean
+    ProcessoRepository processoRepository;
+
+    @MockitoBean
+    PessoaService pessoaService;
+
+    @MockitoBean
+    AcaoRepository acaoRepository;
+
+    @MockitoBean
+    ParteEnvolvidaRepository parteEnvolvidaRepository;
+
+    @MockitoBean
+    ProcessoComposicaoRepository processoComposicaoRepository;
+
+    @MockitoBean
+    ProcessoEstatisticas estatisticas;
+
+    private UUID processoId;
+    private Processo processo;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.PROCESSO).clear();
+
+        processoId = UUID.randomUUID();
+        processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+        processo.setId(processoId);
+
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
+        when(processoRepository.save(any(Processo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(processoComposicaoRepository.alterar(any(), any())).thenReturn(true);
+    }
+
+    @Test
+    void deveServirBuscaPorIdDoCache() {
+        ProcessoResponseDTO primeira = processoService.findById(processoId);
+        ProcessoResponseDTO segunda = processoService.findById(processoId);
+
+        assertThat(segunda).isSameAs(primeira);
+        verify(processoRepository, times(1)).findById(processoId);
+    }
+
+    @Test
+    void deveInvalidarCacheAoAtualizar() {
+        assertInvalidaCache(id -> processoService.update(id, new ProcessoRequestDTO("99999999999999999999", "Atualizado", LocalDate.now())));
+    }
+
+    @Test
+    void deveInvalidarCacheAoSuspenderEAtivar() {
+        assertInvalidaCache(processoService::suspender);
+        assertInvalidaCache(processoService::ativar);
+    }
+
+    @Test
+    void deveInvalidarCacheAoAdicionarAcao() {
+        assertInvalidaCache(id -> processoService.addAcaoProcesso(id, new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial")));
+    }
+
+    @Test
+    void deveInvalidarCacheAoRemoverParteEnvolvida() {
+        when(parteEnvolvidaRepository.findTipoByIdAndProcessoId(any(), eq(processoId))).thenReturn(Optional.of(TipoParteEnvolvidaEnum.AUTOR));
+        when(parteEnvolvidaRepository.inativar(any())).thenReturn(1);
+
+        assertInvalidaCache(id -> processoService.removeParteEnvolvida(id, UUID.randomUUID()));
+    }
+
+    @Test
+    void deveInvalidarCacheNoModoDeRespostaMinima() {
+        when(acaoRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        assertInvalidaCache(processoService::suspenderSemAgregado);
+        assertInvalidaCache(id -> processoService.addAcaoProcessoSemAgregado(id, new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial")));
+    }
+
+    @Test
+    void deveManterOutrasEntradasAoInvalidar() {
+        UUID outroId = UUID.randomUUID();
+        Processo outro = Processo.create("00000000000000000001", "Outro", LocalDate.now());
+        outro.setId(outroId);
+        when(processoRepository.findById(outroId)).thenReturn(Optional.of(outro));
+
+        processoService.findById(outroId);
+        processoService.suspender(processoId);
+        processoService.findById(outroId);
+
+        verify(processoRepository, times(1)).findById(outroId);
+    }
+
+    private void assertInvalidaCache(Consumer<UUID> mutacao) {
+        processoService.findById(processoId);
+        assertThat(cacheManager.getCache(CacheConfig.PROCESSO).get(processoId)).isNotNull();
+
+        mutacao.accept(processoId);
+
+        assertThat(cacheManager.getCache(CacheConfig.PROCESSO).get(processoId)).isNull();
+    }
+}
@@ -0,0 +1,583 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import com.attus.sgpj.modules.acao.exception.AcaoNotFoundException;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
+import com.attus.sgpj.modules.pessoa.application.PessoaCpfCnpjCache;
+import com.attus.sgpj.modules.pessoa.application.PessoaCpfCnpjFilter;
+import com.attus.sgpj.modules.pessoa.application.PessoaService;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.domain.dto.PessoaRequestDTO;
+import com.attus.sgpj.modules.processo.domain.ComposicaoProcesso;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
+import com.attus.sgpj.modules.processo.exception.ProcessoInvalidStateTransitionException;
+import com.attus.sgpj.modules.processo.exception.ProcessoNotFoundException;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.pagination.CursorPage;
+import com.attus.sgpj.shared.pagination.exception.InvalidCursorException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ProcessoService.class, ProcessoComposicaoRepository.class, ProcessoEstatisticas.class, ProcessoNumeroFilter.class, PessoaService.class, PessoaCpfCnpjCache.class,
+        PessoaCpfCnpjFilter.class, CacheConfig.class, SimpleMeterRegistry.class})
+class ProcessoServiceConsultasTest {
+
+    // count + página + partes/pessoas + ações
+    private static final long CONSULTAS_POR_PAGINA = 4;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    ProcessoService processoService;
+
+    @Autowired
+    PessoaService pessoaService;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    private Pessoa autor;
+
+    @BeforeEach
+    void setUp() {
+        autor = entityManager.persist(Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+        Pessoa reu = entityManager.persist(Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888"));
+
+        for (int i = 0; i < 25; i++) {
+            Processo processo = Processo.create(String.format("%020d", i), "Processo " + i, LocalDate.of(2024, 1, 1).plusDays(i));
+            processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
+            processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
+            processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
+            processo.adicionarAcao(Acao.create(TipoAcaoEnum.AUDIENCIA, "Audiência", processo));
+            entityManager.persist(processo);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void deveListarPaginadoComQuantidadeConstanteDeConsultas() {
+        assertConsultasConstantes(size -> processoService.findPaged(0, size, "numero", "asc"));
+    }
+
+    @Test
+    void deveListarPorStatusComQuantidadeConstanteDeConsultas() {
+        assertConsultasConstantes(size -> processoService.findByStatus(StatusProcessoEnum.ATIVO, 0, size));
+    }
+
+    @Test
+    void deveListarPorDataAberturaComQuantidadeConstanteDeConsultas() {
+        assertConsultasConstantes(size -> processoService.findByDataAbertura(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31), 0, size));
+    }
+
+    @Test
+    void deveListarPorPessoaComQuantidadeConstanteDeConsultas() {
+        assertConsultasConstantes(size -> processoService.findByPessoaId(autor.getId(), 0, size));
+    }
+
+    @Test
+    void deveListarPorCpfCnpjComQuantidadeConstanteDeConsultas() {
+        // + resolução do id da pessoa; o cache só é preenchido no commit, que não ocorre neste teste
+        assertConsultasConstantes(size -> processoService.findByCpfCnpjParteEnvolvida("123.456.789-09", 0, size),
+                CONSULTAS_POR_PAGINA + 1);
+    }
+
+    @Test
+    void deveListarProcessoUmaVezPorPessoaComMaisDeUmPapel() {
+        Pessoa terceiro = entityManager.persist(Pessoa.create("Carlos Lima", "11144477735", "carlos.lima@email.com", "11777777777"));
+        for (int i = 0; i < 3; i++) {
+            Processo processo = entityManager.find(Processo.class, processoIdPorNumero(i));
+            entityManager.persist(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.ADVOGADO));
+            entityManager.persist(ParteEnvolvida.create(terceiro, processo, TipoParteEnvolvidaEnum.REU));
+            entityManager.persist(ParteEnvolvida.create(terceiro, processo, TipoParteEnvolvidaEnum.ADVOGADO));
+        }
+        entityManager.flush();
+        // Participação removida não conta
+        entityManager.getEntityManager()
+                .createNativeQuery("update parte_envolvida set deleted = true where pessoa_id = :pessoaId and processo_id = :processoId")
+                .setParameter("pessoaId", terceiro.getId())
+                .setParameter("processoId", processoIdPorNumero(2))
+                .executeUpdate();
+        entityManager.clear();
+
+        Page<ProcessoResponseDTO> doAutor = processoService.findByPessoaId(autor.getId(), 0, 10);
+        Page<ProcessoResumoDTO> resumosDoTerceiro = processoService.findResumoByPessoaId(terceiro.getId(), 0, 10);
+
+        assertThat(doAutor.getTotalElements()).isEqualTo(25);
+        assertThat(doAutor.getContent()).hasSize(10);
+        assertThat(doAutor.getContent()).extracting(dto -> dto.id().toString()).isSorted().doesNotHaveDuplicates();
+        assertThat(resumosDoTerceiro.getTotalElements()).isEqualTo(2);
+        assertThat(resumosDoTerceiro.getContent()).extracting(ProcessoResumoDTO::numero)
+                .containsExactlyInAnyOrder(String.format("%020d", 0), String.format("%020d", 1));
+    }
+
+    @Test
+    void devePercorrerProcessosDaPessoaPorCursorSemContagem() {
+        List<ProcessoResponseDTO> percorridos = new ArrayList<>();
+        String cursor = null;
+        do {
+            entityManager.clear();
+            String atual = cursor;
+            // página + partes/pessoas + ações, sem count
+            CursorPage<ProcessoResponseDTO> page = contarConsultas(
+                    () -> processoService.findByPessoaIdCursor(autor.getId(), atual, 10, "id", "asc"), 3);
+            percorridos.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(percorridos).hasSize(25);
+        assertThat(percorridos).extracting(dto -> dto.id().toString()).isSorted().doesNotHaveDuplicates();
+        assertThat(processoService.findByCpfCnpjParteEnvolvidaCursor("11144477735", null, 10, null, null).content()).isEmpty();
+    }
+
+    @Test
+    void deveRetornarPaginaVaziaSemListarQuandoCpfCnpjNaoCadastrado() {
+        Page<ProcessoResponseDTO> page = contarConsultas(
+                () -> processoService.findByCpfCnpjParteEnvolvida("11144477735", 0, 10), 1);
+
+        assertThat(page.getContent()).isEmpty();
+        assertThat(page.getTotalElements()).isZero();
+    }
+
+    @Test
+    void deveBuscarPorIdComQuantidadeConstanteDeConsultas() {
+        Processo processo = entityManager.getEntityManager()
+                .createQuery("select p from Processo p where p.numero = :numero", Processo.class)
+                .setParameter("numero", String.format("%020d", 0))
+                .getSingleResult();
+        entityManager.clear();
+
+        ProcessoResponseDTO resultado = contarConsultas(() -> processoService.findById(processo.getId()), 3);
+
+        assertThat(resultado.partesEnvolvidas()).hasSize(2);
+        assertThat(resultado.acoes()).hasSize(2);
+    }
+
+    @Test
+    void deveAdicionarAcaoNoModoMinimoSemCarregarProcesso() {
+        UUID processoId = processoIdPorNumero(0);
+        long versao = processoService.findVersaoById(processoId).versao();
+        entityManager.clear();
+
+        // update da composição e da versão (que confere o status) + insert da ação
+        AcaoResponseDTO acao = contarConsultas(() -> {
+            AcaoResponseDTO criada = processoService.addAcaoProcessoSemAgregado(processoId,
+                    new AcaoRequestDTO(TipoAcaoEnum.SENTENCA, "Sentença"));
+            entityManager.flush();
+            return criada;
+        }, 2);
+
+        assertThat(acao.id()).isNotNull();
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+        assertThat(processoService.findVersaoById(processoId).versao()).isEqualTo(versao + 1);
+        assertThat(processoRepository.findById(processoId).orElseThrow().getComposicao().quantidade(TipoAcaoEnum.SENTENCA)).isEqualTo(1);
+    }
+
+    @Test
+    void deveAdicionarAcaoComCustoIndependenteDaQuantidadeDeAcoes() {
+        UUID processoId = processoIdPorNumero(1);
+        processoService.addAcoesProcessoSemAgregado(processoId, IntStream.range(0, 200)
+                .mapToObj(i -> new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição " + i))
+                .toList());
+        entityManager.flush();
+        entityManager.clear();
+
+        contarConsultas(() -> {
+            processoService.addAcaoProcessoSemAgregado(processoId, new AcaoRequestDTO(TipoAcaoEnum.AUDIENCIA, "Audiência"));
+            entityManager.flush();
+            return null;
+        }, 2);
+
+        ComposicaoProcesso composicao = processoRepository.findById(processoId).orElseThrow().getComposicao();
+        assertThat(composicao.quantidade(TipoAcaoEnum.PETICAO)).isEqualTo(201);
+        assertThat(composicao.quantidade(TipoAcaoEnum.AUDIENCIA)).isEqualTo(2);
+    }
+
+    @Test
+    void deveRemoverAcaoPorExclusaoLogicaSemCarregarProcesso() {
+        UUID processoId = processoIdPorNumero(0);
+        UUID acaoId = processoService.findAcoes(processoId, TipoAcaoEnum.AUDIENCIA, null, null, null, 1).content().get(0).id();
+        entityManager.clear();
+
+        // tipo da ação + exclusão lógica + update da composição
+        contarConsultas(() -> {
+            processoService.removeAcaoProcessoSemAgregado(processoId, acaoId);
+            entityManager.flush();
+            return null;
+        }, 3);
+
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+        assertThat(processoService.findAcoes(processoId, TipoAcaoEnum.AUDIENCIA, null, null, null, 10).content()).isEmpty();
+        assertThat(processoRepository.findById(processoId).orElseThrow().getComposicao().quantidade(TipoAcaoEnum.AUDIENCIA)).isZero();
+        assertThatThrownBy(() -> processoService.removeAcaoProcessoSemAgregado(processoId, acaoId))
+                .isInstanceOf(AcaoNotFoundException.class);
+    }
+
+    @Test
+    void deveRejeitarInclusaoEmProcessoArquivadoPeloStatusGravado() {
+        UUID processoId = completarRequisitosDeArquivamento();
+        processoService.arquivarSemAgregado(processoId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> processoService.addAcaoProcessoSemAgregado(processoId,
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição")))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+        assertThatThrownBy(() -> processoService.addParteEnvolvidaSemAgregado(processoId,
+                new ParteEnvolvidaRequestDTO(autor.getId(), TipoParteEnvolvidaEnum.AUTOR)))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+        assertThatThrownBy(() -> processoService.addAcaoProcessoSemAgregado(UUID.randomUUID(),
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição")))
+                .isInstanceOf(ProcessoNotFoundException.class);
+    }
+
+    // O arquivamento foi decidido sobre a composição completa: remover uma parte ou ação depois dele deixaria arquivado
+    // um processo que já não cumpre os requisitos, sem caminho de volta (arquivado não é reativado)
+    @Test
+    void deveRejeitarRemocaoEAtualizacaoEmProcessoArquivado() {
+        UUID processoId = processoIdPorNumero(0);
+        UUID advogadoId = processoService.addParteEnvolvidaSemAgregado(processoId,
+                new ParteEnvolvidaRequestDTO(autor.getId(), TipoParteEnvolvidaEnum.ADVOGADO)).id();
+        UUID sentencaId = processoService.addAcaoProcessoSemAgregado(processoId,
+                new AcaoRequestDTO(TipoAcaoEnum.SENTENCA, "Sentença")).id();
+        processoService.arquivarSemAgregado(processoId);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThatThrownBy(() -> processoService.removeAcaoProcessoSemAgregado(processoId, sentencaId))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class)
+                .hasMessage("Não é possível alterar um processo arquivado.");
+        assertThatThrownBy(() -> processoService.removeParteEnvolvidaSemAgregado(processoId, advogadoId))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+        assertThatThrownBy(() -> processoService.updateSemAgregado(processoId,
+                new ProcessoRequestDTO(String.format("%020d", 999), "Outra descrição", LocalDate.of(2020, 1, 1))))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+        entityManager.clear();
+        assertThat(processoRepository.findById(processoId).orElseThrow().podeArquivar()).isTrue();
+    }
+
+    @Test
+    void deveMontarRespostaComAcaoIncluidaNaVarianteCompleta() {
+        UUID processoId = processoIdPorNumero(0);
+
+        ProcessoResponseDTO resposta = processoService.addAcaoProcesso(processoId, new AcaoRequestDTO(TipoAcaoEnum.SENTENCA, "Sentença"));
+
+        assertThat(resposta.acoes()).extracting(AcaoResponseDTO::tipo)
+                .containsExactlyInAnyOrder(TipoAcaoEnum.PETICAO, TipoAcaoEnum.AUDIENCIA, TipoAcaoEnum.SENTENCA);
+        assertThat(resposta.partesEnvolvidas()).hasSize(2);
+    }
+
+    @Test
+    void deveArquivarPelaComposicaoSemCarregarPartesEAcoes() {
+        UUID processoId = completarRequisitosDeArquivamento();
+
+        // select do processo + update do status
+        contarConsultas(() -> {
+            processoService.arquivarSemAgregado(processoId);
+            entityManager.flush();
+            return null;
+        }, 2);
+
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getCollectionLoadCount()).isZero();
+        assertThat(processoService.findVersaoById(processoId).statusProcesso()).isEqualTo(StatusProcessoEnum.ARQUIVADO);
+    }
+
+    @Test
+    void deveListarProcessosProntosParaArquivar() {
+        UUID processoId = completarRequisitosDeArquivamento();
+
+        Page<ProcessoResumoDTO> page = contarConsultas(() -> processoService.findResumoProntosParaArquivar(0, 10), 1);
+
+        assertThat(page.getContent()).extracting(ProcessoResumoDTO::id).containsExactly(processoId);
+    }
+
+    @Test
+    void deveConsultarVersaoComUmaConsultaSemCarregarEntidades() {
+        Processo processo = entityManager.getEntityManager()
+                .createQuery("select p from Processo p where p.numero = :numero", Processo.class)
+                .setParameter("numero", String.format("%020d", 0))
+                .getSingleResult();
+        entityManager.clear();
+
+        ProcessoVersaoDTO versao = contarConsultas(() -> processoService.findVersaoById(processo.getId()), 1);
+
+        assertThat(versao.versao()).isEqualTo(processo.getVersao());
+        assertThat(versao.statusProcesso()).isEqualTo(StatusProcessoEnum.ATIVO);
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void deveIncrementarVersaoDosProcessosAoAlterarPessoaEnvolvida() {
+        long antes = processoService.findById(processoService.findPaged(0, 1, "numero", "asc").getContent().get(0).id()).versao();
+
+        pessoaService.update(autor.getId(), new PessoaRequestDTO("João da Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+        entityManager.flush();
+        entityManager.clear();
+
+        ProcessoResponseDTO depois = processoService.findPaged(0, 1, "numero", "asc").getContent().get(0);
+        assertThat(depois.versao()).isEqualTo(antes + 1);
+        assertThat(depois.partesEnvolvidas()).anySatisfy(parte -> assertThat(parte.pessoa().nomeCompleto()).isEqualTo("João da Silva"));
+    }
+
+    @Test
+    void deveListarResumosSemConsultarTabelasFilhas() {
+        Page<ProcessoResumoDTO> page = contarConsultas(() -> processoService.findResumoPaged(0, 20, "numero", "asc"), 2);
+
+        assertThat(page.getContent()).hasSize(20);
+        assertThat(page.getContent().get(0).numero()).isEqualTo(String.format("%020d", 0));
+        assertThat(page.getTotalElements()).isEqualTo(25);
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void devePercorrerTodasAsPaginasPorCursorSemContagem() {
+        for (String sortBy : new String[]{"dataAbertura", "numero", "id"}) {
+            for (String sortDirection : new String[]{"asc", "desc"}) {
+                List<ProcessoResponseDTO> percorridos = new ArrayList<>();
+                String cursor = null;
+                do {
+                    entityManager.clear();
+                    String atual = cursor;
+                    // página + partes/pessoas + ações, sem count
+                    CursorPage<ProcessoResponseDTO> page = contarConsultas(
+                            () -> processoService.findByCursor(atual, 10, sortBy, sortDirection), 3);
+                    percorridos.addAll(page.content());
+                    cursor = page.nextCursor();
+                    assertThat(page.hasNext()).isEqualTo(cursor != null);
+                } while (cursor != null);
+
+                Comparator<ProcessoResponseDTO> ordem = switch (sortBy) {
+                    case "dataAbertura" -> Comparator.comparing(ProcessoResponseDTO::dataAbertura);
+                    case "numero" -> Comparator.comparing(ProcessoResponseDTO::numero);
+                    // UUID.compareTo usa long com sinal; o banco ordena pelos bytes, equivalente à forma textual
+                    default -> Comparator.comparing(dto -> dto.id().toString());
+                };
+                assertThat(percorridos).hasSize(25);
+                assertThat(percorridos).isSortedAccordingTo("asc".equals(sortDirection) ? ordem : ordem.reversed());
+                assertThat(percorridos.stream().map(ProcessoResponseDTO::id).distinct()).hasSize(25);
+            }
+        }
+    }
+
+    @Test
+    void deveFiltrarPorDataAberturaComCursor() {
+        CursorPage<ProcessoResponseDTO> primeira = processoService.findByDataAberturaCursor(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), null, 3, "dataAbertura", "asc");
+        CursorPage<ProcessoResponseDTO> segunda = processoService.findByDataAberturaCursor(
+                LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 5), primeira.nextCursor(), 3, null, null);
+
+        assertThat(primeira.content()).extracting(ProcessoResponseDTO::dataAbertura)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3));
+        assertThat(segunda.content()).extracting(ProcessoResponseDTO::dataAbertura)
+                .containsExactly(LocalDate.of(2024, 1, 4), LocalDate.of(2024, 1, 5));
+        assertThat(segunda.hasNext()).isFalse();
+        assertThat(segunda.nextCursor()).isNull();
+    }
+
+    @Test
+    void devePercorrerAcoesDoProcessoPorCursorSemCarregarProcesso() {
+        UUID processoId = processoIdPorNumero(0);
+        Processo processo = entityManager.find(Processo.class, processoId);
+        for (int i = 0; i < 23; i++) {
+            Acao acao = Acao.create(i % 2 == 0 ? TipoAcaoEnum.PETICAO : TipoAcaoEnum.AUDIENCIA, "Ação " + i, processo);
+            acao.setDataRegistro(LocalDate.of(2024, 3, 1).plusDays(i % 7));
+            processo.adicionarAcao(acao);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<AcaoResponseDTO> percorridas = new ArrayList<>();
+        String cursor = null;
+        do {
+            entityManager.clear();
+            String atual = cursor;
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            CursorPage<AcaoResponseDTO> page = contarConsultas(
+                    () -> processoService.findAcoes(processoId, null, null, null, atual, 10), 1);
+            assertThat(statistics.getEntityLoadCount()).isZero();
+            percorridas.addAll(page.content());
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertThat(percorridas).hasSize(25);
+        assertThat(percorridas).allSatisfy(acao -> assertThat(acao.processoId()).isEqualTo(processoId));
+        assertThat(percorridas).isSortedAccordingTo(Comparator.comparing(AcaoResponseDTO::dataRegistro)
+                .thenComparing(acao -> acao.id().toString()));
+        assertThat(percorridas.stream().map(AcaoResponseDTO::id).distinct()).hasSize(25);
+    }
+
+    @Test
+    void deveFiltrarAcoesDoProcessoPorTipoEDataRegistro() {
+        UUID processoId = processoIdPorNumero(0);
+        Processo processo = entityManager.find(Processo.class, processoId);
+        for (int i = 0; i < 6; i++) {
+            Acao acao = Acao.create(TipoAcaoEnum.PETICAO, "Petição " + i, processo);
+            acao.setDataRegistro(LocalDate.of(2024, 3, 1).plusDays(i));
+            processo.adicionarAcao(acao);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        CursorPage<AcaoResponseDTO> primeira = processoService.findAcoes(processoId, TipoAcaoEnum.PETICAO,
+                LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 5), null, 3);
+        CursorPage<AcaoResponseDTO> segunda = processoService.findAcoes(processoId, TipoAcaoEnum.PETICAO,
+                LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 5), primeira.nextCursor(), 3);
+
+        assertThat(primeira.content()).extracting(AcaoResponseDTO::dataRegistro)
+                .containsExactly(LocalDate.of(2024, 3, 2), LocalDate.of(2024, 3, 3), LocalDate.of(2024, 3, 4));
+        assertThat(segunda.content()).extracting(AcaoResponseDTO::dataRegistro).containsExactly(LocalDate.of(2024, 3, 5));
+        assertThat(segunda.hasNext()).isFalse();
+        assertThat(processoService.findAcoes(processoId, TipoAcaoEnum.SENTENCA, null, null, null, 10).content()).isEmpty();
+    }
+
+    @Test
+    void devePercorrerPartesDoProcessoPorCursorComPessoas() {
+        UUID processoId = processoIdPorNumero(0);
+        processoService.addParteEnvolvidaSemAgregado(processoId, new ParteEnvolvidaRequestDTO(autor.getId(), TipoParteEnvolvidaEnum.ADVOGADO));
+        entityManager.flush();
+        entityManager.clear();
+
+        // página com as pessoas no mesmo select, sem carregar o processo
+        CursorPage<ParteEnvolvidaResponseDTO> primeira = contarConsultas(
+                () -> processoService.findPartesEnvolvidas(processoId, null, null, 2), 1);
+        CursorPage<ParteEnvolvidaResponseDTO> segunda = processoService.findPartesEnvolvidas(processoId, null, primeira.nextCursor(), 2);
+        CursorPage<ParteEnvolvidaResponseDTO> autores = processoService.findPartesEnvolvidas(processoId, TipoParteEnvolvidaEnum.AUTOR, null, 10);
+
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(Processo.class.getName()).getLoadCount()).isZero();
+        assertThat(primeira.content()).hasSize(2).allSatisfy(parte -> assertThat(parte.pessoa()).isNotNull());
+        assertThat(primeira.hasNext()).isTrue();
+        assertThat(segunda.content()).hasSize(1);
+        assertThat(segunda.hasNext()).isFalse();
+        assertThat(primeira.content()).extracting(parte -> parte.id().toString()).isSorted();
+        assertThat(autores.content()).extracting(ParteEnvolvidaResponseDTO::tipo).containsExactly(TipoParteEnvolvidaEnum.AUTOR);
+    }
+
+    @Test
+    void deveRejeitarListagemDeSubRecursosDeProcessoInexistente() {
+        UUID inexistente = UUID.randomUUID();
+
+        assertThatThrownBy(() -> processoService.findAcoes(inexistente, null, null, null, null, 10))
+                .isInstanceOf(ProcessoNotFoundException.class);
+        assertThatThrownBy(() -> processoService.findPartesEnvolvidas(inexistente, null, null, 10))
+                .isInstanceOf(ProcessoNotFoundException.class);
+        assertThatThrownBy(() -> processoService.findPartesEnvolvidas(inexistente, null, "invalido", 10))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void deveBuscarAcaoEParteIncluidasPeloIdSemCarregarProcesso() {
+        UUID processoId = processoIdPorNumero(0);
+        AcaoResponseDTO acao = processoService.addAcaoProcessoSemAgregado(processoId, new AcaoRequestDTO(TipoAcaoEnum.SENTENCA, "Sentença"));
+        ParteEnvolvidaResponseDTO parte = processoService.addParteEnvolvidaSemAgregado(processoId,
+                new ParteEnvolvidaRequestDTO(autor.getId(), TipoParteEnvolvidaEnum.ADVOGADO));
+        entityManager.flush();
+        entityManager.clear();
+
+        AcaoResponseDTO acaoLida = contarConsultas(() -> processoService.findAcao(processoId, acao.id()), 1);
+        ParteEnvolvidaResponseDTO parteLida = contarConsultas(() -> processoService.findParteEnvolvida(processoId, parte.id()), 1);
+
+        assertThat(entityManagerFactory.unwrap(SessionFactory.class).getStatistics()
+                .getEntityStatistics(Processo.class.getName()).getLoadCount()).isZero();
+        assertThat(acaoLida).isEqualTo(acao);
+        assertThat(parteLida.pessoa().id()).isEqualTo(autor.getId());
+        assertThat(parteLida.tipo()).isEqualTo(TipoParteEnvolvidaEnum.ADVOGADO);
+
+        UUID outroProcessoId = processoIdPorNumero(1);
+        assertThatThrownBy(() -> processoService.findAcao(outroProcessoId, acao.id()))
+                .isInstanceOf(AcaoNotFoundException.class);
+        assertThatThrownBy(() -> processoService.findParteEnvolvida(UUID.randomUUID(), parte.id()))
+                .isInstanceOf(ProcessoNotFoundException.class);
+
+        processoService.removeAcaoProcessoSemAgregado(processoId, acao.id());
+        entityManager.flush();
+        entityManager.clear();
+        assertThatThrownBy(() -> processoService.findAcao(processoId, acao.id()))
+                .isInstanceOf(AcaoNotFoundException.class);
+    }
+
+    private UUID processoIdPorNumero(int numero) {
+        return entityManager.getEntityManager()
+                .createQuery("select p.id from Processo p where p.numero = :numero", UUID.class)
+                .setParameter("numero", String.format("%020d", numero))
+                .getSingleResult();
+    }
+
+    // Processo 0 já tem autor, réu, petição e audiência; recebe advogado e sentença pelo modo mínimo
+    private UUID completarRequisitosDeArquivamento() {
+        UUID processoId = processoIdPorNumero(0);
+        processoService.addParteEnvolvidaSemAgregado(processoId, new ParteEnvolvidaRequestDTO(autor.getId(), TipoParteEnvolvidaEnum.ADVOGADO));
+        processoService.addAcaoProcessoSemAgregado(processoId, new AcaoRequestDTO(TipoAcaoEnum.SENTENCA, "Sentença"));
+        entityManager.flush();
+        entityManager.clear();
+        return processoId;
+    }
+
+    private void assertConsultasConstantes(IntFunction<Page<ProcessoResponseDTO>> consulta) {
+        assertConsultasConstantes(consulta, CONSULTAS_POR_PAGINA);
+    }
+
+    private void assertConsultasConstantes(IntFunction<Page<ProcessoResponseDTO>> consulta, long esperado) {
+        for (int size : new int[]{5, 20}) {
+            entityManager.clear();
+            Page<ProcessoResponseDTO> page = contarConsultas(() -> consulta.apply(size), esperado);
+
+            assertThat(page.getContent()).hasSize(size);
+            assertThat(page.getContent()).allSatisfy(dto -> {
+                assertThat(dto.partesEnvolvidas()).hasSize(2);
+                assertThat(dto.partesEnvolvidas()).allSatisfy(parte -> assertThat(parte.pessoa()).isNotNull());
+                assertThat(dto.acoes()).hasSize(2);
+            });
+        }
+    }
+
+    private <T> T contarConsultas(Supplier<T> consulta, long esperado) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        T resultado = consulta.get();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(esperado);
+        return resultado;
+    }
+}
@@ -1,34 +1,52 @@
 package com.attus.sgpj.modules.processo.application;
 
+import com.attus.sgpj.modules.acao.application.AcaoRepository;
 import com.attus.sgpj.modules.acao.domain.Acao;
 import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
 import com.attus.sgpj.modules.acao.domain.dto.AcaoRequestDTO;
+import com.attus.sgpj.modules.acao.domain.dto.AcaoResponseDTO;
+import com.attus.sgpj.modules.acao.exception.AcaoNotFoundException;
+import com.attus.sgpj.modules.parteenvolvida.application.ParteEnvolvidaRepository;
 import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
 import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
 import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaRequestDTO;
+import com.attus.sgpj.modules.parteenvolvida.domain.dto.ParteEnvolvidaResponseDTO;
+import com.attus.sgpj.modules.parteenvolvida.exception.ParteEnvolvidaNotFoundException;
 import com.attus.sgpj.modules.pessoa.application.PessoaService;
 import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.pessoa.exception.PessoaNotFoundException;
 import com.attus.sgpj.modules.processo.domain.Processo;
 import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoRequestDTO;
 import com.attus.sgpj.modules.processo.domain.dto.ProcessoResponseDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoResumoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoVersaoDTO;
 import com.attus.sgpj.modules.processo.exception.ProcessoAlreadyExistsException;
 import com.attus.sgpj.modules.processo.exception.ProcessoCannotBeArchivedException;
+import com.attus.sgpj.modules.processo.exception.ProcessoInvalidStateTransitionException;
 import com.attus.sgpj.modules.processo.exception.ProcessoNotFoundException;
+import com.attus.sgpj.shared.vo.CpfCnpj;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -45,12 +63,27 @@ class ProcessoServiceTest {
     @Mock
     private PessoaService pessoaService;
 
+    @Mock
+    private AcaoRepository acaoRepository;
+
+    @Mock
+    private ParteEnvolvidaRepository parteEnvolvidaRepository;
+
+    @Mock
+    private ProcessoComposicaoRepository processoComposicaoRepository;
+
+    @Mock
+    private ProcessoEstatisticas estatisticas;
+
+    @Spy
+    private ProcessoNumeroFilter numeroFilter = new ProcessoNumeroFilter(new SimpleMeterRegistry(), 1000, 0.01);
+
     @InjectMocks
     private ProcessoService processoService;
 
     @Test
     void deveCriarProcessoComDadosValidos() {
-        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678901234567890", "Processo de Teste", LocalDate.now());
+        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste", LocalDate.now());
 
         when(processoRepository.existsByNumero(requestDTO.numero())).thenReturn(false);
         when(processoRepository.save(any(Processo.class))).thenAnswer(invocation -> {
@@ -62,33 +95,72 @@ class ProcessoServiceTest {
         ProcessoResponseDTO result = processoService.create(requestDTO);
 
         assertThat(result).isNotNull();
-        assertThat(result.numero()).isEqualTo("12345678901234567890");
+        assertThat(result.numero()).isEqualTo("12345678062234567890");
         assertThat(result.descricao()).isEqualTo("Processo de Teste");
         assertThat(result.statusProcesso()).isEqualTo(StatusProcessoEnum.ATIVO);
 
         verify(processoRepository).existsByNumero(requestDTO.numero());
         verify(processoRepository).save(any(Processo.class));
+        verify(estatisticas).processoCriado(requestDTO.dataAbertura());
     }
 
     @Test
     void deveLancarExcecaoQuandoNumeroJaExiste() {
-        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678901234567890", "Processo de Teste", LocalDate.now());
+        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste", LocalDate.now());
         when(processoRepository.existsByNumero(requestDTO.numero())).thenReturn(true);
 
         assertThatThrownBy(() -> processoService.create(requestDTO))
                 .isInstanceOf(ProcessoAlreadyExistsException.class)
-                .hasMessage("Um processo com número '12345678901234567890' já está cadastrado");
+                .hasMessage("Um processo com número '12345678062234567890' já está cadastrado");
 
         verify(processoRepository).existsByNumero(requestDTO.numero());
         verify(processoRepository, never()).save(any(Processo.class));
     }
 
+    @Test
+    void naoDeveConsultarBancoQuandoFiltroGaranteNumeroInexistente() {
+        numeroFilter.recarregar(1, Stream.of("00000000000000000001"));
+        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste", LocalDate.now());
+        when(processoRepository.save(any(Processo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        processoService.create(requestDTO);
+
+        verify(processoRepository, never()).existsByNumero(any());
+        assertThat(numeroFilter.existe(requestDTO.numero(), numero -> true)).isTrue();
+    }
+
+    @Test
+    void deveConsultarBancoQuandoFiltroIndicaNumeroPossivelmenteExistente() {
+        numeroFilter.recarregar(1, Stream.of("12345678062234567890"));
+        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678062234567890", "Processo de Teste", LocalDate.now());
+        when(processoRepository.existsByNumero(requestDTO.numero())).thenReturn(true);
+
+        assertThatThrownBy(() -> processoService.create(requestDTO))
+                .isInstanceOf(ProcessoAlreadyExistsException.class);
+
+        verify(processoRepository).existsByNumero(requestDTO.numero());
+    }
+
+    @Test
+    void deveRegistrarNovoNumeroNoFiltroAoAtualizar() {
+        numeroFilter.recarregar(1, Stream.of("12345678062234567890"));
+        UUID processoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo", LocalDate.now());
+        processo.setId(processoId);
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
+        when(processoRepository.save(any(Processo.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        processoService.update(processoId, new ProcessoRequestDTO("99999999999999999999", "Processo", LocalDate.now()));
+
+        verify(numeroFilter).registrar("99999999999999999999");
+    }
+
     @Test
     void deveAtualizarProcessoComDadosValidos() {
         UUID processoId = UUID.randomUUID();
         ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("99999999999999999999", "Processo Atualizado", LocalDate.now());
 
-        Processo existingProcesso = Processo.create("12345678901234567890", "Processo Original", LocalDate.now().minusDays(1));
+        Processo existingProcesso = Processo.create("12345678062234567890", "Processo Original", LocalDate.now().minusDays(1));
         existingProcesso.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(existingProcesso));
@@ -111,7 +183,7 @@ class ProcessoServiceTest {
         UUID processoId = UUID.randomUUID();
         ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("99999999999999999999", "Processo Atualizado", LocalDate.now());
 
-        Processo existingProcesso = Processo.create("12345678901234567890", "Processo Original", LocalDate.now().minusDays(1));
+        Processo existingProcesso = Processo.create("12345678062234567890", "Processo Original", LocalDate.now().minusDays(1));
         existingProcesso.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(existingProcesso));
@@ -129,9 +201,9 @@ class ProcessoServiceTest {
     @Test
     void devePermitirMesmoNumeroQuandoAtualizandoProcessoExistente() {
         UUID processoId = UUID.randomUUID();
-        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678901234567890", "Descrição Atualizada", LocalDate.now());
+        ProcessoRequestDTO requestDTO = new ProcessoRequestDTO("12345678062234567890", "Descrição Atualizada", LocalDate.now());
 
-        Processo existingProcesso = Processo.create("12345678901234567890", "Processo Original", LocalDate.now().minusDays(1));
+        Processo existingProcesso = Processo.create("12345678062234567890", "Processo Original", LocalDate.now().minusDays(1));
         existingProcesso.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(existingProcesso));
@@ -150,7 +222,7 @@ class ProcessoServiceTest {
     @Test
     void deveRetornarProcessoQuandoExiste() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
@@ -159,7 +231,7 @@ class ProcessoServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.id()).isEqualTo(processoId);
-        assertThat(result.numero()).isEqualTo("12345678901234567890");
+        assertThat(result.numero()).isEqualTo("12345678062234567890");
 
         verify(processoRepository).findById(processoId);
     }
@@ -178,7 +250,7 @@ class ProcessoServiceTest {
 
     @Test
     void deveRetornarResultadosPaginadosSemOrdenacao() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         Page<Processo> processosPage = new PageImpl<>(List.of(processo));
 
         when(processoRepository.findAll(any(Pageable.class))).thenReturn(processosPage);
@@ -187,7 +259,7 @@ class ProcessoServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.getContent()).hasSize(1);
-        assertThat(result.getContent().get(0).numero()).isEqualTo("12345678901234567890");
+        assertThat(result.getContent().get(0).numero()).isEqualTo("12345678062234567890");
 
         ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
         verify(processoRepository).findAll(pageableCaptor.capture());
@@ -200,7 +272,7 @@ class ProcessoServiceTest {
 
     @Test
     void deveRetornarResultadosFiltradosPorStatus() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Ativo", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Ativo", LocalDate.now());
         Page<Processo> processosPage = new PageImpl<>(List.of(processo));
 
         when(processoRepository.findByStatusProcesso(eq(StatusProcessoEnum.ATIVO), any(Pageable.class)))
@@ -221,7 +293,7 @@ class ProcessoServiceTest {
         LocalDate dataFinal = LocalDate.of(2024, 12, 31);
         LocalDate dataProcesso = LocalDate.of(2024, 6, 15);
 
-        Processo processo = Processo.create("12345678901234567890", "Processo Por Data", dataProcesso);
+        Processo processo = Processo.create("12345678062234567890", "Processo Por Data", dataProcesso);
         Page<Processo> processosPage = new PageImpl<>(List.of(processo));
 
         when(processoRepository.findByDataAberturaBetween(eq(dataInicial), eq(dataFinal), any(Pageable.class)))
@@ -236,10 +308,25 @@ class ProcessoServiceTest {
         verify(processoRepository).findByDataAberturaBetween(eq(dataInicial), eq(dataFinal), any(Pageable.class));
     }
 
+    @Test
+    void deveRetornarResumosPaginadosComOrdenacao() {
+        ProcessoResumoDTO resumo = new ProcessoResumoDTO(UUID.randomUUID(), "12345678062234567890", StatusProcessoEnum.ATIVO, LocalDate.now());
+        when(processoRepository.findResumos(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(resumo)));
+
+        Page<ProcessoResumoDTO> result = processoService.findResumoPaged(0, 10, "numero", "desc");
+
+        assertThat(result.getContent()).containsExactly(resumo);
+
+        ArgumentCaptor<Pageable> pageableCaptor = ArgumentCaptor.forClass(Pageable.class);
+        verify(processoRepository).findResumos(pageableCaptor.capture());
+        assertThat(pageableCaptor.getValue().getSort().getOrderFor("numero").isDescending()).isTrue();
+        verify(processoRepository, never()).findAll(any(Pageable.class));
+    }
+
     @Test
     void deveAtivarProcesso() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
         processo.suspender();
 
@@ -258,7 +345,7 @@ class ProcessoServiceTest {
     @Test
     void deveSuspenderProcesso() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
@@ -268,6 +355,7 @@ class ProcessoServiceTest {
 
         assertThat(result).isNotNull();
         assertThat(result.statusProcesso()).isEqualTo(StatusProcessoEnum.SUSPENSO);
+        verify(estatisticas).statusAlterado(StatusProcessoEnum.ATIVO, StatusProcessoEnum.SUSPENSO, 1);
 
         verify(processoRepository).findById(processoId);
         verify(processoRepository).save(processo);
@@ -294,7 +382,7 @@ class ProcessoServiceTest {
     @Test
     void deveLancarExcecaoQuandoFaltamPartesOuAcoesObrigatorias() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto", LocalDate.now());
         processo.setId(processoId);
 
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
@@ -312,26 +400,29 @@ class ProcessoServiceTest {
         UUID processoId = UUID.randomUUID();
         UUID pessoaId = UUID.randomUUID();
 
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
-        Pessoa pessoa = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa pessoa = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         ParteEnvolvidaRequestDTO requestDTO = new ParteEnvolvidaRequestDTO(pessoaId, TipoParteEnvolvidaEnum.AUTOR);
 
-        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
         when(pessoaService.findDomainById(pessoaId)).thenReturn(pessoa);
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
+        when(processoComposicaoRepository.alterar(processoId, Map.of("autores", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
+        when(parteEnvolvidaRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
 
         ProcessoResponseDTO result = processoService.addParteEnvolvida(processoId, requestDTO);
 
         assertThat(result).isNotNull();
-        assertThat(processo.getParteEnvolvidas()).hasSize(1);
-        assertThat(processo.getParteEnvolvidas().get(0).getPessoa()).isEqualTo(pessoa);
-        assertThat(processo.getParteEnvolvidas().get(0).getTipo()).isEqualTo(TipoParteEnvolvidaEnum.AUTOR);
+        List<ParteEnvolvida> partes = capturarPartesGravadas();
+        assertThat(partes).hasSize(1);
+        assertThat(partes.get(0).getPessoa()).isEqualTo(pessoa);
+        assertThat(partes.get(0).getTipo()).isEqualTo(TipoParteEnvolvidaEnum.AUTOR);
+        assertThat(partes.get(0).getProcesso()).isSameAs(processo);
 
-        verify(processoRepository).findById(processoId);
         verify(pessoaService).findDomainById(pessoaId);
-        verify(processoRepository).save(processo);
+        verify(processoRepository, never()).save(any(Processo.class));
     }
 
     @Test
@@ -340,31 +431,96 @@ class ProcessoServiceTest {
         UUID pessoaId1 = UUID.randomUUID();
         UUID pessoaId2 = UUID.randomUUID();
 
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
-        Pessoa pessoa1 = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa pessoa1 = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa pessoa2 = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
+        ReflectionTestUtils.setField(pessoa1, "id", pessoaId1);
+        ReflectionTestUtils.setField(pessoa2, "id", pessoaId2);
 
         List<ParteEnvolvidaRequestDTO> requestDTOs = List.of(
                 new ParteEnvolvidaRequestDTO(pessoaId1, TipoParteEnvolvidaEnum.AUTOR),
                 new ParteEnvolvidaRequestDTO(pessoaId2, TipoParteEnvolvidaEnum.REU)
         );
 
+        when(pessoaService.findDomainsByIds(Set.of(pessoaId1, pessoaId2))).thenReturn(List.of(pessoa2, pessoa1));
+        when(processoComposicaoRepository.alterar(processoId, Map.of("autores", 1, "reus", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
-        when(pessoaService.findDomainById(pessoaId1)).thenReturn(pessoa1);
-        when(pessoaService.findDomainById(pessoaId2)).thenReturn(pessoa2);
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
 
         ProcessoResponseDTO result = processoService.addPartesEnvolvidas(processoId, requestDTOs);
 
         assertThat(result).isNotNull();
-        assertThat(processo.getParteEnvolvidas()).hasSize(2);
+        assertThat(capturarPartesGravadas()).extracting(ParteEnvolvida::getPessoa).containsExactly(pessoa1, pessoa2);
 
-        verify(processoRepository).findById(processoId);
-        verify(pessoaService).findDomainById(pessoaId1);
-        verify(pessoaService).findDomainById(pessoaId2);
-        verify(processoRepository).save(processo);
+        verify(pessoaService).findDomainsByIds(Set.of(pessoaId1, pessoaId2));
+        verify(pessoaService, never()).findDomainById(any());
+        verify(processoRepository, never()).save(any(Processo.class));
+    }
+
+    @Test
+    void deveResolverPartesEnvolvidasPorCpfCnpjEmUmaConsulta() {
+        UUID processoId = UUID.randomUUID();
+        Pessoa pessoa = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
+
+        when(pessoaService.findDomainsByCpfCnpjs(Set.of("98765432100"))).thenReturn(List.of(pessoa));
+        when(processoComposicaoRepository.alterar(eq(processoId), any())).thenReturn(true);
+
+        processoService.addPartesEnvolvidasSemAgregado(processoId, List.of(
+                new ParteEnvolvidaRequestDTO(null, "987.654.321-00", TipoParteEnvolvidaEnum.REU),
+                new ParteEnvolvidaRequestDTO(null, "98765432100", TipoParteEnvolvidaEnum.ADVOGADO)));
+
+        assertThat(capturarPartesGravadas()).extracting(ParteEnvolvida::getPessoa).containsExactly(pessoa, pessoa);
+        verify(pessoaService).findDomainsByCpfCnpjs(Set.of("98765432100"));
+    }
+
+    @Test
+    void deveResolverParteEnvolvidaLegadaPorCpfCnpj() {
+        UUID processoId = UUID.randomUUID();
+        Pessoa pessoa = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
+        // Gravada antes da verificação dos dígitos verificadores
+        ReflectionTestUtils.setField(pessoa, "cpfCnpj", CpfCnpj.chave("12345678900"));
+
+        when(pessoaService.findDomainsByCpfCnpjs(Set.of("12345678900"))).thenReturn(List.of(pessoa));
+        when(processoComposicaoRepository.alterar(eq(processoId), any())).thenReturn(true);
+
+        processoService.addPartesEnvolvidasSemAgregado(processoId, List.of(
+                new ParteEnvolvidaRequestDTO(null, "123.456.789-00", TipoParteEnvolvidaEnum.REU)));
+
+        assertThat(capturarPartesGravadas()).extracting(ParteEnvolvida::getPessoa).containsExactly(pessoa);
+    }
+
+    @Test
+    void deveReportarTodasAsPessoasNaoEncontradasDeUmaVez() {
+        UUID processoId = UUID.randomUUID();
+        UUID inexistente1 = UUID.randomUUID();
+        UUID inexistente2 = UUID.randomUUID();
+
+        when(pessoaService.findDomainsByIds(any())).thenReturn(List.of());
+        when(pessoaService.findDomainsByCpfCnpjs(any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> processoService.addPartesEnvolvidas(processoId, List.of(
+                new ParteEnvolvidaRequestDTO(inexistente1, TipoParteEnvolvidaEnum.AUTOR),
+                new ParteEnvolvidaRequestDTO(null, "11144477735", TipoParteEnvolvidaEnum.REU),
+                new ParteEnvolvidaRequestDTO(inexistente2, TipoParteEnvolvidaEnum.ADVOGADO))))
+                .isInstanceOf(PessoaNotFoundException.class)
+                .hasMessage("Pessoas não encontradas: ID " + inexistente1 + ", CPF/CNPJ 11144477735, ID " + inexistente2);
+
+        verifyNoInteractions(processoComposicaoRepository, parteEnvolvidaRepository);
+    }
+
+    @Test
+    void deveRejeitarParteSemReferenciaOuComAmbasAsReferencias() {
+        UUID processoId = UUID.randomUUID();
+
+        assertThatThrownBy(() -> processoService.addPartesEnvolvidas(processoId, List.of(
+                new ParteEnvolvidaRequestDTO(null, null, TipoParteEnvolvidaEnum.AUTOR))))
+                .isInstanceOf(InvalidFieldException.class);
+        assertThatThrownBy(() -> processoService.addPartesEnvolvidas(processoId, List.of(
+                new ParteEnvolvidaRequestDTO(UUID.randomUUID(), "98765432100", TipoParteEnvolvidaEnum.AUTOR))))
+                .isInstanceOf(InvalidFieldException.class);
+        verifyNoInteractions(processoComposicaoRepository);
     }
 
     @Test
@@ -372,51 +528,50 @@ class ProcessoServiceTest {
         UUID processoId = UUID.randomUUID();
         UUID parteId = UUID.randomUUID();
 
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
-        Pessoa pessoa = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
-        ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, TipoParteEnvolvidaEnum.AUTOR);
-        parte.setId(parteId);
-        processo.addParte(parte);
-
+        when(parteEnvolvidaRepository.findTipoByIdAndProcessoId(parteId, processoId)).thenReturn(Optional.of(TipoParteEnvolvidaEnum.AUTOR));
+        when(parteEnvolvidaRepository.inativar(parteId)).thenReturn(1);
+        when(processoComposicaoRepository.alterar(processoId, Map.of("autores", -1))).thenReturn(true);
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
 
         ProcessoResponseDTO result = processoService.removeParteEnvolvida(processoId, parteId);
 
         assertThat(result).isNotNull();
-
-        verify(processoRepository).findById(processoId);
-        verify(processoRepository).save(processo);
+        verify(parteEnvolvidaRepository).inativar(parteId);
+        verify(processoRepository, never()).save(any(Processo.class));
     }
 
     @Test
     void deveAdicionarAcaoProcesso() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
         AcaoRequestDTO requestDTO = new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial");
 
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
+        when(acaoRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
 
         ProcessoResponseDTO result = processoService.addAcaoProcesso(processoId, requestDTO);
 
         assertThat(result).isNotNull();
-        assertThat(processo.getAcoes()).hasSize(1);
-        assertThat(processo.getAcoes().get(0).getTipo()).isEqualTo(TipoAcaoEnum.PETICAO);
-        assertThat(processo.getAcoes().get(0).getDescricao()).isEqualTo("Petição Inicial");
+        List<Acao> acoes = capturarAcoesGravadas();
+        assertThat(acoes).hasSize(1);
+        assertThat(acoes.get(0).getTipo()).isEqualTo(TipoAcaoEnum.PETICAO);
+        assertThat(acoes.get(0).getDescricao()).isEqualTo("Petição Inicial");
+        assertThat(processo.getAcoes()).isEmpty();
 
-        verify(processoRepository).findById(processoId);
-        verify(processoRepository).save(processo);
+        verify(processoRepository, never()).save(any(Processo.class));
     }
 
     @Test
     void deveAdicionarMultiplasAcoesProcesso() {
         UUID processoId = UUID.randomUUID();
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
         List<AcaoRequestDTO> requestDTOs = List.of(
@@ -424,16 +579,15 @@ class ProcessoServiceTest {
                 new AcaoRequestDTO(TipoAcaoEnum.AUDIENCIA, "Audiência de Instrução")
         );
 
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", 1, "audiencias", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
 
         ProcessoResponseDTO result = processoService.addAcoesProcesso(processoId, requestDTOs);
 
         assertThat(result).isNotNull();
-        assertThat(processo.getAcoes()).hasSize(2);
-
-        verify(processoRepository).findById(processoId);
-        verify(processoRepository).save(processo);
+        assertThat(capturarAcoesGravadas()).hasSize(2);
+        verify(processoRepository, never()).save(any(Processo.class));
     }
 
     @Test
@@ -441,30 +595,211 @@ class ProcessoServiceTest {
         UUID processoId = UUID.randomUUID();
         UUID acaoId = UUID.randomUUID();
 
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
         processo.setId(processoId);
 
-        Acao acao = Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo);
-        acao.setId(acaoId);
-        processo.adicionarAcao(acao);
-
+        when(acaoRepository.findTipoByIdAndProcessoId(acaoId, processoId)).thenReturn(Optional.of(TipoAcaoEnum.PETICAO));
+        when(acaoRepository.inativar(acaoId)).thenReturn(1);
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", -1))).thenReturn(true);
         when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
-        when(processoRepository.save(any(Processo.class))).thenReturn(processo);
 
         ProcessoResponseDTO result = processoService.removeAcaoProcesso(processoId, acaoId);
 
         assertThat(result).isNotNull();
+        verify(acaoRepository).inativar(acaoId);
+        verify(processoRepository, never()).save(any(Processo.class));
+    }
 
-        verify(processoRepository).findById(processoId);
+    @Test
+    void deveAdicionarAcaoSemCarregarProcesso() {
+        UUID processoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+        processo.setId(processoId);
+
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
+        when(acaoRepository.saveAll(any())).thenAnswer(invocation -> {
+            List<Acao> acoes = invocation.getArgument(0);
+            acoes.forEach(acao -> acao.setId(UUID.randomUUID()));
+            return acoes;
+        });
+
+        AcaoResponseDTO result = processoService.addAcaoProcessoSemAgregado(processoId,
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial"));
+
+        assertThat(result.id()).isNotNull();
+        assertThat(result.processoId()).isEqualTo(processoId);
+        assertThat(result.tipo()).isEqualTo(TipoAcaoEnum.PETICAO);
+        assertThat(processo.getAcoes()).isEmpty();
+        verify(processoRepository, never()).findById(any());
+        verify(processoRepository, never()).save(any(Processo.class));
+    }
+
+    @Test
+    void deveAdicionarParteEnvolvidaPorCpfCnpjSemCarregarProcesso() {
+        UUID processoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+        processo.setId(processoId);
+        Pessoa pessoa = Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999");
+
+        when(pessoaService.findDomainByCpfCnpj("123.456.789-09")).thenReturn(pessoa);
+        when(processoComposicaoRepository.alterar(processoId, Map.of("reus", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
+        when(parteEnvolvidaRepository.saveAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        ParteEnvolvidaResponseDTO result = processoService.addParteEnvolvidaSemAgregado(processoId,
+                new ParteEnvolvidaRequestDTO(null, "123.456.789-09", TipoParteEnvolvidaEnum.REU));
+
+        assertThat(result.processoId()).isEqualTo(processoId);
+        assertThat(result.pessoa().nomeCompleto()).isEqualTo("João Silva");
+        assertThat(result.tipo()).isEqualTo(TipoParteEnvolvidaEnum.REU);
+        assertThat(processo.getParteEnvolvidas()).isEmpty();
+        verify(processoRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveSomarVariacaoDaComposicaoPorTipoAoAdicionarAcoesEmLote() {
+        UUID processoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+        processo.setId(processoId);
+
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", 2, "audiencias", 1))).thenReturn(true);
+        when(processoRepository.getReferenceById(processoId)).thenReturn(processo);
+
+        processoService.addAcoesProcessoSemAgregado(processoId, List.of(
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial"),
+                new AcaoRequestDTO(TipoAcaoEnum.AUDIENCIA, "Audiência"),
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Emenda à Inicial")));
+
+        List<Acao> acoes = capturarAcoesGravadas();
+        assertThat(acoes).extracting(Acao::getTipo)
+                .containsExactly(TipoAcaoEnum.PETICAO, TipoAcaoEnum.AUDIENCIA, TipoAcaoEnum.PETICAO);
+        assertThat(acoes).allSatisfy(acao -> assertThat(acao.getProcesso()).isSameAs(processo));
+    }
+
+    @Test
+    void deveInativarAcaoAoRemoverSemAgregado() {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+
+        when(acaoRepository.findTipoByIdAndProcessoId(acaoId, processoId)).thenReturn(Optional.of(TipoAcaoEnum.SENTENCA));
+        when(acaoRepository.inativar(acaoId)).thenReturn(1);
+        when(processoComposicaoRepository.alterar(processoId, Map.of("sentencas", -1))).thenReturn(true);
+
+        processoService.removeAcaoProcessoSemAgregado(processoId, acaoId);
+
+        verify(acaoRepository).inativar(acaoId);
+        verify(processoRepository, never()).findById(any());
+    }
+
+    @Test
+    void deveDistinguirProcessoEAcaoInexistentesAoRemoverSemAgregado() {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo), Optional.empty());
+        when(acaoRepository.findTipoByIdAndProcessoId(acaoId, processoId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> processoService.removeAcaoProcessoSemAgregado(processoId, acaoId))
+                .isInstanceOf(AcaoNotFoundException.class);
+        assertThatThrownBy(() -> processoService.removeAcaoProcessoSemAgregado(processoId, acaoId))
+                .isInstanceOf(ProcessoNotFoundException.class);
+        verify(acaoRepository, never()).inativar(any());
+    }
+
+    @Test
+    void deveLancarExcecaoAoRemoverParteEnvolvidaInexistenteSemAgregado() {
+        UUID processoId = UUID.randomUUID();
+        UUID parteId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+
+        when(parteEnvolvidaRepository.findTipoByIdAndProcessoId(parteId, processoId)).thenReturn(Optional.empty());
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
+
+        assertThatThrownBy(() -> processoService.removeParteEnvolvidaSemAgregado(processoId, parteId))
+                .isInstanceOf(ParteEnvolvidaNotFoundException.class)
+                .hasMessage("Parte envolvida não encontrada com ID: " + parteId);
+    }
+
+    @Test
+    void deveRejeitarRemocaoDeAcaoJaRemovidaConcorrentemente() {
+        UUID processoId = UUID.randomUUID();
+        UUID acaoId = UUID.randomUUID();
+
+        when(acaoRepository.findTipoByIdAndProcessoId(acaoId, processoId)).thenReturn(Optional.of(TipoAcaoEnum.PETICAO));
+        when(acaoRepository.inativar(acaoId)).thenReturn(0);
+
+        assertThatThrownBy(() -> processoService.removeAcaoProcessoSemAgregado(processoId, acaoId))
+                .isInstanceOf(AcaoNotFoundException.class);
+        verifyNoInteractions(processoComposicaoRepository);
+    }
+
+    @Test
+    void deveSuspenderSemMontarResposta() {
+        UUID processoId = UUID.randomUUID();
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste", LocalDate.now());
+        processo.setId(processoId);
+
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
+        when(processoRepository.save(processo)).thenReturn(processo);
+
+        processoService.suspenderSemAgregado(processoId);
+
+        assertThat(processo.getStatusProcesso()).isEqualTo(StatusProcessoEnum.SUSPENSO);
         verify(processoRepository).save(processo);
     }
 
+    @Test
+    void deveLancarExcecaoAoAdicionarAcaoEmProcessoInexistente() {
+        UUID processoId = UUID.randomUUID();
+
+        when(processoRepository.findById(processoId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> processoService.addAcaoProcessoSemAgregado(processoId,
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial")))
+                .isInstanceOf(ProcessoNotFoundException.class);
+        verify(acaoRepository, never()).saveAll(any());
+    }
+
+    @Test
+    void deveRejeitarAlteracaoDeProcessoArquivado() {
+        UUID processoId = UUID.randomUUID();
+        Processo processo = createProcessoWithRequiredPartesAndAcoes();
+        processo.setId(processoId);
+        processo.arquivar();
+
+        when(processoComposicaoRepository.alterar(processoId, Map.of("peticoes", 1))).thenReturn(false);
+        when(processoRepository.findById(processoId)).thenReturn(Optional.of(processo));
+
+        assertThatThrownBy(() -> processoService.addAcaoProcessoSemAgregado(processoId,
+                new AcaoRequestDTO(TipoAcaoEnum.PETICAO, "Petição Inicial")))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class)
+                .hasMessage("Não é possível alterar um processo arquivado.");
+        assertThatThrownBy(() -> processoService.update(processoId,
+                new ProcessoRequestDTO("12345678062234567890", "Nova descrição", LocalDate.now())))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+
+        verify(acaoRepository, never()).saveAll(any());
+        verify(processoRepository, never()).save(any(Processo.class));
+    }
+
+    @Test
+    void deveRetornarVersaoDoProcesso() {
+        UUID processoId = UUID.randomUUID();
+        when(processoRepository.findVersaoById(processoId))
+                .thenReturn(Optional.of(new ProcessoVersaoDTO(3, StatusProcessoEnum.ATIVO)));
+
+        assertThat(processoService.findVersaoById(processoId).versao()).isEqualTo(3);
+        verify(processoRepository, never()).findById(any());
+    }
+
     private Processo createProcessoWithRequiredPartesAndAcoes() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Completo", LocalDate.now());
+        Processo processo = Processo.create("12345678062234567890", "Processo Completo", LocalDate.now());
 
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -476,4 +811,18 @@ class ProcessoServiceTest {
 
         return processo;
     }
-}
\ No newline at end of file
+
+    @SuppressWarnings("unchecked")
+    private List<ParteEnvolvida> capturarPartesGravadas() {
+        ArgumentCaptor<List<ParteEnvolvida>> captor = ArgumentCaptor.forClass(List.class);
+        verify(parteEnvolvidaRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Acao> capturarAcoesGravadas() {
+        ArgumentCaptor<List<Acao>> captor = ArgumentCaptor.forClass(List.class);
+        verify(acaoRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
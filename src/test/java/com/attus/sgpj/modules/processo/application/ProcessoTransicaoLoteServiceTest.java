@@ -0,0 +1,256 @@
+package com.attus.sgpj.modules.processo.application;
+
+import com.attus.sgpj.modules.acao.domain.Acao;
+import com.attus.sgpj.modules.acao.domain.TipoAcaoEnum;
+import com.attus.sgpj.modules.parteenvolvida.domain.ParteEnvolvida;
+import com.attus.sgpj.modules.parteenvolvida.domain.TipoParteEnvolvidaEnum;
+import com.attus.sgpj.modules.pessoa.application.PessoaRepository;
+import com.attus.sgpj.modules.pessoa.domain.Pessoa;
+import com.attus.sgpj.modules.processo.domain.Processo;
+import com.attus.sgpj.modules.processo.domain.ResultadoTransicaoEnum;
+import com.attus.sgpj.modules.processo.domain.StatusProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.TransicaoProcessoEnum;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteRequestDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO;
+import com.attus.sgpj.modules.processo.domain.dto.ProcessoTransicaoLoteResultadoDTO.ResultadoProcesso;
+import com.attus.sgpj.shared.config.CacheConfig;
+import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Sem a transação do teste: cada bloco é confirmado na sua própria transação, como em produção
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ProcessoTransicaoLoteService.class, ProcessoTransicaoRepository.class, ProcessoEstatisticas.class, CacheConfig.class,
+        SimpleMeterRegistry.class})
+class ProcessoTransicaoLoteServiceTest {
+
+    @Autowired
+    ProcessoTransicaoLoteService processoTransicaoLoteService;
+
+    @Autowired
+    ProcessoRepository processoRepository;
+
+    @Autowired
+    PessoaRepository pessoaRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    ProcessoEstatisticas estatisticas;
+
+    private Pessoa autor;
+    private Pessoa reu;
+
+    @BeforeEach
+    void setUp() {
+        autor = pessoaRepository.save(Pessoa.create("João Silva", "12345678909", "joao.silva@email.com", "11999999999"));
+        reu = pessoaRepository.save(Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from acao");
+        jdbcTemplate.update("delete from parte_envolvida");
+        jdbcTemplate.update("delete from processo");
+        jdbcTemplate.update("delete from pessoa");
+    }
+
+    @Test
+    void deveAplicarTransicaoEReportarResultadoPorProcesso() {
+        Processo ativo = salvar("00000000000000000001", LocalDate.of(2024, 1, 1), StatusProcessoEnum.ATIVO);
+        Processo suspenso = salvar("00000000000000000002", LocalDate.of(2024, 1, 1), StatusProcessoEnum.SUSPENSO);
+        UUID inexistente = UUID.randomUUID();
+
+        ProcessoTransicaoLoteResultadoDTO resultado = processoTransicaoLoteService.transicionar(
+                porIds(TransicaoProcessoEnum.SUSPENDER, ativo.getId(), suspenso.getId(), inexistente, ativo.getId()));
+
+        assertThat(resultado.total()).isEqualTo(3);
+        assertThat(resultado.aplicadas()).isEqualTo(1);
+        assertThat(resultado.rejeitadas()).isEqualTo(2);
+        assertThat(resultado.resultados()).containsExactly(
+                new ResultadoProcesso(ativo.getId(), ResultadoTransicaoEnum.APLICADA, StatusProcessoEnum.ATIVO),
+                new ResultadoProcesso(suspenso.getId(), ResultadoTransicaoEnum.STATUS_INVALIDO, StatusProcessoEnum.SUSPENSO),
+                new ResultadoProcesso(inexistente, ResultadoTransicaoEnum.NAO_ENCONTRADO, null));
+
+        Processo atualizado = processoRepository.findById(ativo.getId()).orElseThrow();
+        assertThat(atualizado.getStatusProcesso()).isEqualTo(StatusProcessoEnum.SUSPENSO);
+        assertThat(atualizado.getVersao()).isEqualTo(ativo.getVersao() + 1);
+        assertThat(processoRepository.findById(suspenso.getId()).orElseThrow().getVersao()).isEqualTo(suspenso.getVersao());
+    }
+
+    @Test
+    void deveArquivarSomenteProcessosQueAtendemAosRequisitos() {
+        Processo completo = salvarCompleto("00000000000000000001", StatusProcessoEnum.SUSPENSO);
+        Processo incompleto = salvar("00000000000000000002", LocalDate.of(2024, 1, 1), StatusProcessoEnum.ATIVO);
+
+        ProcessoTransicaoLoteResultadoDTO resultado = processoTransicaoLoteService.transicionar(
+                porIds(TransicaoProcessoEnum.ARQUIVAR, completo.getId(), incompleto.getId()));
+
+        assertThat(resultado.resultados()).extracting(ResultadoProcesso::resultado)
+                .containsExactly(ResultadoTransicaoEnum.APLICADA, ResultadoTransicaoEnum.REQUISITOS_PENDENTES);
+        assertThat(processoRepository.findById(completo.getId()).orElseThrow().getStatusProcesso())
+                .isEqualTo(StatusProcessoEnum.ARQUIVADO);
+        assertThat(processoRepository.findById(incompleto.getId()).orElseThrow().getStatusProcesso())
+                .isEqualTo(StatusProcessoEnum.ATIVO);
+    }
+
+    @Test
+    void deveTransicionarProcessosSelecionadosPorFiltro() {
+        Processo doAutor = salvarCompleto("00000000000000000001", StatusProcessoEnum.ATIVO);
+        Processo antigo = salvar("00000000000000000002", LocalDate.of(2020, 1, 1), StatusProcessoEnum.ATIVO);
+        Processo semParte = salvar("00000000000000000003", LocalDate.of(2024, 1, 1), StatusProcessoEnum.ATIVO);
+        salvar("00000000000000000004", LocalDate.of(2024, 1, 1), StatusProcessoEnum.SUSPENSO);
+
+        ProcessoTransicaoLoteResultadoDTO porPessoa = processoTransicaoLoteService.transicionar(new ProcessoTransicaoLoteRequestDTO(
+                TransicaoProcessoEnum.SUSPENDER, null, StatusProcessoEnum.ATIVO, null, null, autor.getId()));
+        ProcessoTransicaoLoteResultadoDTO porData = processoTransicaoLoteService.transicionar(new ProcessoTransicaoLoteRequestDTO(
+                TransicaoProcessoEnum.SUSPENDER, null, StatusProcessoEnum.ATIVO, LocalDate.of(2023, 1, 1), null, null));
+
+        assertThat(porPessoa.resultados()).extracting(ResultadoProcesso::id).containsExactly(doAutor.getId());
+        assertThat(porData.resultados()).extracting(ResultadoProcesso::id).containsExactly(semParte.getId());
+        assertThat(porData.aplicadas()).isEqualTo(1);
+        assertThat(processoRepository.findById(antigo.getId()).orElseThrow().getStatusProcesso())
+                .isEqualTo(StatusProcessoEnum.ATIVO);
+    }
+
+    @Test
+    void deveAplicarBlocoComConsultaDeSituacaoTravamentoEUmUpdate() {
+        List<UUID> ids = IntStream.range(0, 50)
+                .mapToObj(i -> salvarCompleto(String.format("%020d", i), StatusProcessoEnum.ATIVO).getId())
+                .toList();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        ProcessoTransicaoLoteResultadoDTO resultado = processoTransicaoLoteService.transicionar(
+                new ProcessoTransicaoLoteRequestDTO(TransicaoProcessoEnum.ARQUIVAR, ids, null, null, null, null));
+
+        // Os requisitos de arquivamento são avaliados no banco, sem carregar partes e ações de cada processo
+        assertThat(resultado.aplicadas()).isEqualTo(50);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void deveAplicarCadaProcessoUmaUnicaVezEmLotesSobrepostos() throws Exception {
+        UUID[] ids = IntStream.range(0, 200)
+                .mapToObj(i -> salvar(String.format("%020d", i), LocalDate.of(2024, 1, 1), StatusProcessoEnum.ATIVO).getId())
+                .toArray(UUID[]::new);
+        long suspensosAntes = estatisticas.snapshot().porStatus().get(StatusProcessoEnum.SUSPENSO);
+
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        List<ProcessoTransicaoLoteResultadoDTO> lotes;
+        try {
+            List<Future<ProcessoTransicaoLoteResultadoDTO>> execucoes = IntStream.range(0, 2)
+                    .mapToObj(i -> executor.submit(() -> {
+                        largada.await();
+                        return processoTransicaoLoteService.transicionar(porIds(TransicaoProcessoEnum.SUSPENDER, ids));
+                    }))
+                    .toList();
+            largada.countDown();
+            lotes = new ArrayList<>();
+            for (Future<ProcessoTransicaoLoteResultadoDTO> execucao : execucoes) {
+                lotes.add(execucao.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Cada processo é aplicado por um dos lotes; o outro o encontra já suspenso
+        assertThat(lotes.get(0).aplicadas() + lotes.get(1).aplicadas()).isEqualTo(ids.length);
+        for (UUID id : ids) {
+            List<ResultadoProcesso> doProcesso = lotes.stream()
+                    .flatMap(lote -> lote.resultados().stream())
+                    .filter(resultado -> resultado.id().equals(id))
+                    .toList();
+            assertThat(doProcesso).extracting(ResultadoProcesso::resultado)
+                    .containsExactlyInAnyOrder(ResultadoTransicaoEnum.APLICADA, ResultadoTransicaoEnum.STATUS_INVALIDO);
+            assertThat(doProcesso).filteredOn(resultado -> resultado.resultado() == ResultadoTransicaoEnum.STATUS_INVALIDO)
+                    .extracting(ResultadoProcesso::statusAnterior)
+                    .containsExactly(StatusProcessoEnum.SUSPENSO);
+            assertThat(processoRepository.findById(id).orElseThrow().getVersao()).isEqualTo(1);
+        }
+        assertThat(estatisticas.snapshot().porStatus().get(StatusProcessoEnum.SUSPENSO) - suspensosAntes).isEqualTo(ids.length);
+    }
+
+    @Test
+    void deveInvalidarCacheDosProcessosAlterados() {
+        Processo ativo = salvar("00000000000000000001", LocalDate.of(2024, 1, 1), StatusProcessoEnum.ATIVO);
+        Processo suspenso = salvar("00000000000000000002", LocalDate.of(2024, 1, 1), StatusProcessoEnum.SUSPENSO);
+        cacheManager.getCache(CacheConfig.PROCESSO).put(ativo.getId(), "em cache");
+        cacheManager.getCache(CacheConfig.PROCESSO).put(suspenso.getId(), "em cache");
+
+        processoTransicaoLoteService.transicionar(porIds(TransicaoProcessoEnum.SUSPENDER, ativo.getId(), suspenso.getId()));
+
+        assertThat(cacheManager.getCache(CacheConfig.PROCESSO).get(ativo.getId())).isNull();
+        assertThat(cacheManager.getCache(CacheConfig.PROCESSO).get(suspenso.getId())).isNotNull();
+    }
+
+    @Test
+    void deveExigirIdsOuFiltroMasNaoAmbos() {
+        assertThatThrownBy(() -> processoTransicaoLoteService.transicionar(
+                new ProcessoTransicaoLoteRequestDTO(TransicaoProcessoEnum.ATIVAR, List.of(), null, null, null, null)))
+                .isInstanceOf(InvalidFieldException.class);
+        assertThatThrownBy(() -> processoTransicaoLoteService.transicionar(new ProcessoTransicaoLoteRequestDTO(
+                TransicaoProcessoEnum.ATIVAR, List.of(UUID.randomUUID()), StatusProcessoEnum.SUSPENSO, null, null, null)))
+                .isInstanceOf(InvalidFieldException.class);
+    }
+
+    private ProcessoTransicaoLoteRequestDTO porIds(TransicaoProcessoEnum transicao, UUID... ids) {
+        return new ProcessoTransicaoLoteRequestDTO(transicao, List.of(ids), null, null, null, null);
+    }
+
+    private Processo salvar(String numero, LocalDate dataAbertura, StatusProcessoEnum status) {
+        Processo processo = Processo.create(numero, "Processo " + numero, dataAbertura);
+        processo.setStatusProcesso(status);
+        return processoRepository.save(processo);
+    }
+
+    private Processo salvarCompleto(String numero, StatusProcessoEnum status) {
+        Processo processo = Processo.create(numero, "Processo " + numero, LocalDate.of(2024, 1, 1));
+        processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
+        processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
+        processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.ADVOGADO));
+        processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
+        processo.adicionarAcao(Acao.create(TipoAcaoEnum.AUDIENCIA, "Audiência", processo));
+        processo.adicionarAcao(Acao.create(TipoAcaoEnum.SENTENCA, "Sentença", processo));
+        processo.setStatusProcesso(status);
+        return processoRepository.save(processo);
+    }
+}
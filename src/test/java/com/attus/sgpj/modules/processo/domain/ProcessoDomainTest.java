@@ -8,7 +8,6 @@ import com.attus.sgpj.modules.pessoa.domain.Pessoa;
 import org.junit.jupiter.api.Test;
 
 import java.time.LocalDate;
-import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -16,7 +15,7 @@ class ProcessoDomainTest {
 
     @Test
     void deveCriarProcessoComStatusAtivoEDataAtual() {
-        String numero = "12345678901234567890";
+        String numero = "12345678062234567890";
         String descricao = "Processo de Teste";
 
         Processo processo = Processo.create(numero, descricao);
@@ -31,7 +30,7 @@ class ProcessoDomainTest {
 
     @Test
     void deveCriarProcessoComDataEspecifica() {
-        String numero = "12345678901234567890";
+        String numero = "12345678062234567890";
         String descricao = "Processo de Teste";
         LocalDate dataEspecifica = LocalDate.of(2024, 1, 15);
 
@@ -75,8 +74,8 @@ class ProcessoDomainTest {
 
     @Test
     void deveAdicionarParteEnvolvida() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
-        Pessoa pessoa = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
+        Pessoa pessoa = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, TipoParteEnvolvidaEnum.AUTOR);
 
         processo.addParte(parte);
@@ -86,39 +85,9 @@ class ProcessoDomainTest {
         assertThat(parte.getProcesso()).isEqualTo(processo);
     }
 
-    @Test
-    void deveRemoverParteEnvolvida() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
-        Pessoa pessoa = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
-        ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, TipoParteEnvolvidaEnum.AUTOR);
-
-        processo.addParte(parte);
-        assertThat(processo.getParteEnvolvidas()).hasSize(1);
-
-        processo.removeParte(parte);
-
-        assertThat(processo.getParteEnvolvidas()).isEmpty();
-    }
-
-    @Test
-    void deveRemoverParteEnvolvidaPorId() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
-        Pessoa pessoa = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
-        ParteEnvolvida parte = ParteEnvolvida.create(pessoa, processo, TipoParteEnvolvidaEnum.AUTOR);
-        UUID parteId = UUID.randomUUID();
-        parte.setId(parteId);
-
-        processo.addParte(parte);
-        assertThat(processo.getParteEnvolvidas()).hasSize(1);
-
-        processo.removeParteById(parteId);
-
-        assertThat(processo.getParteEnvolvidas()).isEmpty();
-    }
-
     @Test
     void deveAdicionarAcao() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         Acao acao = Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo);
 
         processo.adicionarAcao(acao);
@@ -128,34 +97,6 @@ class ProcessoDomainTest {
         assertThat(acao.getProcesso()).isEqualTo(processo);
     }
 
-    @Test
-    void deveRemoverAcao() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
-        Acao acao = Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo);
-
-        processo.adicionarAcao(acao);
-        assertThat(processo.getAcoes()).hasSize(1);
-
-        processo.removeAcao(acao);
-
-        assertThat(processo.getAcoes()).isEmpty();
-    }
-
-    @Test
-    void deveRemoverAcaoPorId() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
-        Acao acao = Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo);
-        UUID acaoId = UUID.randomUUID();
-        acao.setId(acaoId);
-
-        processo.adicionarAcao(acao);
-        assertThat(processo.getAcoes()).hasSize(1);
-
-        processo.removeAcaoById(acaoId);
-
-        assertThat(processo.getAcoes()).isEmpty();
-    }
-
     @Test
     void devePermitirArquivamentoComPartesEAcoesObrigatorias() {
         Processo processo = criarProcessoComPartesEAcoesObrigatorias();
@@ -167,7 +108,7 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemPartesObrigatorias() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona apenas ações obrigatórias, mas não as partes
         processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Petição Inicial", processo));
@@ -181,12 +122,12 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemAcoesObrigatorias() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona apenas partes obrigatórias, mas não as ações
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -199,11 +140,11 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemParteAutor() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona REU e ADVOGADO, mas não AUTOR
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
         processo.addParte(ParteEnvolvida.create(advogado, processo, TipoParteEnvolvidaEnum.ADVOGADO));
@@ -220,12 +161,12 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemAcaoPeticao() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -242,12 +183,12 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemAcaoAudiencia() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -264,12 +205,12 @@ class ProcessoDomainTest {
 
     @Test
     void naoDevePermitirArquivamentoSemSentencaOuDesistencia() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -286,12 +227,12 @@ class ProcessoDomainTest {
 
     @Test
     void devePermitirArquivamentoComDesistenciaAoInvesDeSentenca() {
-        Processo processo = Processo.create("12345678901234567890", "Processo com Desistência");
+        Processo processo = Processo.create("12345678062234567890", "Processo com Desistência");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -307,9 +248,19 @@ class ProcessoDomainTest {
         assertThat(podeArquivar).isTrue();
     }
 
+    @Test
+    void deveAtualizarComposicaoAoIncluirPartesEAcoes() {
+        Processo processo = criarProcessoComPartesEAcoesObrigatorias();
+
+        assertThat(processo.getComposicao().quantidade(TipoParteEnvolvidaEnum.AUTOR)).isEqualTo(1);
+        assertThat(processo.getComposicao().quantidade(TipoParteEnvolvidaEnum.REU)).isEqualTo(1);
+        assertThat(processo.getComposicao().quantidade(TipoAcaoEnum.SENTENCA)).isEqualTo(1);
+        assertThat(processo.getComposicao().quantidade(TipoAcaoEnum.DESISTENCIA)).isZero();
+    }
+
     @Test
     void deveInicializarStateAposCarregar() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
 
         // Simula o comportamento do @PostLoad/@PostConstruct
         processo.atualizarState();
@@ -318,12 +269,12 @@ class ProcessoDomainTest {
     }
 
     private Processo criarProcessoComPartesEAcoesObrigatorias() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Completo");
+        Processo processo = Processo.create("12345678062234567890", "Processo Completo");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
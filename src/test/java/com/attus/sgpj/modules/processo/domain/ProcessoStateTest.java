@@ -18,7 +18,7 @@ class ProcessoStateTest {
 
     @Test
     void deveIniciarProcessoComStatusAberto() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
 
         assertThat(processo.getStatusProcesso()).isEqualTo(StatusProcessoEnum.ATIVO);
         assertThat(processo.getState()).isInstanceOf(ProcessoAberto.class);
@@ -26,7 +26,7 @@ class ProcessoStateTest {
 
     @Test
     void deveSuspenderProcessoAtivo() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
 
         processo.suspender();
 
@@ -46,7 +46,7 @@ class ProcessoStateTest {
 
     @Test
     void deveLancarExcecaoAoTentarAtivarProcessoJaAtivo() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
 
         assertThatThrownBy(processo::ativar)
                 .isInstanceOf(ProcessoInvalidStateTransitionException.class)
@@ -55,7 +55,7 @@ class ProcessoStateTest {
 
     @Test
     void deveLancarExcecaoAoTentarArquivarProcessoSemPartesObrigatorias() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Incompleto");
+        Processo processo = Processo.create("12345678062234567890", "Processo Incompleto");
 
         assertThatThrownBy(processo::arquivar)
                 .isInstanceOf(ProcessoInvalidStateTransitionException.class)
@@ -64,7 +64,7 @@ class ProcessoStateTest {
 
     @Test
     void deveAtivarProcessoSuspenso() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         processo.suspender();
 
         processo.ativar();
@@ -86,7 +86,7 @@ class ProcessoStateTest {
 
     @Test
     void deveLancarExcecaoAoTentarSuspenderProcessoJaSuspenso() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         processo.suspender();
 
         assertThatThrownBy(processo::suspender)
@@ -124,9 +124,33 @@ class ProcessoStateTest {
                 .hasMessage("Não é possível arquivar um processo já arquivado.");
     }
 
+    @Test
+    void deveLancarExcecaoAoTentarAlterarProcessoArquivado() {
+        Processo processo = criarProcessoComPartesEAcoesObrigatorias();
+        processo.arquivar();
+
+        assertThatThrownBy(() -> processo.update("99999999999999999999", "Nova descrição", null))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class)
+                .hasMessage("Não é possível alterar um processo arquivado.");
+        assertThatThrownBy(() -> processo.adicionarAcao(Acao.create(TipoAcaoEnum.PETICAO, "Nova Petição", processo)))
+                .isInstanceOf(ProcessoInvalidStateTransitionException.class);
+        assertThat(processo.getNumero()).isEqualTo("12345678062234567890");
+        assertThat(processo.getAcoes()).hasSize(3);
+    }
+
+    @Test
+    void devePermitirAlterarProcessoSuspenso() {
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
+        processo.suspender();
+
+        processo.update(null, "Nova descrição", null);
+
+        assertThat(processo.getDescricao()).isEqualTo("Nova descrição");
+    }
+
     @Test
     void deveAtualizarStateCorretamenteParaAtivo() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         processo.setStatusProcesso(StatusProcessoEnum.ATIVO);
 
         processo.atualizarState();
@@ -136,7 +160,7 @@ class ProcessoStateTest {
 
     @Test
     void deveAtualizarStateCorretamenteParaSuspenso() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         processo.setStatusProcesso(StatusProcessoEnum.SUSPENSO);
 
         processo.atualizarState();
@@ -146,7 +170,7 @@ class ProcessoStateTest {
 
     @Test
     void deveAtualizarStateCorretamenteParaArquivado() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Teste");
+        Processo processo = Processo.create("12345678062234567890", "Processo Teste");
         processo.setStatusProcesso(StatusProcessoEnum.ARQUIVADO);
 
         processo.atualizarState();
@@ -202,13 +226,59 @@ class ProcessoStateTest {
         assertThat(processo.getState()).isInstanceOf(ProcessoArquivado.class);
     }
 
+    @Test
+    void deveManterTabelaDeTransicoesEmLoteAlinhadaAoState() {
+        for (TransicaoProcessoEnum transicao : TransicaoProcessoEnum.values()) {
+            for (StatusProcessoEnum status : StatusProcessoEnum.values()) {
+                Processo processo = criarProcessoComPartesEAcoesObrigatorias();
+                processo.setStatusProcesso(status);
+                processo.atualizarState();
+
+                boolean permitida = true;
+                try {
+                    switch (transicao) {
+                        case ATIVAR -> processo.ativar();
+                        case SUSPENDER -> processo.suspender();
+                        case ARQUIVAR -> processo.arquivar();
+                    }
+                } catch (ProcessoInvalidStateTransitionException e) {
+                    permitida = false;
+                }
+
+                assertThat(permitida).as("%s a partir de %s", transicao, status)
+                        .isEqualTo(transicao.getOrigens().contains(status));
+                if (permitida) {
+                    assertThat(processo.getStatusProcesso()).isEqualTo(transicao.getDestino());
+                }
+            }
+        }
+    }
+
+    @Test
+    void deveManterStatusAlteraveisAlinhadosAoState() {
+        for (StatusProcessoEnum status : StatusProcessoEnum.values()) {
+            Processo processo = Processo.create("12345678062234567890", "Processo");
+            processo.setStatusProcesso(status);
+            processo.atualizarState();
+
+            boolean permitida = true;
+            try {
+                processo.validarAlteracao();
+            } catch (ProcessoInvalidStateTransitionException e) {
+                permitida = false;
+            }
+
+            assertThat(permitida).as("alteração em %s", status).isEqualTo(Processo.STATUS_ALTERAVEIS.contains(status));
+        }
+    }
+
     private Processo criarProcessoComPartesEAcoesObrigatorias() {
-        Processo processo = Processo.create("12345678901234567890", "Processo Completo");
+        Processo processo = Processo.create("12345678062234567890", "Processo Completo");
 
         // Adiciona partes obrigatórias
-        Pessoa autor = Pessoa.create("João Silva", "12345678901", "joao.silva@email.com", "11999999999");
+        Pessoa autor = Pessoa.create("João Silva", "12345678062", "joao.silva@email.com", "11999999999");
         Pessoa reu = Pessoa.create("Maria Santos", "98765432100", "maria.santos@email.com", "11888888888");
-        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233344", "carlos.advogado@email.com", "11777777777");
+        Pessoa advogado = Pessoa.create("Carlos Advogado", "11122233396", "carlos.advogado@email.com", "11777777777");
 
         processo.addParte(ParteEnvolvida.create(autor, processo, TipoParteEnvolvidaEnum.AUTOR));
         processo.addParte(ParteEnvolvida.create(reu, processo, TipoParteEnvolvidaEnum.REU));
@@ -0,0 +1,97 @@
+package com.attus.sgpj.shared.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class LimiteConexoesDataSourceTest {
+
+    private DataSource pool;
+    private LimiteConexoesDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        dataSource = new LimiteConexoesDataSource(pool, 2, Duration.ofMillis(50));
+    }
+
+    @Test
+    void deveRecusarAlemDoLimiteAposAEspera() throws SQLException {
+        Connection primeira = dataSource.getConnection();
+        dataSource.getConnection();
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        primeira.close();
+        assertThat(dataSource.getConnection()).isNotNull();
+    }
+
+    @Test
+    void deveDevolverPermissaoUmaUnicaVezNoClose() throws SQLException {
+        Connection conexao = dataSource.getConnection();
+
+        conexao.close();
+        conexao.close();
+
+        assertThat(dataSource.getDisponiveis()).isEqualTo(2);
+    }
+
+    @Test
+    void deveDelegarDemaisChamadasAConexaoDoPool() throws SQLException {
+        Connection original = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(original);
+        when(original.getAutoCommit()).thenReturn(true);
+
+        Connection conexao = dataSource.getConnection();
+
+        assertThat(conexao.getAutoCommit()).isTrue();
+        conexao.close();
+        verify(original).close();
+    }
+
+    @Test
+    void deveDevolverPermissaoQuandoOPoolFalha() throws SQLException {
+        when(pool.getConnection()).thenThrow(new SQLException("pool esgotado"));
+
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLException.class).hasMessage("pool esgotado");
+        assertThat(dataSource.getDisponiveis()).isEqualTo(2);
+    }
+
+    @Test
+    void deveAtenderQuemAguardaQuandoUmaConexaoEFechada() throws Exception {
+        LimiteConexoesDataSource comEspera = new LimiteConexoesDataSource(pool, 1, Duration.ofSeconds(5));
+        Connection ocupada = comEspera.getConnection();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletableFuture<Connection> aguardando = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return comEspera.getConnection();
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+            }, executor);
+            while (comEspera.getAguardando() == 0) {
+                Thread.onSpinWait();
+            }
+            assertThat(aguardando).isNotDone();
+
+            ocupada.close();
+            assertThat(aguardando.get(1, TimeUnit.SECONDS)).isNotNull();
+        }
+    }
+}
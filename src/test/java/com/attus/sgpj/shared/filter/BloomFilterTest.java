@@ -0,0 +1,44 @@
+package com.attus.sgpj.shared.filter;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BloomFilterTest {
+
+    @Test
+    void naoDeveGerarFalsoNegativo() {
+        BloomFilter filtro = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.put(String.format("%020d", i));
+        }
+
+        for (int i = 0; i < 10_000; i++) {
+            assertThat(filtro.mightContain(String.format("%020d", i))).isTrue();
+        }
+    }
+
+    @Test
+    void deveManterTaxaDeFalsosPositivosProximaDaConfigurada() {
+        BloomFilter filtro = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filtro.put(String.format("%011d", i));
+        }
+
+        int falsosPositivos = 0;
+        for (int i = 10_000; i < 110_000; i++) {
+            if (filtro.mightContain(String.format("%011d", i))) {
+                falsosPositivos++;
+            }
+        }
+
+        assertThat(falsosPositivos / 100_000.0).isLessThan(0.02);
+    }
+
+    @Test
+    void deveRejeitarParametrosInvalidos() {
+        assertThatThrownBy(() -> new BloomFilter(0, 0.01)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new BloomFilter(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,78 @@
+package com.attus.sgpj.shared.filter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ChaveExistenteFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ChaveExistenteFilter filtro;
+    private AtomicInteger consultasBanco;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filtro = new ChaveExistenteFilter("teste", 1000, 0.01, meterRegistry);
+        consultasBanco = new AtomicInteger();
+    }
+
+    @Test
+    void deveConsultarBancoEnquantoNaoCarregado() {
+        assertThat(filtro.isPronto()).isFalse();
+        assertThat(filtro.existe("chave", banco(true))).isTrue();
+        assertThat(consultasBanco).hasValue(1);
+    }
+
+    @Test
+    void naoDeveConsultarBancoParaChaveAusenteDoFiltro() {
+        filtro.recarregar(1, Stream.of("existente"));
+
+        assertThat(filtro.existe("nova", banco(false))).isFalse();
+        assertThat(consultasBanco).hasValue(0);
+    }
+
+    @Test
+    void deveConfirmarNoBancoChavePossivelmenteExistente() {
+        filtro.recarregar(1, Stream.of("existente"));
+
+        assertThat(filtro.existe("existente", banco(true))).isTrue();
+        assertThat(consultasBanco).hasValue(1);
+    }
+
+    @Test
+    void deveConsiderarChavesRegistradasAposCarga() {
+        filtro.recarregar(0, Stream.empty());
+        filtro.registrar("nova");
+
+        assertThat(filtro.existe("nova", banco(true))).isTrue();
+        assertThat(consultasBanco).hasValue(1);
+    }
+
+    @Test
+    void deveMedirTaxaDeFalsosPositivos() {
+        filtro.recarregar(1, Stream.of("existente"));
+
+        filtro.existe("existente", banco(false));
+        IntStream.range(0, 9).forEach(i -> filtro.existe("ausente-" + i, banco(false)));
+
+        double falsosPositivos = meterRegistry.get("sgpj.filtro.consultas").tag("resultado", "falso_positivo").counter().count();
+        double taxa = meterRegistry.get("sgpj.filtro.taxa.falsos.positivos").tag("filtro", "teste").gauge().value();
+        assertThat(falsosPositivos).isGreaterThanOrEqualTo(1);
+        assertThat(taxa).isEqualTo(filtro.getTaxaFalsosPositivosObservada()).isGreaterThan(0);
+    }
+
+    private Predicate<String> banco(boolean existe) {
+        return chave -> {
+            consultasBanco.incrementAndGet();
+            return existe;
+        };
+    }
+}
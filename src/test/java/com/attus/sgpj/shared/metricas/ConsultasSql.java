@@ -0,0 +1,27 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultMatcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Orçamento de comandos SQL em testes de integração com MockMvc sobre a aplicação completa (o cabeçalho vem do
+// ConsultasSqlResponseAdvice, ligado no perfil de teste):
+//   mockMvc.perform(get("/processo/{id}", id)).andExpect(ConsultasSql.noMaximo(3));
+public final class ConsultasSql {
+
+    private ConsultasSql() {
+    }
+
+    public static ResultMatcher noMaximo(int limite) {
+        return resultado -> assertThat(executadas(resultado))
+                .as("comandos SQL de %s %s", resultado.getRequest().getMethod(), resultado.getRequest().getRequestURI())
+                .isLessThanOrEqualTo(limite);
+    }
+
+    public static int executadas(MvcResult resultado) {
+        String valor = resultado.getResponse().getHeader(ConsultasSqlResponseAdvice.CABECALHO);
+        assertThat(valor).as("cabeçalho %s (sgpj.consultas.cabecalho=true?)", ConsultasSqlResponseAdvice.CABECALHO).isNotNull();
+        return Integer.parseInt(valor);
+    }
+}
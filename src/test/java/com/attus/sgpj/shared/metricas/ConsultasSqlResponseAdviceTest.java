@@ -0,0 +1,38 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Com sgpj.consultas.cabecalho desligado (padrão de produção) o advice não é registrado nem pelo component scan
+@SpringBootTest(properties = "sgpj.consultas.cabecalho=false")
+@AutoConfigureMockMvc
+@AutoConfigureTestDatabase
+@ActiveProfiles("test")
+class ConsultasSqlResponseAdviceTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ApplicationContext applicationContext;
+
+    @Test
+    void naoDeveEnviarCabecalhoComPropriedadeDesligada() throws Exception {
+        mockMvc.perform(get("/processo"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(ConsultasSqlResponseAdvice.CABECALHO));
+
+        assertThat(applicationContext.getBeansOfType(ConsultasSqlResponseAdvice.class)).isEmpty();
+    }
+}
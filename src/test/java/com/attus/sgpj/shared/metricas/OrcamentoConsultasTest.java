@@ -0,0 +1,66 @@
+package com.attus.sgpj.shared.metricas;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrcamentoConsultasTest {
+
+    private final OrcamentoConsultas orcamento = new OrcamentoConsultas(5, Map.of("/processo/{id}", 2), 3);
+
+    @AfterEach
+    void tearDown() {
+        MetricasRequisicao.encerrar();
+    }
+
+    @Test
+    void deveUsarLimiteDaUriOuPadrao() {
+        assertThat(orcamento.limite("/processo/{id}")).isEqualTo(2);
+        assertThat(orcamento.limite("/processo")).isEqualTo(5);
+    }
+
+    @Test
+    void naoDeveApontarRequisicaoDentroDoOrcamento() {
+        MetricasRequisicao.Contagem contagem = executar("select p from processo p", "select a from acao a");
+
+        assertThat(orcamento.violacoes("GET", "/processo/{id}", contagem)).isEmpty();
+    }
+
+    @Test
+    void deveListarComandosQuandoOrcamentoEstoura() {
+        MetricasRequisicao.Contagem contagem = executar("select p from processo p", "select a from acao a", "select pe from parte_envolvida pe");
+
+        assertThat(orcamento.violacoes("GET", "/processo/{id}", contagem)).singleElement().asString()
+                .startsWith("GET /processo/{id} executou 3 comandos SQL (orçamento: 2)")
+                .contains("1x select a from acao a", "1x select pe from parte_envolvida pe");
+    }
+
+    @Test
+    void deveApontarComandoRepetidoComoNMais1() {
+        MetricasRequisicao.Contagem contagem = executar("select p from processo p",
+                "select a from acao a where a.processo_id=?", "select a from acao a where a.processo_id=?",
+                "select a from acao a where a.processo_id=?");
+
+        assertThat(orcamento.violacoes("GET", "/processo", contagem)).singleElement().asString()
+                .isEqualTo("GET /processo repetiu 3 vezes o mesmo comando (possível N+1): select a from acao a where a.processo_id=?");
+    }
+
+    @Test
+    void naoDeveRegistrarForaDeRequisicao() {
+        MetricasRequisicao.registrarConsulta("select 1");
+
+        assertThat(MetricasRequisicao.atual()).isNull();
+    }
+
+    private static MetricasRequisicao.Contagem executar(String... comandos) {
+        MetricasRequisicao.Contagem contagem = MetricasRequisicao.iniciar(true);
+        ContagemConsultasInspector inspector = new ContagemConsultasInspector(null);
+        for (String sql : comandos) {
+            inspector.inspect(sql);
+        }
+        return contagem;
+    }
+}
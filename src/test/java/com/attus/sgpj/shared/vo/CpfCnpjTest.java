@@ -40,6 +40,68 @@ class CpfCnpjTest {
                 .hasMessage("CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.");
     }
 
+    @Test
+    void deveLancarExcecaoParaCpfComVerificadorInvalido() {
+        assertThatThrownBy(() -> new CpfCnpj("123.456.789-00"))
+                .isInstanceOf(InvalidFieldException.class)
+                .hasMessage("CPF inválido: dígitos verificadores não conferem.");
+    }
+
+    @Test
+    void deveLancarExcecaoParaCnpjComVerificadorInvalido() {
+        assertThatThrownBy(() -> new CpfCnpj("12.345.678/0001-90"))
+                .isInstanceOf(InvalidFieldException.class)
+                .hasMessage("CNPJ inválido: dígitos verificadores não conferem.");
+    }
+
+    @Test
+    void deveAceitarVerificadorInvalidoNaChaveDeBusca() {
+        assertThat(CpfCnpj.chave("123.456.789-00").getValue()).isEqualTo("12345678900");
+        assertThat(CpfCnpj.chave("12.345.678/0001-90").isCnpj()).isTrue();
+        assertThat(CpfCnpj.chave("529.982.247-25")).isEqualTo(new CpfCnpj("52998224725"));
+        assertThatThrownBy(() -> CpfCnpj.chave("1234567890"))
+                .isInstanceOf(InvalidFieldException.class)
+                .hasMessage("CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.");
+    }
+
+    @Test
+    void deveLancarExcecaoParaDigitosRepetidos() {
+        assertThatThrownBy(() -> new CpfCnpj("111.111.111-11")).isInstanceOf(InvalidFieldException.class);
+        assertThatThrownBy(() -> new CpfCnpj("00000000000000")).isInstanceOf(InvalidFieldException.class);
+    }
+
+    @Test
+    void deveLancarExcecaoParaMaisDe14Digitos() {
+        assertThatThrownBy(() -> new CpfCnpj("123456780001951"))
+                .isInstanceOf(InvalidFieldException.class)
+                .hasMessage("CPF/CNPJ inválido: deve ter 11 ou 14 dígitos.");
+    }
+
+    @Test
+    void deveManterZerosAEsquerdaNaFormaCanonica() {
+        assertThat(new CpfCnpj("000.000.001-91").getValue()).isEqualTo("00000000191");
+        assertThat(new CpfCnpj("00.000.000/0001-91").getValue()).isEqualTo("00000000000191");
+    }
+
+    @Test
+    void naoDeveConfundirCpfECnpjDeMesmosDigitos() {
+        CpfCnpj cpf = new CpfCnpj("00000000191");
+        CpfCnpj cnpj = new CpfCnpj("00000000000191");
+
+        assertThat(cpf.getCodigo()).isEqualTo(191L);
+        assertThat(cnpj.getCodigo()).isNotEqualTo(cpf.getCodigo());
+        assertThat(cnpj).isNotEqualTo(cpf);
+        assertThat(cnpj.isCnpj()).isTrue();
+        assertThat(CpfCnpj.canonico(cnpj.getCodigo())).isEqualTo("00000000000191");
+    }
+
+    @Test
+    void deveAceitarDocumentosValidos() {
+        for (String valido : new String[]{"529.982.247-25", "111.444.777-35", "98765432100", "11.222.333/0001-81", "45.997.418/0001-53"}) {
+            assertThat(new CpfCnpj(valido).getValue()).isEqualTo(valido.replaceAll("\\D", ""));
+        }
+    }
+
     @Test
     void toStringDeveRetornarValor() {
         CpfCnpj cpf = new CpfCnpj("12345678909");
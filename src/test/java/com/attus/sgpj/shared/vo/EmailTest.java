@@ -3,6 +3,8 @@ package com.attus.sgpj.shared.vo;
 import com.attus.sgpj.shared.vo.exception.InvalidFieldException;
 import org.junit.jupiter.api.Test;
 
+import java.util.regex.Pattern;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
@@ -34,6 +36,25 @@ class EmailTest {
                 .hasMessage("Email inválido.");
     }
 
+    // A validação escrita à mão deve aceitar exatamente o que a expressão regular anterior aceitava
+    @Test
+    void deveValidarComoARegexAnterior() {
+        Pattern anterior = Pattern.compile("^[\\w.-]+@[\\w.-]+\\.[A-Za-z]{2,}$");
+        String[] casos = {
+                "a@b.co", "a.b-c_d@sub.dominio.com.br", "a@b..com", "a@b.c", "a@b.c1", "a@b.1com", "@b.com", "a@.com",
+                "a@b.com.", "a@@b.com", "a@b@c.com", "a b@c.com", "a@b.com\n", "ação@b.com", "a@b-c.io", "a@b_c.IO",
+                "a.@b.com", "-@-.aa", "a@b.c-m", "a@bcom", "a@b.co m", "a+b@c.com", "", ".@..aa", "a@1.23.xyz"};
+
+        for (String caso : casos) {
+            boolean valido = anterior.matcher(caso).matches();
+            if (valido) {
+                assertThat(new Email(caso).getValue()).as(caso).isEqualTo(caso.toLowerCase());
+            } else {
+                assertThatThrownBy(() -> new Email(caso)).as(caso).isInstanceOf(InvalidFieldException.class);
+            }
+        }
+    }
+
     @Test
     void toStringDeveRetornarEmail() {
         Email email = new Email("teste@exemplo.com");
@@ -42,6 +42,28 @@ class TelefoneTest {
                 .hasMessage("Telefone não pode ser nulo.");
     }
 
+    // A normalização escrita à mão deve aceitar e formatar exatamente como a implementação anterior (regex + format)
+    @Test
+    void deveNormalizarComoAImplementacaoAnterior() {
+        String[] casos = {
+                "(11) 98765-4321", "11 8765 4321", "+55 11 98765-4321", "5511987654321", "119876543", "1198765432",
+                "abc11987654321xyz", "", "   ", "(21)3333-4444", "1198765432١", "11-9-8765-432-1"};
+
+        for (String caso : casos) {
+            String digitos = caso.replaceAll("\\D", "");
+            if (digitos.matches("^\\d{10,11}$")) {
+                Telefone telefone = new Telefone(caso);
+                int meio = digitos.length() == 10 ? 6 : 7;
+                assertThat(telefone.getNumero()).as(caso).isEqualTo(digitos);
+                assertThat(telefone.formatado()).as(caso).isEqualTo(String.format("(%s) %s-%s",
+                        digitos.substring(0, 2), digitos.substring(2, meio), digitos.substring(meio)));
+            } else {
+                assertThatThrownBy(() -> new Telefone(caso)).as(caso)
+                        .isInstanceOf(InvalidFieldException.class).hasMessage("Telefone inválido.");
+            }
+        }
+    }
+
     @Test
     void toStringDeveRetornarTelefoneFormatado() {
         Telefone telefone = new Telefone("11987654321");